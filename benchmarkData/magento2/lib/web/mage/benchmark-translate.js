@@ -0,0 +1,27 @@
+/**
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+
+define([
+    'jquery',
+    'mage/mage'
+], function ($) {
+    'use strict';
+
+    $.extend(true, $, {
+        mage: {
+            /**
+             * Translate message.
+             *
+             * @param {String} text
+             * @return {String}
+             */
+            __: function (text) {
+                return text;
+            }
+        }
+    });
+
+    return $.mage.__;
+});
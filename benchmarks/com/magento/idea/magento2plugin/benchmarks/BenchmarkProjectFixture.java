@@ -0,0 +1,105 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.benchmarks;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ThrowableComputable;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.fixtures.CodeInsightTestFixture;
+import com.intellij.testFramework.fixtures.IdeaProjectTestFixture;
+import com.intellij.testFramework.fixtures.IdeaTestFixtureFactory;
+import com.intellij.testFramework.fixtures.TestFixtureBuilder;
+import com.intellij.testFramework.fixtures.impl.LightTempDirTestFixtureImpl;
+import com.magento.idea.magento2plugin.indexes.IndexManager;
+import com.magento.idea.magento2plugin.magento.packages.File;
+import com.magento.idea.magento2plugin.project.Settings;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Light IDE fixture with the Magento 2 test project and the benchmark module, shared by the benchmarks.
+ *
+ * Mirrors the BaseProjectTestCase setup, the benchmarks measure the plugin against the same environment as the tests.
+ * Generated projects are cached in build/benchmarkProjects, the generator output only depends on the module count.
+ */
+public class BenchmarkProjectFixture {
+    private static final String testDataProjectPath = "testData" + File.separator + "project";
+    private static final String benchmarkDataProjectPath = "benchmarkData";
+    private static final String generatedProjectsPath = "build" + File.separator + "benchmarkProjects";
+    private static final String projectDirectory = "magento2";
+
+    private CodeInsightTestFixture myFixture;
+
+    public void setUp() throws Throwable {
+        setUp(0);
+    }
+
+    /**
+     * Set up the project with the given number of additional modules produced by the MagentoProjectGenerator.
+     */
+    public void setUp(int generatedModules) throws Throwable {
+        Path generatedProject = generatedModules > 0
+                ? MagentoProjectGenerator.getOrGenerate(Paths.get(generatedProjectsPath), generatedModules)
+                : null;
+
+        IdeaTestFixtureFactory factory = IdeaTestFixtureFactory.getFixtureFactory();
+        TestFixtureBuilder<IdeaProjectTestFixture> fixtureBuilder =
+                factory.createLightFixtureBuilder(LightProjectDescriptor.EMPTY_PROJECT_DESCRIPTOR);
+        myFixture = factory.createCodeInsightFixture(fixtureBuilder.getFixture(), new LightTempDirTestFixtureImpl(true));
+
+        EdtTestUtil.runInEdtAndWait(() -> {
+            myFixture.setUp();
+            copyProject(testDataProjectPath);
+            copyProject(benchmarkDataProjectPath);
+            if (generatedProject != null) {
+                copyProject(generatedProject.toAbsolutePath().toString());
+            }
+
+            Settings settings = Settings.getInstance(myFixture.getProject());
+            settings.pluginEnabled = true;
+            settings.mftfSupportEnabled = true;
+            IndexManager.manualReindex();
+        });
+    }
+
+    public void tearDown() throws Throwable {
+        if (myFixture != null) {
+            EdtTestUtil.runInEdtAndWait(() -> myFixture.tearDown());
+            myFixture = null;
+        }
+    }
+
+    @NotNull
+    public Project getProject() {
+        return myFixture.getProject();
+    }
+
+    /**
+     * File of the project by the path relative to the Magento root.
+     */
+    @NotNull
+    public VirtualFile findFile(@NotNull String path) {
+        VirtualFile file = myFixture.findFileInTempDir(path);
+        if (file == null) {
+            throw new IllegalArgumentException("Benchmark input " + path + " does not exist");
+        }
+
+        return file;
+    }
+
+    public <T> T read(@NotNull ThrowableComputable<T, RuntimeException> computable) {
+        return ReadAction.compute(computable);
+    }
+
+    private void copyProject(@NotNull String dataPath) {
+        myFixture.setTestDataPath(dataPath);
+        myFixture.copyDirectoryToProject(projectDirectory, "");
+    }
+}
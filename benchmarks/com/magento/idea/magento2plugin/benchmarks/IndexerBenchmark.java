@@ -0,0 +1,141 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.benchmarks;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.impl.search.IndexingDataKeys;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.FileContentImpl;
+import com.magento.idea.magento2plugin.stubs.indexes.BlockNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.ContainerNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.CronGroupIndexer;
+import com.magento.idea.magento2plugin.stubs.indexes.EventNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.EventObserverIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.LayoutHandleIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.ModuleNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.ModulePackageIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.ModuleViewFileIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.ObserverNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.PluginIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.PluginNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.PluginTargetIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.VirtualTypeIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.WebApiTypeIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.graphql.GraphQlResolverIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.js.RequireJsIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.js.RequireJsModuleIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.mftf.ActionGroupIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.mftf.DataIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.mftf.PageIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.mftf.SectionIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.mftf.TestNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.PhpClassNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataIndexer.map() of every index of the plugin against a realistic input file.
+ *
+ * A new FileContent is created for every call, so the text and the PSI built by the indexer are part of the measurement
+ * the same way they are during indexing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class IndexerBenchmark {
+    private static final String benchmarkModule = "vendor/magento/module-benchmark/";
+    private static final String catalogModule = "vendor/magento/module-catalog/";
+
+    public enum Input {
+        PLUGIN(new PluginIndex(), benchmarkModule + "etc/di.xml"),
+        PLUGIN_TARGET(new PluginTargetIndex(), benchmarkModule + "etc/di.xml"),
+        PLUGIN_NAME(new PluginNameIndex(), benchmarkModule + "etc/di.xml"),
+        VIRTUAL_TYPE(new VirtualTypeIndex(), benchmarkModule + "etc/di.xml"),
+        PHP_CLASS_NAME(new PhpClassNameIndex(), benchmarkModule + "etc/di.xml"),
+        EVENT_OBSERVER(new EventObserverIndex(), benchmarkModule + "etc/events.xml"),
+        OBSERVER_NAME(new ObserverNameIndex(), benchmarkModule + "etc/events.xml"),
+        EVENT_NAME_XML(new EventNameIndex(), benchmarkModule + "etc/events.xml"),
+        EVENT_NAME_PHP(new EventNameIndex(), benchmarkModule + "Model/ProductRepository.php"),
+        WEB_API_TYPE(new WebApiTypeIndex(), benchmarkModule + "etc/webapi.xml"),
+        CRON_GROUP(new CronGroupIndexer(), benchmarkModule + "etc/cron_groups.xml"),
+        BLOCK_NAME(new BlockNameIndex(), benchmarkModule + "view/frontend/layout/catalog_product_view.xml"),
+        CONTAINER_NAME(new ContainerNameIndex(), benchmarkModule + "view/frontend/layout/catalog_product_view.xml"),
+        LAYOUT_HANDLE(new LayoutHandleIndex(), benchmarkModule + "view/frontend/layout/catalog_product_view.xml"),
+        MODULE_NAME(new ModuleNameIndex(), benchmarkModule + "registration.php"),
+        MODULE_VIEW_FILE(new ModuleViewFileIndex(), benchmarkModule + "view/frontend/web/js/price-utils.js"),
+        MODULE_PACKAGE(new ModulePackageIndex(), benchmarkModule + "composer.json"),
+        GRAPH_QL_RESOLVER(new GraphQlResolverIndex(), benchmarkModule + "etc/graphql/schema.graphqls"),
+        REQUIRE_JS(new RequireJsIndex(), benchmarkModule + "view/frontend/requirejs-config.js"),
+        REQUIRE_JS_MODULE(new RequireJsModuleIndex(), "lib/web/mage/benchmark-translate.js"),
+        MFTF_ACTION_GROUP(new ActionGroupIndex(), catalogModule + "Test/Mftf/ActionGroup/TestAddProductToCartActionGroup.xml"),
+        MFTF_DATA(new DataIndex(), catalogModule + "Test/Mftf/Data/AttributeSetData.xml"),
+        MFTF_PAGE(new PageIndex(), catalogModule + "Test/Mftf/Page/TestPage.xml"),
+        MFTF_SECTION(new SectionIndex(), catalogModule + "Test/Mftf/Section/TestAdminAddProductsSection.xml"),
+        MFTF_TEST_NAME(new TestNameIndex(), catalogModule + "Test/Mftf/Test/AddOutOfStockProductToCompareListTest.xml");
+
+        private final FileBasedIndexExtension<?, ?> index;
+        private final String path;
+
+        Input(FileBasedIndexExtension<?, ?> index, String path) {
+            this.index = index;
+            this.path = path;
+        }
+    }
+
+    @Param
+    public Input input;
+
+    private BenchmarkProjectFixture fixture;
+    private DataIndexer<?, ?, FileContent> dataIndexer;
+    private VirtualFile file;
+    private byte[] content;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        fixture = new BenchmarkProjectFixture();
+        fixture.setUp();
+
+        dataIndexer = input.index.getIndexer();
+        file = fixture.findFile(input.path);
+        content = file.contentsToByteArray();
+        if (!input.index.getInputFilter().acceptInput(file)) {
+            throw new IllegalStateException(input.path + " is not an input of " + input.index.getName());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Throwable {
+        fixture.tearDown();
+    }
+
+    @Benchmark
+    public Map<?, ?> map() {
+        return fixture.read(() -> {
+            FileContentImpl fileContent = new FileContentImpl(file, content);
+            fileContent.putUserData(IndexingDataKeys.PROJECT, fixture.getProject());
+
+            return dataIndexer.map(fileContent);
+        });
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.benchmarks;
+
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.impl.search.IndexingDataKeys;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.FileContentImpl;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PhpClassUsageData;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.PhpClassNameIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PhpClassNameIndex built over every XML file of a project against the files of the Magento file kinds only.
+ *
+ * The number of accepted files is printed for every trial. Pass -p magentoRoot=/path/to/magento to measure a full
+ * Magento checkout instead of the generated project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputFilterBenchmark {
+    public enum Filter {
+        ALL_XML(file -> !file.isDirectory() && file.getFileType() == XmlFileType.INSTANCE),
+        MAGENTO_FILE_KINDS(new PhpClassNameIndex().getInputFilter());
+
+        private final FileBasedIndex.InputFilter inputFilter;
+
+        Filter(FileBasedIndex.InputFilter inputFilter) {
+            this.inputFilter = inputFilter;
+        }
+    }
+
+    @Param
+    public Filter filter;
+
+    @Param({"1000"})
+    public int generatedModules;
+
+    @Param({""})
+    public String magentoRoot;
+
+    private BenchmarkProjectFixture fixture;
+    private DataIndexer<String, List<PhpClassUsageData>, FileContent> dataIndexer;
+    private final List<VirtualFile> files = new ArrayList<>();
+    private final List<byte[]> contents = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        fixture = new BenchmarkProjectFixture();
+        fixture.setUp(magentoRoot.isEmpty() ? generatedModules : 0);
+        dataIndexer = new PhpClassNameIndex().getIndexer();
+
+        VirtualFile root = magentoRoot.isEmpty()
+                ? fixture.findFile("vendor").getParent()
+                : LocalFileSystem.getInstance().refreshAndFindFileByPath(magentoRoot);
+        if (root == null) {
+            throw new IllegalArgumentException("Magento root " + magentoRoot + " does not exist");
+        }
+
+        int xmlFiles = 0;
+        for (VirtualFile file: collectFiles(root)) {
+            if (Filter.ALL_XML.inputFilter.acceptInput(file)) {
+                xmlFiles++;
+            }
+            if (filter.inputFilter.acceptInput(file)) {
+                files.add(file);
+                contents.add(file.contentsToByteArray());
+            }
+        }
+        System.out.println(filter + ": " + files.size() + " of " + xmlFiles + " XML files are indexed");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Throwable {
+        fixture.tearDown();
+    }
+
+    @Benchmark
+    public int index() {
+        return fixture.read(() -> {
+            int keys = 0;
+            for (int i = 0; i < files.size(); i++) {
+                FileContentImpl fileContent = new FileContentImpl(files.get(i), contents.get(i));
+                fileContent.putUserData(IndexingDataKeys.PROJECT, fixture.getProject());
+                keys += dataIndexer.map(fileContent).size();
+            }
+
+            return keys;
+        });
+    }
+
+    private static List<VirtualFile> collectFiles(VirtualFile root) {
+        List<VirtualFile> result = new ArrayList<>();
+        VfsUtilCore.iterateChildrenRecursively(root, null, file -> {
+            if (!file.isDirectory()) {
+                result.add(file);
+            }
+            return true;
+        });
+
+        return result;
+    }
+}
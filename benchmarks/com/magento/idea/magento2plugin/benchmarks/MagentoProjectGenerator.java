@@ -0,0 +1,450 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.benchmarks;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates a synthetic Magento 2 project with the given number of modules.
+ *
+ * Every module has registration.php, composer.json, module.xml, di.xml (global and frontend) with preferences,
+ * plugins and virtual types, events.xml, a layout, webapi.xml, requirejs-config.js, a JS component and MFTF data.
+ * Unit test fixtures with XML that is not configuration are added as well, like the modules of a full checkout have.
+ * Modules reference each other and a few popular framework types, the way real installations do, so the index
+ * values of the popular keys grow with the number of modules.
+ *
+ * The output only depends on the module count and the seed.
+ */
+public class MagentoProjectGenerator {
+    /**
+     * Increase when the generated content changes, so the cached projects are generated again.
+     */
+    public static final int VERSION = 2;
+
+    private static final long DEFAULT_SEED = 20200401L;
+    private static final String COPYRIGHT = "Copyright © Magento, Inc. All rights reserved.";
+    private static final String[] POPULAR_TYPES = {
+            "Magento\\Theme\\Block\\Html\\Topmenu",
+            "Magento\\Catalog\\Block\\Navigation",
+            "Magento\\Framework\\App\\FrontControllerInterface",
+            "Magento\\Framework\\App\\Action\\AbstractAction",
+    };
+    private static final String[] POPULAR_EVENTS = {
+            "catalog_product_save_after",
+            "sales_order_place_after",
+            "controller_action_predispatch",
+            "customer_login",
+    };
+    private static final String[] LAYOUT_HANDLES = {
+            "default",
+            "catalog_product_view",
+            "catalog_category_view",
+            "checkout_cart_index",
+            "customer_account",
+    };
+    private static final String[] HTTP_METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+    private final int moduleCount;
+    private final Random random;
+
+    public MagentoProjectGenerator(int moduleCount) {
+        this(moduleCount, DEFAULT_SEED);
+    }
+
+    public MagentoProjectGenerator(int moduleCount, long seed) {
+        this.moduleCount = moduleCount;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generate the project into the empty or not existing directory.
+     */
+    public void generate(@NotNull Path root) throws IOException {
+        for (int index = 0; index < moduleCount; index++) {
+            new ModuleWriter(root, index).write();
+        }
+    }
+
+    /**
+     * Directory with the generated project of the given size, generated on the first request.
+     */
+    @NotNull
+    public static Path getOrGenerate(@NotNull Path cacheDirectory, int moduleCount) throws IOException {
+        Path root = cacheDirectory.resolve("magento2-" + moduleCount + "-v" + VERSION);
+        Path completeMarker = root.resolve(".complete");
+        if (Files.exists(completeMarker)) {
+            return root;
+        }
+
+        Path projectRoot = root.resolve("magento2");
+        if (Files.exists(projectRoot)) {
+            throw new IOException("Incomplete generated project " + projectRoot + ", remove it and run again");
+        }
+        new MagentoProjectGenerator(moduleCount).generate(projectRoot);
+        Files.createFile(completeMarker);
+
+        return root;
+    }
+
+    /**
+     * Usage: MagentoProjectGenerator <output directory> <module count>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: MagentoProjectGenerator <output directory> <module count>");
+            System.exit(1);
+        }
+
+        new MagentoProjectGenerator(Integer.parseInt(args[1])).generate(Paths.get(args[0]));
+    }
+
+    private static String moduleCode(int index) {
+        return String.format(Locale.ROOT, "Module%04d", index);
+    }
+
+    private static String namespace(int index) {
+        return "Generated\\" + moduleCode(index);
+    }
+
+    private static String moduleName(int index) {
+        return "Generated_" + moduleCode(index);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private int otherModule(int index) {
+        if (moduleCount < 2) {
+            return index;
+        }
+        int other = random.nextInt(moduleCount - 1);
+
+        return other >= index ? other + 1 : other;
+    }
+
+    private class ModuleWriter {
+        private final Path directory;
+        private final int index;
+        private final String namespace;
+        private final String moduleName;
+        private final String snakeName;
+
+        ModuleWriter(@NotNull Path root, int index) {
+            this.index = index;
+            this.namespace = namespace(index);
+            this.moduleName = moduleName(index);
+            this.snakeName = "generated_" + moduleCode(index).toLowerCase(Locale.ROOT);
+            this.directory = root.resolve("vendor/generated/module-" + String.format(Locale.ROOT, "%04d", index));
+        }
+
+        void write() throws IOException {
+            writeRegistration();
+            writeComposerJson();
+            writeModuleXml();
+            writePhpClasses();
+            writeDiXml();
+            writeFrontendDiXml();
+            writeEventsXml();
+            writeLayout();
+            writeWebApiXml();
+            writeRequireJsConfig();
+            writeMftf();
+            writeTestFixtures();
+        }
+
+        private void writeRegistration() throws IOException {
+            write("registration.php", "<?php\n"
+                    + phpHeader() + "\n"
+                    + "use Magento\\Framework\\Component\\ComponentRegistrar;\n\n"
+                    + "ComponentRegistrar::register(ComponentRegistrar::MODULE, '" + moduleName + "', __DIR__);\n");
+        }
+
+        private void writeComposerJson() throws IOException {
+            write("composer.json", "{\n"
+                    + "    \"name\": \"generated/module-" + String.format(Locale.ROOT, "%04d", index) + "\",\n"
+                    + "    \"type\": \"magento2-module\",\n"
+                    + "    \"license\": [\n        \"OSL-3.0\"\n    ],\n"
+                    + "    \"require\": {\n        \"magento/framework\": \"*\"\n    },\n"
+                    + "    \"autoload\": {\n"
+                    + "        \"files\": [\n            \"registration.php\"\n        ],\n"
+                    + "        \"psr-4\": {\n            \"" + namespace.replace("\\", "\\\\") + "\\\\\": \"\"\n        }\n"
+                    + "    }\n"
+                    + "}\n");
+        }
+
+        private void writeModuleXml() throws IOException {
+            StringBuilder sequence = new StringBuilder();
+            if (index > 0) {
+                sequence.append("        <sequence>\n");
+                sequence.append("            <module name=\"").append(moduleName(otherModule(index))).append("\"/>\n");
+                sequence.append("        </sequence>\n");
+            }
+            write("etc/module.xml", xmlHeader()
+                    + "<config xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xsi:noNamespaceSchemaLocation=\"urn:magento:framework:Module/etc/module.xsd\">\n"
+                    + "    <module name=\"" + moduleName + "\">\n"
+                    + sequence
+                    + "    </module>\n"
+                    + "</config>\n");
+        }
+
+        private void writePhpClasses() throws IOException {
+            write("Api/RepositoryInterface.php", "<?php\n" + phpHeader()
+                    + "namespace " + namespace + "\\Api;\n\n"
+                    + "interface RepositoryInterface\n{\n"
+                    + "    public function get($id);\n\n"
+                    + "    public function save($entity);\n"
+                    + "}\n");
+            write("Model/Repository.php", "<?php\n" + phpHeader()
+                    + "namespace " + namespace + "\\Model;\n\n"
+                    + "use " + namespace + "\\Api\\RepositoryInterface;\n\n"
+                    + "class Repository implements RepositoryInterface\n{\n"
+                    + "    private $eventManager;\n\n"
+                    + "    public function __construct(\\Magento\\Framework\\Event\\ManagerInterface $eventManager)\n    {\n"
+                    + "        $this->eventManager = $eventManager;\n    }\n\n"
+                    + "    public function get($id)\n    {\n        return null;\n    }\n\n"
+                    + "    public function save($entity)\n    {\n"
+                    + "        $this->eventManager->dispatch('" + snakeName + "_save_after', ['entity' => $entity]);\n\n"
+                    + "        return $entity;\n    }\n"
+                    + "}\n");
+            write("Plugin/RepositoryPlugin.php", "<?php\n" + phpHeader()
+                    + "namespace " + namespace + "\\Plugin;\n\n"
+                    + "class RepositoryPlugin\n{\n"
+                    + "    public function beforeSave($subject, $entity)\n    {\n        return [$entity];\n    }\n\n"
+                    + "    public function afterGet($subject, $result)\n    {\n        return $result;\n    }\n"
+                    + "}\n");
+            write("Observer/SaveObserver.php", "<?php\n" + phpHeader()
+                    + "namespace " + namespace + "\\Observer;\n\n"
+                    + "use Magento\\Framework\\Event\\Observer;\n"
+                    + "use Magento\\Framework\\Event\\ObserverInterface;\n\n"
+                    + "class SaveObserver implements ObserverInterface\n{\n"
+                    + "    public function execute(Observer $observer)\n    {\n    }\n"
+                    + "}\n");
+            write("Block/Widget.php", "<?php\n" + phpHeader()
+                    + "namespace " + namespace + "\\Block;\n\n"
+                    + "class Widget extends \\Magento\\Framework\\View\\Element\\Template\n{\n"
+                    + "}\n");
+        }
+
+        private void writeDiXml() throws IOException {
+            int targetModule = otherModule(index);
+            String popularType = pick(POPULAR_TYPES);
+            String virtualType = namespace + "\\Model\\VirtualRepository";
+
+            write("etc/di.xml", xmlHeader()
+                    + "<config xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xsi:noNamespaceSchemaLocation=\"urn:magento:framework:ObjectManager/etc/config.xsd\">\n"
+                    + "    <preference for=\"" + namespace + "\\Api\\RepositoryInterface\" type=\"" + namespace + "\\Model\\Repository\" />\n"
+                    + "    <type name=\"" + namespace + "\\Model\\Repository\">\n"
+                    + "        <arguments>\n"
+                    + "            <argument name=\"eventManager\" xsi:type=\"object\">Magento\\Framework\\Event\\ManagerInterface</argument>\n"
+                    + "        </arguments>\n"
+                    + "        <plugin name=\"" + snakeName + "_repository\" type=\"" + namespace + "\\Plugin\\RepositoryPlugin\" sortOrder=\"10\" />\n"
+                    + "    </type>\n"
+                    + "    <type name=\"" + namespace(targetModule) + "\\Model\\Repository\">\n"
+                    + "        <plugin name=\"" + snakeName + "_foreign_repository\" type=\"" + namespace + "\\Plugin\\RepositoryPlugin\" sortOrder=\"" + random.nextInt(100) + "\" />\n"
+                    + "    </type>\n"
+                    + "    <type name=\"" + popularType + "\">\n"
+                    + "        <plugin name=\"" + snakeName + "_popular\" type=\"" + namespace + "\\Plugin\\RepositoryPlugin\" />\n"
+                    + "    </type>\n"
+                    + "    <virtualType name=\"" + virtualType + "\" type=\"" + namespace + "\\Model\\Repository\">\n"
+                    + "        <arguments>\n"
+                    + "            <argument name=\"eventManager\" xsi:type=\"object\">Magento\\Framework\\Event\\ManagerInterface</argument>\n"
+                    + "        </arguments>\n"
+                    + "    </virtualType>\n"
+                    + "    <virtualType name=\"" + virtualType + "Level2\" type=\"" + virtualType + "\" />\n"
+                    + "    <virtualType name=\"" + virtualType + "Level3\" type=\"" + virtualType + "Level2\" />\n"
+                    + "</config>\n");
+        }
+
+        private void writeFrontendDiXml() throws IOException {
+            write("etc/frontend/di.xml", xmlHeader()
+                    + "<config xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xsi:noNamespaceSchemaLocation=\"urn:magento:framework:ObjectManager/etc/config.xsd\">\n"
+                    + "    <type name=\"" + namespace + "\\Model\\Repository\">\n"
+                    + "        <plugin name=\"" + snakeName + "_repository\" disabled=\"" + random.nextBoolean() + "\" />\n"
+                    + "    </type>\n"
+                    + "</config>\n");
+        }
+
+        private void writeEventsXml() throws IOException {
+            write("etc/events.xml", xmlHeader()
+                    + "<config xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xsi:noNamespaceSchemaLocation=\"urn:magento:framework:Event/etc/events.xsd\">\n"
+                    + "    <event name=\"" + snakeName + "_save_after\">\n"
+                    + "        <observer name=\"" + snakeName + "_save\" instance=\"" + namespace + "\\Observer\\SaveObserver\" />\n"
+                    + "    </event>\n"
+                    + "    <event name=\"" + pick(POPULAR_EVENTS) + "\">\n"
+                    + "        <observer name=\"" + snakeName + "_popular\" instance=\"" + namespace + "\\Observer\\SaveObserver\" />\n"
+                    + "    </event>\n"
+                    + "</config>\n");
+        }
+
+        private void writeLayout() throws IOException {
+            String handle = pick(LAYOUT_HANDLES);
+            write("view/frontend/layout/" + handle + ".xml", xmlHeader()
+                    + "<page xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xsi:noNamespaceSchemaLocation=\"urn:magento:framework:View/Layout/etc/page_configuration.xsd\">\n"
+                    + "    <body>\n"
+                    + "        <referenceContainer name=\"content\">\n"
+                    + "            <container name=\"" + snakeName + ".container\" htmlTag=\"div\" htmlClass=\"" + snakeName + "\">\n"
+                    + "                <block class=\"" + namespace + "\\Block\\Widget\" name=\"" + snakeName + ".widget\""
+                    + " template=\"" + moduleName + "::widget.phtml\">\n"
+                    + "                    <arguments>\n"
+                    + "                        <argument name=\"jsLayout\" xsi:type=\"array\">\n"
+                    + "                            <item name=\"component\" xsi:type=\"string\">" + moduleName + "/js/widget</item>\n"
+                    + "                        </argument>\n"
+                    + "                    </arguments>\n"
+                    + "                </block>\n"
+                    + "            </container>\n"
+                    + "        </referenceContainer>\n"
+                    + "        <referenceBlock name=\"" + moduleName(otherModule(index)).toLowerCase(Locale.ROOT) + ".widget\" remove=\"" + random.nextBoolean() + "\" />\n"
+                    + "    </body>\n"
+                    + "</page>\n");
+            write("view/frontend/templates/widget.phtml", "<?php\n" + phpHeader()
+                    + "/** @var $block \\" + namespace + "\\Block\\Widget */\n?>\n"
+                    + "<div data-mage-init='{\"" + moduleName + "/js/widget\": {}}'></div>\n");
+        }
+
+        private void writeWebApiXml() throws IOException {
+            String url = "/V1/generated/" + moduleCode(index).toLowerCase(Locale.ROOT);
+            write("etc/webapi.xml", xmlHeader()
+                    + "<routes xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xsi:noNamespaceSchemaLocation=\"urn:magento:module:Magento_Webapi:etc/webapi.xsd\">\n"
+                    + "    <route url=\"" + url + "/:id\" method=\"GET\">\n"
+                    + "        <service class=\"" + namespace + "\\Api\\RepositoryInterface\" method=\"get\"/>\n"
+                    + "        <resources>\n"
+                    + "            <resource ref=\"" + moduleName + "::read\" />\n"
+                    + "        </resources>\n"
+                    + "    </route>\n"
+                    + "    <route url=\"" + url + "\" method=\"" + pick(HTTP_METHODS) + "\">\n"
+                    + "        <service class=\"" + namespace + "\\Api\\RepositoryInterface\" method=\"save\"/>\n"
+                    + "        <resources>\n"
+                    + "            <resource ref=\"" + moduleName + "::write\" />\n"
+                    + "        </resources>\n"
+                    + "    </route>\n"
+                    + "</routes>\n");
+        }
+
+        private void writeRequireJsConfig() throws IOException {
+            String alias = "generatedWidget" + String.format(Locale.ROOT, "%04d", index);
+            write("view/frontend/requirejs-config.js", jsHeader()
+                    + "var config = {\n"
+                    + "    map: {\n"
+                    + "        '*': {\n"
+                    + "            " + alias + ": '" + moduleName + "/js/widget'\n"
+                    + "        }\n"
+                    + "    },\n"
+                    + "    paths: {\n"
+                    + "        '" + snakeName + "/widget': '" + moduleName + "/js/widget'\n"
+                    + "    },\n"
+                    + "    config: {\n"
+                    + "        mixins: {\n"
+                    + "            '" + moduleName(otherModule(index)) + "/js/widget': {\n"
+                    + "                '" + moduleName + "/js/widget-mixin': true\n"
+                    + "            }\n"
+                    + "        }\n"
+                    + "    }\n"
+                    + "};\n");
+            write("view/frontend/web/js/widget.js", jsHeader()
+                    + "define([\n    'jquery',\n    'uiComponent'\n], function ($, Component) {\n"
+                    + "    'use strict';\n\n"
+                    + "    return Component.extend({\n"
+                    + "        defaults: {\n            template: '" + moduleName + "/widget'\n        }\n"
+                    + "    });\n"
+                    + "});\n");
+            write("view/frontend/web/js/widget-mixin.js", jsHeader()
+                    + "define([], function () {\n"
+                    + "    'use strict';\n\n"
+                    + "    return function (target) {\n        return target;\n    };\n"
+                    + "});\n");
+        }
+
+        private void writeMftf() throws IOException {
+            String prefix = moduleCode(index);
+            write("Test/Mftf/Data/" + prefix + "Data.xml", xmlHeader()
+                    + "<entities xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xsi:noNamespaceSchemaLocation=\"urn:magento:mftf:DataGenerator/etc/dataProfileSchema.xsd\">\n"
+                    + "    <entity name=\"" + prefix + "Entity\" type=\"" + snakeName + "\">\n"
+                    + "        <data key=\"name\" unique=\"suffix\">" + prefix + "</data>\n"
+                    + "        <data key=\"sort_order\">" + random.nextInt(1000) + "</data>\n"
+                    + "    </entity>\n"
+                    + "</entities>\n");
+            write("Test/Mftf/Page/" + prefix + "Page.xml", xmlHeader()
+                    + "<pages xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xsi:noNamespaceSchemaLocation=\"urn:magento:mftf:Page/etc/PageObject.xsd\">\n"
+                    + "    <page name=\"" + prefix + "Page\" url=\"/" + snakeName + "/\" area=\"storefront\" module=\"" + moduleName + "\">\n"
+                    + "        <section name=\"" + prefix + "Section\"/>\n"
+                    + "    </page>\n"
+                    + "</pages>\n");
+            write("Test/Mftf/Section/" + prefix + "Section.xml", xmlHeader()
+                    + "<sections xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xsi:noNamespaceSchemaLocation=\"urn:magento:mftf:Page/etc/SectionObject.xsd\">\n"
+                    + "    <section name=\"" + prefix + "Section\">\n"
+                    + "        <element name=\"widget\" type=\"block\" selector=\"." + snakeName + "\"/>\n"
+                    + "    </section>\n"
+                    + "</sections>\n");
+            write("Test/Mftf/ActionGroup/" + prefix + "ActionGroup.xml", xmlHeader()
+                    + "<actionGroups xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xsi:noNamespaceSchemaLocation=\"urn:magento:mftf:Test/etc/actionGroupSchema.xsd\">\n"
+                    + "    <actionGroup name=\"" + prefix + "OpenPageActionGroup\">\n"
+                    + "        <amOnPage url=\"{{" + prefix + "Page.url}}\" stepKey=\"openPage\"/>\n"
+                    + "        <waitForElementVisible selector=\"{{" + prefix + "Section.widget}}\" stepKey=\"waitForWidget\"/>\n"
+                    + "    </actionGroup>\n"
+                    + "</actionGroups>\n");
+            write("Test/Mftf/Test/" + prefix + "Test.xml", xmlHeader()
+                    + "<tests xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+                    + " xsi:noNamespaceSchemaLocation=\"urn:magento:mftf:Test/etc/testSchema.xsd\">\n"
+                    + "    <test name=\"" + prefix + "WidgetTest\">\n"
+                    + "        <actionGroup ref=\"" + prefix + "OpenPageActionGroup\" stepKey=\"openPage\"/>\n"
+                    + "    </test>\n"
+                    + "</tests>\n");
+        }
+
+        private void writeTestFixtures() throws IOException {
+            write("Test/Unit/_files/di.xml", xmlHeader()
+                    + "<config>\n"
+                    + "    <preference for=\"" + namespace + "\\Api\\RepositoryInterface\" type=\"" + namespace + "\\Model\\Repository\" />\n"
+                    + "    <type name=\"" + namespace + "\\Model\\Repository\">\n"
+                    + "        <plugin name=\"" + snakeName + "_fixture\" type=\"" + namespace + "\\Plugin\\RepositoryPlugin\" />\n"
+                    + "    </type>\n"
+                    + "</config>\n");
+            StringBuilder products = new StringBuilder(xmlHeader()).append("<products>\n");
+            for (int product = 0; product < 20; product++) {
+                products.append("    <product sku=\"").append(snakeName).append('_').append(product)
+                        .append("\" price=\"").append(random.nextInt(10000)).append("\">")
+                        .append(namespace).append("\\Model\\Repository</product>\n");
+            }
+            write("Test/Unit/_files/products.xml", products.append("</products>\n").toString());
+        }
+
+        private void write(@NotNull String relativePath, @NotNull String content) throws IOException {
+            Path file = directory.resolve(relativePath);
+            Files.createDirectories(file.getParent());
+            Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String phpHeader() {
+        return "/**\n * " + COPYRIGHT + "\n * See COPYING.txt for license details.\n */\n";
+    }
+
+    private static String xmlHeader() {
+        return "<?xml version=\"1.0\"?>\n<!--\n/**\n * " + COPYRIGHT + "\n * See COPYING.txt for license details.\n */\n-->\n";
+    }
+
+    private static String jsHeader() {
+        return "/**\n * " + COPYRIGHT + "\n * See COPYING.txt for license details.\n */\n\n";
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.benchmarks;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.xml.XmlTag;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.magento.idea.magento2plugin.indexes.DiIndex;
+import com.magento.idea.magento2plugin.indexes.PhpClassNameTrie;
+import com.magento.idea.magento2plugin.indexes.RequireJsResolver;
+import com.magento.idea.magento2plugin.indexes.WebApiRouteMatcher;
+import com.magento.idea.magento2plugin.indexes.XmlIndex;
+import com.magento.idea.magento2plugin.util.magento.FileBasedIndexUtil;
+import com.magento.idea.magento2plugin.util.magento.plugin.GetTargetClassNamesByPluginClassName;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index lookups used by the line markers, references and inspections, measured on an indexed project.
+ *
+ * The project is extended with generated modules to show how the lookups scale with the size of the installation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+    private static final String virtualTypeName = "Magento\\Benchmark\\Model\\Session\\StorageLevel4";
+    private static final String repositoryClassName = "\\Magento\\Benchmark\\Model\\ProductRepository";
+    private static final String pluginClassName = "Magento\\Benchmark\\Plugin\\Model\\ProductRepository\\SavePlugin";
+    private static final String moduleName = "Magento_Benchmark";
+    private static final String requireJsAlias = "benchmarkPriceUtils";
+    private static final String accessLogUrl = "https://example.com/rest/default/V1/benchmark/products/24-MB01?fields=sku";
+
+    @Param({"100", "1000", "5000"})
+    public int generatedModules;
+
+    private BenchmarkProjectFixture fixture;
+    private PhpClass repositoryClass;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        fixture = new BenchmarkProjectFixture();
+        fixture.setUp(generatedModules);
+
+        repositoryClass = fixture.read(() -> {
+            Collection<PhpClass> classes = PhpIndex.getInstance(fixture.getProject())
+                    .getClassesByFQN(repositoryClassName);
+            if (classes.isEmpty()) {
+                throw new IllegalStateException(repositoryClassName + " is not indexed");
+            }
+
+            return classes.iterator().next();
+        });
+
+        // Queries bring the indexes up to date, do it before the warmup to keep the first iteration comparable.
+        getTopTypeOfVirtualType();
+        getPhpClassDeclarations();
+        getTargetClassNamesByPluginClassName();
+        findViewVfsByModuleName();
+        matchWebApiRoute();
+        resolveRequireJsModule();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Throwable {
+        fixture.tearDown();
+    }
+
+    @Benchmark
+    public String getTopTypeOfVirtualType() {
+        return fixture.read(() -> DiIndex.getInstance(fixture.getProject()).getTopTypeOfVirtualType(virtualTypeName));
+    }
+
+    @Benchmark
+    public List<XmlTag> getPhpClassDeclarations() {
+        return fixture.read(() -> XmlIndex.getPhpClassDeclarations(repositoryClass));
+    }
+
+    @Benchmark
+    public ArrayList<String> getTargetClassNamesByPluginClassName() {
+        return fixture.read(() -> GetTargetClassNamesByPluginClassName.getInstance(fixture.getProject())
+                .execute(pluginClassName));
+    }
+
+    @Benchmark
+    public Collection<VirtualFile> findViewVfsByModuleName() {
+        return fixture.read(() -> FileBasedIndexUtil.findViewVfsByModuleName(moduleName, fixture.getProject()));
+    }
+
+    @Benchmark
+    public List<WebApiRouteMatcher.Match> matchWebApiRoute() {
+        return fixture.read(() -> WebApiRouteMatcher.getInstance(fixture.getProject()).match("PUT", accessLogUrl));
+    }
+
+    @Benchmark
+    public PhpClassNameTrie.Matches findPhpClassNames() {
+        return fixture.read(() -> PhpClassNameTrie.getInstance(fixture.getProject()).find("Magento\\Benchmark\\Prod", 300));
+    }
+
+    @Benchmark
+    public Collection<VirtualFile> resolveRequireJsModule() {
+        return fixture.read(() -> RequireJsResolver.getInstance(fixture.getProject()).resolve(requireJsAlias, "frontend"));
+    }
+}
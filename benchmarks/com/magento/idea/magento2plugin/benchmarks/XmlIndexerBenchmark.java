@@ -0,0 +1,301 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.benchmarks;
+
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.search.IndexingDataKeys;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.FileContentImpl;
+import com.jetbrains.php.lang.PhpLangUtil;
+import com.magento.idea.magento2plugin.magento.files.ModuleDiXml;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import com.magento.idea.magento2plugin.project.Settings;
+import com.magento.idea.magento2plugin.stubs.indexes.BlockNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.EventObserverIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.PluginIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.data.LayoutElementData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PluginData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataIndexer.map() of the XML indexers on the LightXmlParser against the same indexers on the XML PSI, over every
+ * input file of a generated project.
+ *
+ * The PSI indexers below produce the same index values as the plugin ones, which is checked for every file before the
+ * trial. The bytes allocated per pass are printed at the end of the trial, run with -prof gc for the JMH allocation
+ * rate (gc.alloc.rate.norm) and the GC counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlIndexerBenchmark {
+    public enum Input {
+        PLUGIN(new PluginIndex(), "di.xml", XmlIndexerBenchmark::mapPlugins),
+        EVENT_OBSERVER(new EventObserverIndex(), "events.xml", XmlIndexerBenchmark::mapEventObservers),
+        BLOCK_NAME(new BlockNameIndex(), null, XmlIndexerBenchmark::mapBlockNames);
+
+        private final FileBasedIndexExtension<?, ?> index;
+        private final String fileName;
+        private final Indexer psiIndexer;
+
+        Input(FileBasedIndexExtension<?, ?> index, @Nullable String fileName, Indexer psiIndexer) {
+            this.index = index;
+            this.fileName = fileName;
+            this.psiIndexer = psiIndexer;
+        }
+    }
+
+    @Param
+    public Input input;
+
+    @Param({"1000"})
+    public int generatedModules;
+
+    private BenchmarkProjectFixture fixture;
+    private DataIndexer<?, ?, FileContent> dataIndexer;
+    private final List<VirtualFile> files = new ArrayList<>();
+    private final List<byte[]> contents = new ArrayList<>();
+    private long allocatedBytes;
+    private long passes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        fixture = new BenchmarkProjectFixture();
+        fixture.setUp(generatedModules);
+        dataIndexer = input.index.getIndexer();
+
+        VfsUtilCore.iterateChildrenRecursively(fixture.findFile("vendor").getParent(), null, file -> {
+            if (!file.isDirectory()
+                    && (input.fileName == null || input.fileName.equals(file.getName()))
+                    && input.index.getInputFilter().acceptInput(file)) {
+                files.add(file);
+            }
+            return true;
+        });
+        for (VirtualFile file: files) {
+            contents.add(file.contentsToByteArray());
+        }
+
+        fixture.read(() -> {
+            for (int i = 0; i < files.size(); i++) {
+                Map<?, ?> light = dataIndexer.map(createFileContent(i));
+                Map<?, ?> psi = input.psiIndexer.map(createFileContent(i));
+                if (!light.equals(psi)) {
+                    throw new IllegalStateException("PSI and light index values differ for " + files.get(i).getPath());
+                }
+            }
+            return null;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(BenchmarkParams params) throws Throwable {
+        if (passes > 0) {
+            System.out.println(params.getBenchmark() + " " + input + ": " + allocatedBytes / passes
+                    + " bytes allocated per pass over " + files.size() + " files");
+        }
+        fixture.tearDown();
+    }
+
+    @Benchmark
+    public int psi() {
+        return fixture.read(() -> measure(input.psiIndexer::map));
+    }
+
+    @Benchmark
+    public int light() {
+        return fixture.read(() -> measure(dataIndexer::map));
+    }
+
+    private int measure(@NotNull Indexer indexer) {
+        long allocatedBefore = getAllocatedBytes();
+        int keys = 0;
+        for (int i = 0; i < files.size(); i++) {
+            keys += indexer.map(createFileContent(i)).size();
+        }
+        allocatedBytes += getAllocatedBytes() - allocatedBefore;
+        passes++;
+
+        return keys;
+    }
+
+    @NotNull
+    private FileContent createFileContent(int index) {
+        FileContentImpl fileContent = new FileContentImpl(files.get(index), contents.get(index));
+        fileContent.putUserData(IndexingDataKeys.PROJECT, fixture.getProject());
+
+        return fileContent;
+    }
+
+    private static long getAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private interface Indexer {
+        Map<?, ?> map(@NotNull FileContent fileContent);
+    }
+
+    @NotNull
+    private static Map<String, Set<PluginData>> mapPlugins(@NotNull FileContent fileContent) {
+        Map<String, Set<PluginData>> map = new HashMap<>();
+        XmlTag rootTag = getRootTag(fileContent, "config");
+        if (rootTag == null) {
+            return map;
+        }
+
+        String area = Package.getAreaNameByConfigFile(fileContent.getFile());
+        for (XmlTag typeNode: rootTag.findSubTags(ModuleDiXml.PLUGIN_TYPE_TAG)) {
+            String typeName = typeNode.getAttributeValue(ModuleDiXml.PLUGIN_TYPE_ATTR_NAME);
+            if (typeName == null) {
+                continue;
+            }
+            Set<PluginData> plugins = new HashSet<>();
+            for (XmlTag pluginTag: typeNode.findSubTags(ModuleDiXml.PLUGIN_TAG_NAME)) {
+                String pluginName = pluginTag.getAttributeValue(ModuleDiXml.PLUGIN_TYPE_ATTR_NAME);
+                String pluginType = pluginTag.getAttributeValue(ModuleDiXml.PLUGIN_TYPE_ATTRIBUTE);
+                if (pluginName == null && pluginType == null) {
+                    continue;
+                }
+                plugins.add(new PluginData(
+                        pluginName == null ? "" : pluginName,
+                        pluginType == null ? "" : PhpLangUtil.toPresentableFQN(pluginType),
+                        getSortOrder(pluginTag.getAttributeValue(ModuleDiXml.SORT_ORDER_ATTR_NAME)),
+                        "true".equals(pluginTag.getAttributeValue(ModuleDiXml.DISABLED_ATTR_NAME)),
+                        area,
+                        pluginTag.getTextRange().getStartOffset()
+                ));
+            }
+            if (!plugins.isEmpty()) {
+                map.computeIfAbsent(PhpLangUtil.toPresentableFQN(typeName), k -> new HashSet<>()).addAll(plugins);
+            }
+        }
+
+        return map;
+    }
+
+    @NotNull
+    private static Map<String, Set<String>> mapEventObservers(@NotNull FileContent fileContent) {
+        Map<String, Set<String>> map = new HashMap<>();
+        XmlTag rootTag = getRootTag(fileContent, "config");
+        if (rootTag == null) {
+            return map;
+        }
+
+        for (XmlTag eventNode: rootTag.findSubTags("event")) {
+            String eventName = eventNode.getAttributeValue("name");
+            if (eventName == null) {
+                continue;
+            }
+            Set<String> observers = new HashSet<>();
+            for (XmlTag observerTag: eventNode.findSubTags("observer")) {
+                String instance = observerTag.getAttributeValue("instance");
+                if (instance != null) {
+                    observers.add(PhpLangUtil.toPresentableFQN(instance));
+                }
+            }
+            map.put(eventName, observers);
+        }
+
+        return map;
+    }
+
+    @NotNull
+    private static Map<String, LayoutElementData> mapBlockNames(@NotNull FileContent fileContent) {
+        Map<String, LayoutElementData> map = new HashMap<>();
+        XmlTag rootTag = getRootTag(fileContent, null);
+        if (rootTag == null) {
+            return map;
+        }
+
+        Map<String, List<Integer>> offsets = new HashMap<>();
+        collectBlockOffsets(rootTag, offsets);
+        VirtualFile file = fileContent.getFile();
+        String handle = file.getNameWithoutExtension();
+        String area = Package.getAreaNameByViewFilePath(file.getPath());
+        for (Map.Entry<String, List<Integer>> entry: offsets.entrySet()) {
+            map.put(entry.getKey(), new LayoutElementData(handle, area, entry.getValue()));
+        }
+
+        return map;
+    }
+
+    private static void collectBlockOffsets(@NotNull XmlTag parentTag, @NotNull Map<String, List<Integer>> offsets) {
+        for (XmlTag childTag: parentTag.getSubTags()) {
+            if (childTag.getName().equals("block")) {
+                String name = childTag.getAttributeValue("name");
+                if (name != null) {
+                    offsets.computeIfAbsent(name, k -> new ArrayList<>()).add(childTag.getTextRange().getStartOffset());
+                }
+            }
+            collectBlockOffsets(childTag, offsets);
+        }
+    }
+
+    /**
+     * Root tag of the file PSI, null when the plugin is disabled or the root tag isn't the expected one.
+     */
+    @Nullable
+    private static XmlTag getRootTag(@NotNull FileContent fileContent, @Nullable String rootTagName) {
+        if (!Settings.isEnabled(fileContent.getProject())) {
+            return null;
+        }
+        PsiFile psiFile = fileContent.getPsiFile();
+        if (!(psiFile instanceof XmlFile)) {
+            return null;
+        }
+        XmlTag rootTag = ((XmlFile) psiFile).getRootTag();
+        if (rootTag == null || rootTagName != null && !rootTag.getName().equals(rootTagName)) {
+            return null;
+        }
+
+        return rootTag;
+    }
+
+    private static int getSortOrder(@Nullable String sortOrder) {
+        if (sortOrder == null) {
+            return 0;
+        }
+
+        try {
+            return Integer.parseInt(sortOrder.trim());
+        } catch (NumberFormatException exception) {
+            return 0;
+        }
+    }
+}
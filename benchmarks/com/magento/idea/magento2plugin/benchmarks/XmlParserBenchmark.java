@@ -0,0 +1,113 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.benchmarks;
+
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.xml.XmlAttribute;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlParser;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlTag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * XML PSI against the LightXmlParser used by the indexers, on the same configuration files.
+ *
+ * Both benchmarks visit every tag and attribute, so the lazily built parts of the PSI are measured as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class XmlParserBenchmark {
+    @Param({
+            "vendor/magento/module-benchmark/etc/di.xml",
+            "vendor/magento/module-benchmark/etc/events.xml",
+            "vendor/magento/module-benchmark/etc/webapi.xml",
+            "vendor/magento/module-benchmark/view/frontend/layout/catalog_product_view.xml"
+    })
+    public String path;
+
+    private BenchmarkProjectFixture fixture;
+    private String fileName;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        fixture = new BenchmarkProjectFixture();
+        fixture.setUp();
+
+        VirtualFile file = fixture.findFile(path);
+        fileName = file.getName();
+        text = VfsUtilCore.loadText(file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Throwable {
+        fixture.tearDown();
+    }
+
+    @Benchmark
+    public int psi() {
+        return fixture.read(() -> {
+            XmlFile xmlFile = (XmlFile) PsiFileFactory.getInstance(fixture.getProject())
+                    .createFileFromText(fileName, XmlFileType.INSTANCE, text);
+            XmlTag rootTag = xmlFile.getRootTag();
+
+            return rootTag == null ? 0 : visit(rootTag);
+        });
+    }
+
+    @Benchmark
+    public int light() {
+        LightXmlTag rootTag = LightXmlParser.parse(text);
+
+        return rootTag == null ? 0 : visit(rootTag);
+    }
+
+    private static int visit(XmlTag tag) {
+        int result = tag.getName().length();
+        for (XmlAttribute attribute: tag.getAttributes()) {
+            String value = attribute.getValue();
+            result += value == null ? 0 : value.length();
+        }
+        for (XmlTag subTag: tag.getSubTags()) {
+            result += visit(subTag);
+        }
+
+        return result;
+    }
+
+    private static int visit(LightXmlTag tag) {
+        int result = tag.getName().length();
+        for (String value: tag.getAttributes().values()) {
+            result += value.length();
+        }
+        for (LightXmlTag subTag: tag.getSubTags()) {
+            result += visit(subTag);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.actions.analysis;
+
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationListener;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.magento.idea.magento2plugin.MagentoIcons;
+import com.magento.idea.magento2plugin.analysis.AnalysisReport;
+import com.magento.idea.magento2plugin.analysis.ConfigurationAnalyzer;
+import com.magento.idea.magento2plugin.project.Settings;
+import com.magento.idea.magento2plugin.project.util.GetProjectBasePath;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.event.HyperlinkEvent;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Runs the Magento inspections over the whole project in a background task and offers to export the problems.
+ */
+public class AnalyzeConfigurationAction extends AnAction {
+    public static String ACTION_NAME = "Analyze Magento Configuration";
+    public static String ACTION_DESCRIPTION = "Run the Magento 2 inspections on every module of the project";
+    private static final String EXPORT_JSON = "json";
+    private static final String EXPORT_SARIF = "sarif";
+
+    public AnalyzeConfigurationAction() {
+        super(ACTION_NAME, ACTION_DESCRIPTION, MagentoIcons.MODULE);
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent event) {
+        Project project = event.getData(PlatformDataKeys.PROJECT);
+        boolean status = project != null && Settings.isEnabled(project);
+        event.getPresentation().setVisible(status);
+        event.getPresentation().setEnabled(status);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent event) {
+        Project project = event.getProject();
+        if (project == null) {
+            return;
+        }
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, ACTION_NAME, true) {
+            private AnalysisReport report;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                report = new ConfigurationAnalyzer(project).analyze(indicator);
+            }
+
+            @Override
+            public void onSuccess() {
+                notifyReport(project, report);
+            }
+        });
+    }
+
+    private static void notifyReport(@NotNull Project project, @NotNull AnalysisReport report) {
+        String content = String.format(
+                "%d problem(s) found in %d file(s) of %d module(s).<br/>"
+                        + "Export as <a href='%s'>JSON</a> or <a href='%s'>SARIF</a>",
+                report.getProblems().size(),
+                report.getFilesCount(),
+                report.getModulesCount(),
+                EXPORT_JSON,
+                EXPORT_SARIF
+        );
+        Notification notification = new Notification("Magento", ACTION_NAME, content,
+                NotificationType.INFORMATION, new NotificationListener.Adapter() {
+            @Override
+            protected void hyperlinkActivated(@NotNull Notification notification, @NotNull HyperlinkEvent event) {
+                export(project, report, event.getDescription());
+            }
+        });
+        Notifications.Bus.notify(notification, project);
+    }
+
+    private static void export(@NotNull Project project, @NotNull AnalysisReport report, @NotNull String format) {
+        FileSaverDescriptor descriptor = new FileSaverDescriptor(
+                "Export Magento Configuration Analysis",
+                "Save the problems found by the analysis",
+                format
+        );
+        VirtualFileWrapper fileWrapper = FileChooserFactory.getInstance()
+                .createSaveFileDialog(descriptor, project)
+                .save(GetProjectBasePath.execute(project), "magento-configuration." + format);
+        if (fileWrapper == null) {
+            return;
+        }
+
+        try (Writer writer = Files.newBufferedWriter(fileWrapper.getFile().toPath(), StandardCharsets.UTF_8)) {
+            if (format.equals(EXPORT_SARIF)) {
+                report.writeSarif(writer);
+            } else {
+                report.writeJson(writer);
+            }
+        } catch (IOException exception) {
+            Messages.showErrorDialog(project, exception.getMessage(), ACTION_NAME);
+        }
+    }
+}
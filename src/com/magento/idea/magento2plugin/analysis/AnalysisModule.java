@@ -0,0 +1,46 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.analysis;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Module of the project with its files and the checks to run on each of them, the unit of the parallel analysis.
+ */
+public class AnalysisModule {
+    private final String name;
+    private final VirtualFile directory;
+    private final Map<VirtualFile, Set<ConfigurationCheck>> files;
+
+    AnalysisModule(
+            @NotNull String name,
+            @NotNull VirtualFile directory,
+            @NotNull Map<VirtualFile, Set<ConfigurationCheck>> files
+    ) {
+        this.name = name;
+        this.directory = directory;
+        this.files = files;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public VirtualFile getDirectory() {
+        return directory;
+    }
+
+    @NotNull
+    public Map<VirtualFile, Set<ConfigurationCheck>> getFiles() {
+        return Collections.unmodifiableMap(files);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.analysis;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Problem reported by a configuration check, located by the project relative path and the 1-based line and column.
+ */
+public class AnalysisProblem {
+    public static final String LEVEL_ERROR = "error";
+    public static final String LEVEL_WARNING = "warning";
+    public static final String LEVEL_NOTE = "note";
+
+    private final ConfigurationCheck check;
+    private final String level;
+    private final String moduleName;
+    private final String path;
+    private final int line;
+    private final int column;
+    private final String message;
+
+    public AnalysisProblem(
+            @NotNull ConfigurationCheck check,
+            @NotNull String level,
+            @NotNull String moduleName,
+            @NotNull String path,
+            int line,
+            int column,
+            @NotNull String message
+    ) {
+        this.check = check;
+        this.level = level;
+        this.moduleName = moduleName;
+        this.path = path;
+        this.line = line;
+        this.column = column;
+        this.message = message;
+    }
+
+    @NotNull
+    public ConfigurationCheck getCheck() {
+        return check;
+    }
+
+    /**
+     * One of error, warning and note, the levels of SARIF results.
+     */
+    @NotNull
+    public String getLevel() {
+        return level;
+    }
+
+    @NotNull
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    @NotNull
+    public String getPath() {
+        return path;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    @NotNull
+    public String getMessage() {
+        return message;
+    }
+}
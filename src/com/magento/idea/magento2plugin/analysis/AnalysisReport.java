@@ -0,0 +1,162 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.analysis;
+
+import com.google.gson.stream.JsonWriter;
+import com.intellij.openapi.util.io.FileUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Result of the configuration analysis, exported as plain JSON or as a SARIF 2.1.0 log.
+ */
+public class AnalysisReport {
+    public static final String SARIF_VERSION = "2.1.0";
+    public static final String SARIF_SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+    private static final String TOOL_NAME = "Magento PhpStorm";
+    private static final String TOOL_URI = "https://github.com/magento/magento2-phpstorm-plugin";
+    private static final String SOURCE_ROOT = "%SRCROOT%";
+
+    private final int modulesCount;
+    private final int filesCount;
+    private final List<AnalysisProblem> problems;
+
+    public AnalysisReport(int modulesCount, int filesCount, @NotNull List<AnalysisProblem> problems) {
+        this.modulesCount = modulesCount;
+        this.filesCount = filesCount;
+        this.problems = new ArrayList<>(problems);
+        this.problems.sort(
+                Comparator.comparing(AnalysisProblem::getPath)
+                        .thenComparingInt(AnalysisProblem::getLine)
+                        .thenComparingInt(AnalysisProblem::getColumn)
+        );
+    }
+
+    public int getModulesCount() {
+        return modulesCount;
+    }
+
+    public int getFilesCount() {
+        return filesCount;
+    }
+
+    /**
+     * Problems sorted by the path, the line and the column.
+     */
+    @NotNull
+    public List<AnalysisProblem> getProblems() {
+        return Collections.unmodifiableList(problems);
+    }
+
+    public void writeJson(@NotNull Writer writer) throws IOException {
+        JsonWriter json = new JsonWriter(writer);
+        json.setIndent("  ");
+
+        json.beginObject();
+        json.name("modules").value(modulesCount);
+        json.name("files").value(filesCount);
+        json.name("problems").beginArray();
+        for (AnalysisProblem problem: problems) {
+            json.beginObject();
+            json.name("inspection").value(problem.getCheck().getShortName());
+            json.name("level").value(problem.getLevel());
+            json.name("module").value(problem.getModuleName());
+            json.name("file").value(problem.getPath());
+            json.name("line").value(problem.getLine());
+            json.name("column").value(problem.getColumn());
+            json.name("message").value(problem.getMessage());
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+        json.flush();
+    }
+
+    public void writeSarif(@NotNull Writer writer) throws IOException {
+        JsonWriter json = new JsonWriter(writer);
+        json.setIndent("  ");
+
+        json.beginObject();
+        json.name("$schema").value(SARIF_SCHEMA);
+        json.name("version").value(SARIF_VERSION);
+        json.name("runs").beginArray();
+        json.beginObject();
+
+        json.name("tool").beginObject();
+        json.name("driver").beginObject();
+        json.name("name").value(TOOL_NAME);
+        json.name("informationUri").value(TOOL_URI);
+        json.name("rules").beginArray();
+        for (ConfigurationCheck check: ConfigurationCheck.values()) {
+            json.beginObject();
+            json.name("id").value(check.getShortName());
+            json.name("shortDescription").beginObject().name("text").value(check.getDisplayName()).endObject();
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+        json.endObject();
+
+        json.name("results").beginArray();
+        for (AnalysisProblem problem: problems) {
+            json.beginObject();
+            json.name("ruleId").value(problem.getCheck().getShortName());
+            json.name("level").value(problem.getLevel());
+            json.name("message").beginObject().name("text").value(problem.getMessage()).endObject();
+            json.name("locations").beginArray();
+            json.beginObject();
+            json.name("physicalLocation").beginObject();
+            writeArtifactLocation(json, problem.getPath());
+            json.name("region").beginObject();
+            json.name("startLine").value(problem.getLine());
+            json.name("startColumn").value(problem.getColumn());
+            json.endObject();
+            json.endObject();
+            json.endObject();
+            json.endArray();
+            json.name("properties").beginObject().name("module").value(problem.getModuleName()).endObject();
+            json.endObject();
+        }
+        json.endArray();
+
+        json.endObject();
+        json.endArray();
+        json.endObject();
+        json.flush();
+    }
+
+    /**
+     * Paths relative to the project are resolved against %SRCROOT%, the files outside of the project are reported
+     * with an absolute file URI, which mustn't have a base.
+     */
+    private static void writeArtifactLocation(@NotNull JsonWriter json, @NotNull String path) throws IOException {
+        json.name("artifactLocation").beginObject();
+        if (FileUtil.isAbsolutePlatformIndependent(path)) {
+            json.name("uri").value(toFileUri(path));
+        } else {
+            json.name("uri").value(path);
+            json.name("uriBaseId").value(SOURCE_ROOT);
+        }
+        json.endObject();
+    }
+
+    @NotNull
+    private static String toFileUri(@NotNull String path) throws IOException {
+        String uriPath = FileUtil.toSystemIndependentName(path);
+        try {
+            return new URI("file", "", uriPath.startsWith("/") ? uriPath : "/" + uriPath, null).toString();
+        } catch (URISyntaxException exception) {
+            throw new IOException("Invalid path " + path, exception);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.analysis;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemDescriptorUtil;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.ide.plugins.IdeaPluginDescriptor;
+import com.intellij.ide.plugins.PluginManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.extensions.PluginId;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileVisitor;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.PhpLangUtil;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.magento.idea.magento2plugin.magento.files.LayoutXml;
+import com.magento.idea.magento2plugin.magento.files.MagentoFileKind;
+import com.magento.idea.magento2plugin.magento.files.RegistrationPhp;
+import com.magento.idea.magento2plugin.project.util.GetProjectBasePath;
+import com.magento.idea.magento2plugin.stubs.indexes.ModuleNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.PluginIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PluginData;
+import com.magento.idea.magento2plugin.stubs.indexes.graphql.GraphQlResolverIndex;
+import com.magento.idea.magento2plugin.util.RegExUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.concurrency.CancellablePromise;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the Magento inspections over every module of the project.
+ *
+ * Files are picked through the indexes, so a check only runs on the files it can report on: the plugin check on
+ * plugin classes, the resolver check on the classes used by schema.graphqls, the declaration checks on di.xml,
+ * events.xml and default.xml. Modules are analyzed in non-blocking read actions on a bounded pool, a write action
+ * restarts the interrupted modules instead of waiting for the whole analysis.
+ */
+public class ConfigurationAnalyzer {
+    private static final String GRAPHQL_PLUGIN_ID = "com.intellij.lang.jsgraphql";
+    private static final int WAIT_INTERVAL_MS = 50;
+
+    private final Project project;
+
+    public ConfigurationAnalyzer(@NotNull Project project) {
+        this.project = project;
+    }
+
+    /**
+     * Analyzes every module, reporting the progress to the indicator and stopping when it is canceled.
+     */
+    @NotNull
+    public AnalysisReport analyze(@NotNull ProgressIndicator indicator) {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+                "Magento Configuration Analysis",
+                threads
+        );
+
+        indicator.setIndeterminate(true);
+        indicator.setText("Collecting Magento modules");
+        List<AnalysisModule> modules = await(
+                ReadAction.nonBlocking(this::collectModules).inSmartMode(project).expireWith(project).submit(executor),
+                indicator
+        );
+
+        indicator.setIndeterminate(false);
+        indicator.setText("Analyzing Magento modules");
+        AtomicInteger analyzedModules = new AtomicInteger();
+        List<CancellablePromise<List<AnalysisProblem>>> promises = new ArrayList<>(modules.size());
+        for (AnalysisModule module: modules) {
+            promises.add(ReadAction.nonBlocking(() -> {
+                List<AnalysisProblem> problems = analyzeModule(module, indicator);
+                indicator.setText2(module.getName());
+                indicator.setFraction((double) analyzedModules.incrementAndGet() / modules.size());
+                return problems;
+            }).inSmartMode(project).expireWith(project).submit(executor));
+        }
+
+        List<AnalysisProblem> problems = new ArrayList<>();
+        int files = 0;
+        try {
+            for (int i = 0; i < modules.size(); i++) {
+                problems.addAll(await(promises.get(i), indicator));
+                files += modules.get(i).getFiles().size();
+            }
+        } catch (ProcessCanceledException exception) {
+            for (CancellablePromise<List<AnalysisProblem>> promise: promises) {
+                promise.cancel();
+            }
+            throw exception;
+        }
+
+        return new AnalysisReport(modules.size(), files, problems);
+    }
+
+    /**
+     * Modules of the project with the files to analyze. Must be called in a read action.
+     */
+    @NotNull
+    public List<AnalysisModule> collectModules() {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+        Set<VirtualFile> pluginFiles = getClassFiles(getPluginClassNames());
+        Set<VirtualFile> resolverFiles = isGraphQlEnabled()
+                ? getClassFiles(getResolverClassNames())
+                : new HashSet<>();
+
+        List<AnalysisModule> modules = new ArrayList<>();
+        for (String moduleName: index.getAllKeys(ModuleNameIndex.KEY, project)) {
+            if (!moduleName.matches(RegExUtil.Magento.MODULE_NAME)) {
+                continue;
+            }
+            for (VirtualFile registrationFile: index.getContainingFiles(ModuleNameIndex.KEY, moduleName, scope)) {
+                VirtualFile moduleDirectory = registrationFile.getParent();
+                if (moduleDirectory != null) {
+                    modules.add(new AnalysisModule(
+                            moduleName,
+                            moduleDirectory,
+                            collectFiles(moduleDirectory, pluginFiles, resolverFiles)
+                    ));
+                }
+            }
+        }
+        modules.sort(Comparator.comparing(AnalysisModule::getName));
+
+        return modules;
+    }
+
+    @NotNull
+    private Map<VirtualFile, Set<ConfigurationCheck>> collectFiles(
+            @NotNull VirtualFile moduleDirectory,
+            @NotNull Set<VirtualFile> pluginFiles,
+            @NotNull Set<VirtualFile> resolverFiles
+    ) {
+        Map<VirtualFile, Set<ConfigurationCheck>> files = new LinkedHashMap<>();
+
+        VfsUtilCore.visitChildrenRecursively(moduleDirectory, new VirtualFileVisitor<Void>() {
+            @Override
+            public boolean visitFile(@NotNull VirtualFile file) {
+                if (file.isDirectory()) {
+                    // a nested module is analyzed on its own
+                    return file.equals(moduleDirectory) || file.findChild(RegistrationPhp.FILE_NAME) == null;
+                }
+
+                Set<ConfigurationCheck> checks = EnumSet.noneOf(ConfigurationCheck.class);
+                MagentoFileKind kind = MagentoFileKind.of(file);
+                if (kind == MagentoFileKind.DI) {
+                    checks.add(ConfigurationCheck.PLUGIN_DECLARATION);
+                } else if (kind == MagentoFileKind.EVENTS) {
+                    checks.add(ConfigurationCheck.OBSERVER_DECLARATION);
+                } else if (kind == MagentoFileKind.LAYOUT && file.getName().equals(LayoutXml.DEFAULT_FILENAME)) {
+                    checks.add(ConfigurationCheck.CACHEABLE_FALSE_IN_DEFAULT_LAYOUT);
+                }
+                if (pluginFiles.contains(file)) {
+                    checks.add(ConfigurationCheck.PLUGIN);
+                }
+                if (resolverFiles.contains(file)) {
+                    checks.add(ConfigurationCheck.GRAPHQL_RESOLVER);
+                }
+                if (!checks.isEmpty()) {
+                    files.put(file, checks);
+                }
+
+                return true;
+            }
+        });
+
+        return files;
+    }
+
+    /**
+     * Runs the checks on the files of the module. Must be called in a read action.
+     */
+    @NotNull
+    public List<AnalysisProblem> analyzeModule(@NotNull AnalysisModule module, @NotNull ProgressIndicator indicator) {
+        List<AnalysisProblem> problems = new ArrayList<>();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        InspectionManager inspectionManager = InspectionManager.getInstance(project);
+
+        for (Map.Entry<VirtualFile, Set<ConfigurationCheck>> entry: module.getFiles().entrySet()) {
+            indicator.checkCanceled();
+            VirtualFile file = entry.getKey();
+            PsiFile psiFile = file.isValid() ? psiManager.findFile(file) : null;
+            if (psiFile == null) {
+                continue;
+            }
+
+            for (ConfigurationCheck check: entry.getValue()) {
+                ProblemsHolder holder = new ProblemsHolder(inspectionManager, psiFile, false);
+                PsiElementVisitor visitor = check.createTool().buildVisitor(holder, false);
+                psiFile.accept(new PsiRecursiveElementWalkingVisitor() {
+                    @Override
+                    public void visitElement(PsiElement element) {
+                        element.accept(visitor);
+                        super.visitElement(element);
+                    }
+                });
+                for (ProblemDescriptor descriptor: holder.getResults()) {
+                    problems.add(createProblem(check, module.getName(), psiFile, descriptor));
+                }
+            }
+        }
+
+        return problems;
+    }
+
+    @NotNull
+    private AnalysisProblem createProblem(
+            @NotNull ConfigurationCheck check,
+            @NotNull String moduleName,
+            @NotNull PsiFile psiFile,
+            @NotNull ProblemDescriptor descriptor
+    ) {
+        PsiElement element = descriptor.getPsiElement();
+        int line = 0;
+        int column = 0;
+        Document document = PsiDocumentManager.getInstance(project).getDocument(psiFile);
+        if (element != null && document != null) {
+            int offset = element.getTextRange().getStartOffset();
+            line = document.getLineNumber(offset);
+            column = offset - document.getLineStartOffset(line);
+        }
+
+        return new AnalysisProblem(
+                check,
+                getLevel(descriptor.getHighlightType()),
+                moduleName,
+                getPath(psiFile.getVirtualFile()),
+                line + 1,
+                column + 1,
+                ProblemDescriptorUtil.renderDescriptionMessage(descriptor, element)
+        );
+    }
+
+    @NotNull
+    private static String getLevel(@NotNull ProblemHighlightType highlightType) {
+        switch (highlightType) {
+            case ERROR:
+            case GENERIC_ERROR:
+                return AnalysisProblem.LEVEL_ERROR;
+            case WEAK_WARNING:
+            case INFORMATION:
+                return AnalysisProblem.LEVEL_NOTE;
+            default:
+                return AnalysisProblem.LEVEL_WARNING;
+        }
+    }
+
+    @NotNull
+    private String getPath(@NotNull VirtualFile file) {
+        VirtualFile baseDirectory = GetProjectBasePath.execute(project);
+        String path = baseDirectory == null ? null : VfsUtilCore.getRelativePath(file, baseDirectory);
+
+        return path == null ? file.getPath() : path;
+    }
+
+    @NotNull
+    private Set<String> getPluginClassNames() {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+        Set<String> classNames = new HashSet<>();
+
+        for (String typeName: index.getAllKeys(PluginIndex.KEY, project)) {
+            index.processValues(PluginIndex.KEY, typeName, null, (file, plugins) -> {
+                for (PluginData plugin: plugins) {
+                    if (!plugin.getType().isEmpty()) {
+                        classNames.add(plugin.getType());
+                    }
+                }
+                return true;
+            }, scope);
+        }
+
+        return classNames;
+    }
+
+    @NotNull
+    private Collection<String> getResolverClassNames() {
+        return FileBasedIndex.getInstance().getAllKeys(GraphQlResolverIndex.KEY, project);
+    }
+
+    @NotNull
+    private Set<VirtualFile> getClassFiles(@NotNull Collection<String> classNames) {
+        PhpIndex phpIndex = PhpIndex.getInstance(project);
+        Set<VirtualFile> files = new HashSet<>();
+
+        for (String className: classNames) {
+            for (PhpClass phpClass: phpIndex.getClassesByFQN(PhpLangUtil.toFQN(className))) {
+                VirtualFile file = getVirtualFile(phpClass);
+                if (file != null) {
+                    files.add(file);
+                }
+            }
+        }
+
+        return files;
+    }
+
+    @Nullable
+    private static VirtualFile getVirtualFile(@NotNull PhpClass phpClass) {
+        PsiFile file = phpClass.getContainingFile();
+
+        return file == null ? null : file.getVirtualFile();
+    }
+
+    /**
+     * The resolver index is registered by the optional JS GraphQL dependency.
+     */
+    private static boolean isGraphQlEnabled() {
+        IdeaPluginDescriptor plugin = PluginManager.getPlugin(PluginId.getId(GRAPHQL_PLUGIN_ID));
+
+        return plugin != null && plugin.isEnabled();
+    }
+
+    @NotNull
+    private static <T> T await(@NotNull CancellablePromise<T> promise, @NotNull ProgressIndicator indicator) {
+        while (true) {
+            if (indicator.isCanceled()) {
+                promise.cancel();
+                indicator.checkCanceled();
+            }
+            try {
+                return promise.get(WAIT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException exception) {
+                // keep waiting, the indicator is checked on the next iteration
+            } catch (InterruptedException exception) {
+                promise.cancel();
+                throw new ProcessCanceledException(exception);
+            } catch (ExecutionException exception) {
+                if (exception.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) exception.getCause();
+                }
+                throw new RuntimeException(exception.getCause());
+            } catch (CancellationException exception) {
+                throw new ProcessCanceledException(exception);
+            }
+        }
+    }
+}
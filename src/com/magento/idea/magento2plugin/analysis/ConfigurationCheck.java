@@ -0,0 +1,76 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.analysis;
+
+import com.intellij.codeInspection.LocalInspectionEP;
+import com.intellij.codeInspection.LocalInspectionTool;
+import com.magento.idea.magento2plugin.inspections.php.GraphQlResolverInspection;
+import com.magento.idea.magento2plugin.inspections.php.PluginInspection;
+import com.magento.idea.magento2plugin.inspections.xml.CacheableFalseInDefaultLayoutInspection;
+import com.magento.idea.magento2plugin.inspections.xml.ObserverDeclarationInspection;
+import com.magento.idea.magento2plugin.inspections.xml.PluginDeclarationInspection;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Supplier;
+
+/**
+ * Inspections run by the project-wide configuration analysis, identified by the short name of the inspection.
+ */
+public enum ConfigurationCheck {
+    PLUGIN(
+            "PluginInspection",
+            PluginInspection::new
+    ),
+    PLUGIN_DECLARATION(
+            "PluginDeclarationInspection",
+            PluginDeclarationInspection::new
+    ),
+    OBSERVER_DECLARATION(
+            "ObserverDeclarationInspection",
+            ObserverDeclarationInspection::new
+    ),
+    CACHEABLE_FALSE_IN_DEFAULT_LAYOUT(
+            "CacheableFalseInDefaultLayoutInspection",
+            CacheableFalseInDefaultLayoutInspection::new
+    ),
+    GRAPHQL_RESOLVER(
+            "GraphQlResolverInspection",
+            GraphQlResolverInspection::new
+    );
+
+    private final String shortName;
+    private final Supplier<LocalInspectionTool> toolFactory;
+
+    ConfigurationCheck(@NotNull String shortName, @NotNull Supplier<LocalInspectionTool> toolFactory) {
+        this.shortName = shortName;
+        this.toolFactory = toolFactory;
+    }
+
+    @NotNull
+    public String getShortName() {
+        return shortName;
+    }
+
+    /**
+     * Display name of the inspection as registered in the plugin descriptors, the short name when the inspection isn't
+     * registered, like the GraphQL one without the JS GraphQL plugin.
+     */
+    @NotNull
+    public String getDisplayName() {
+        for (LocalInspectionEP inspection: LocalInspectionEP.LOCAL_INSPECTION.getExtensionList()) {
+            if (shortName.equals(inspection.getShortName())) {
+                String displayName = inspection.getDisplayName();
+                return displayName == null ? shortName : displayName;
+            }
+        }
+
+        return shortName;
+    }
+
+    @NotNull
+    public LocalInspectionTool createTool() {
+        return toolFactory.get();
+    }
+}
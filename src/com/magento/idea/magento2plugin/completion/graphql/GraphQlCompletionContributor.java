@@ -0,0 +1,26 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.completion.graphql;
+
+import com.intellij.codeInsight.completion.CompletionContributor;
+import com.intellij.codeInsight.completion.CompletionType;
+import com.intellij.lang.jsgraphql.psi.GraphQLArgument;
+import com.intellij.lang.jsgraphql.psi.GraphQLDirective;
+import com.intellij.lang.jsgraphql.psi.GraphQLStringValue;
+import com.magento.idea.magento2plugin.completion.provider.GraphQlResolverCompletionProvider;
+import static com.intellij.patterns.PlatformPatterns.psiElement;
+
+public class GraphQlCompletionContributor extends CompletionContributor {
+
+    public GraphQlCompletionContributor() {
+        // @resolver(class: "completion") in schema.graphqls files
+        extend(CompletionType.BASIC, psiElement()
+                .inside(psiElement(GraphQLStringValue.class)
+                    .withParent(psiElement(GraphQLArgument.class).inside(GraphQLDirective.class))
+                ),
+                new GraphQlResolverCompletionProvider()
+        );
+    }
+}
@@ -12,6 +12,8 @@ import com.intellij.icons.AllIcons;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.util.ProcessingContext;
+import com.magento.idea.magento2plugin.stubs.indexes.ModuleViewFileIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.data.ModuleViewFileData;
 import com.magento.idea.magento2plugin.util.RegExUtil;
 import com.magento.idea.magento2plugin.util.VfsUtil;
 import com.magento.idea.magento2plugin.util.magento.FileBasedIndexUtil;
@@ -22,6 +24,12 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class FilePathCompletionProvider extends CompletionProvider<CompletionParameters> {
+    private static final Pattern MODULE_FILE_PATH_PATTERN = Pattern.compile(
+            "(" + RegExUtil.Magento.MODULE_NAME + "(\\W+))(" + RegExUtil.FILE_PATH + ")?"
+    );
+    private static final Pattern FILE_PATH_PATTERN = Pattern.compile("(" + RegExUtil.FILE_PATH + ")+");
+    private static final Pattern MODULE_NAME_PATTERN = Pattern.compile(RegExUtil.Magento.MODULE_NAME);
+    private static final String TEMPLATE_DIRECTORY = "template/";
 
     @Override
     protected void addCompletions(@NotNull CompletionParameters parameters,
@@ -38,17 +46,13 @@ public class FilePathCompletionProvider extends CompletionProvider<CompletionPar
         String filePathPrefix;
         boolean removeFileExtension = false;
 
-        Pattern pattern = Pattern.compile(
-                "(" + RegExUtil.Magento.MODULE_NAME + "(\\W+))(" + RegExUtil.FILE_PATH + ")?"
-        );
-        Matcher matcher = pattern.matcher(prefix);
+        Matcher matcher = MODULE_FILE_PATH_PATTERN.matcher(prefix);
         if (matcher.find()) {
             filePathPrefix = matcher.group(1);
             removeFileExtension = matcher.group(2).equals("/");
             filePath = matcher.group(3) != null ? matcher.group(3) : "";
         } else {
-            pattern = Pattern.compile("(" + RegExUtil.FILE_PATH + ")+");
-            matcher = pattern.matcher(prefix);
+            matcher = FILE_PATH_PATTERN.matcher(prefix);
             if (!matcher.find()) {
                 return;
             }
@@ -59,23 +63,18 @@ public class FilePathCompletionProvider extends CompletionProvider<CompletionPar
         // find all view virtual files
         Collection<VirtualFile> viewVfs = findViewVfs(parameters, result);
 
+        Set<String> labels = new HashSet<>();
         for (VirtualFile vf:viewVfs) {
-            for (VirtualFile file : VfsUtil.getAllSubFiles(vf)) {
-                String label = file.getPath().replace(vf.getPath(), "");
-
-                pattern = label.matches("(/[\\w-]+){2}/template/.*")
-                    //e.g. (adminhtml|frontend|base|*)/(web|layout|*)/template/{whatever client typed}
-                    ? Pattern.compile("^((/[\\w-]+){3}/)" + filePath)
-                    //e.g. (adminhtml|frontend|base|*)/(web|layout|*)/{whatever client typed}
-                    : Pattern.compile("^((/[\\w-]+){2}/)" + filePath);
-
-                matcher = pattern.matcher(label);
-                if (!matcher.find()) {
+            Map<VirtualFile, ModuleViewFileData> viewFiles =
+                    ModuleViewFileIndex.getViewFiles(position.getProject(), vf);
+            for (Map.Entry<VirtualFile, ModuleViewFileData> viewFile : viewFiles.entrySet()) {
+                String label = getLookupPath(viewFile.getValue());
+                if (!label.startsWith(filePath)) {
                     continue;
                 }
 
                 //remove prefix
-                label = label.replace(matcher.group(0), "");
+                label = label.substring(filePath.length());
                 boolean lastPathSegment = !(label.indexOf("/", 1) > 0);
                 label = lastPathSegment ? label : label.substring(0, label.indexOf("/", 1));
                 label = filePathPrefix + filePath + label;
@@ -83,22 +82,39 @@ public class FilePathCompletionProvider extends CompletionProvider<CompletionPar
                         ? label.substring(0, label.lastIndexOf("."))
                         : label
                 );
+                if (!labels.add(label)) {
+                    continue;
+                }
 
                 result.addElement(
                         LookupElementBuilder
                                 .create(label)
-                                .withIcon(lastPathSegment ? file.getFileType().getIcon() : AllIcons.Nodes.Folder)
+                                .withIcon(lastPathSegment
+                                        ? viewFile.getKey().getFileType().getIcon()
+                                        : AllIcons.Nodes.Folder
+                                )
                 );
             }
         }
     }
 
+    /**
+     * Path the file is referenced by, relative to the kind directory, and to its template directory if any.
+     *
+     * e.g. frontend/templates/product/view.phtml is product/view.phtml and base/web/template/grid.html is grid.html
+     */
+    @NotNull
+    private static String getLookupPath(@NotNull ModuleViewFileData viewFile) {
+        String path = viewFile.getPath();
+
+        return path.startsWith(TEMPLATE_DIRECTORY) ? path.substring(TEMPLATE_DIRECTORY.length()) : path;
+    }
+
     private Collection<VirtualFile> findViewVfs(CompletionParameters parameters, CompletionResultSet result)
     {
         Collection<VirtualFile> viewVfs = new ArrayList<>();
 
-        Pattern pattern = Pattern.compile(RegExUtil.Magento.MODULE_NAME);
-        Matcher matcher = pattern.matcher(result.getPrefixMatcher().getPrefix());
+        Matcher matcher = MODULE_NAME_PATTERN.matcher(result.getPrefixMatcher().getPrefix());
 
         if (matcher.find()) {
             viewVfs.addAll(
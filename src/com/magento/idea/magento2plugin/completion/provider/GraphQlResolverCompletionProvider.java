@@ -0,0 +1,79 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.completion.provider;
+
+import com.intellij.codeInsight.completion.CompletionParameters;
+import com.intellij.codeInsight.completion.CompletionProvider;
+import com.intellij.codeInsight.completion.CompletionResultSet;
+import com.intellij.codeInsight.completion.PrioritizedLookupElement;
+import com.intellij.codeInsight.lookup.LookupElementBuilder;
+import com.intellij.lang.jsgraphql.psi.GraphQLArgument;
+import com.intellij.lang.jsgraphql.psi.GraphQLDirective;
+import com.intellij.lang.jsgraphql.psi.GraphQLStringValue;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.ProcessingContext;
+import com.magento.idea.magento2plugin.indexes.PhpClassContract;
+import com.magento.idea.magento2plugin.indexes.PhpClassNameTrie;
+import com.magento.idea.magento2plugin.util.magento.graphql.GraphQlUtil;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Completion of the resolver classes in @resolver(class: "...") of the GraphQL schema files.
+ *
+ * The backslashes of the class names are escaped in the GraphQL strings, the typed text is unescaped for the lookup
+ * and the lookup strings are escaped back.
+ */
+public class GraphQlResolverCompletionProvider extends CompletionProvider<CompletionParameters> {
+    private static final String RESOLVER_DIRECTIVE = "@resolver";
+
+    @Override
+    protected void addCompletions(@NotNull CompletionParameters parameters,
+                                  ProcessingContext context,
+                                  @NotNull CompletionResultSet result) {
+        PsiElement position = parameters.getPosition();
+        GraphQLArgument argument = PsiTreeUtil.getParentOfType(position, GraphQLArgument.class);
+        if (argument == null) {
+            return;
+        }
+        GraphQLDirective directive = PsiTreeUtil.getParentOfType(argument, GraphQLDirective.class);
+        if (directive == null || !directive.getText().startsWith(RESOLVER_DIRECTIVE)) {
+            return;
+        }
+        GraphQLStringValue stringValue = GraphQlUtil.fetchResolverQuotedStringFromArgument(argument);
+        if (stringValue == null) {
+            return;
+        }
+
+        // the string value starts with the opening quote
+        int valueStart = stringValue.getTextRange().getStartOffset() + 1;
+        int caretInValue = parameters.getOffset() - valueStart;
+        if (caretInValue < 0 || caretInValue >= stringValue.getTextLength()) {
+            return;
+        }
+        String typedText = stringValue.getText().substring(1, caretInValue + 1);
+        String prefix = typedText.replace("\\\\", "\\");
+
+        PhpClassNameTrie.Matches matches = PhpClassCompletionProvider
+                .getTrie(position.getProject(), PhpClassContract.GRAPHQL_RESOLVER)
+                .find(prefix, PhpClassCompletionProvider.RESULT_LIMIT);
+        if (matches.isIncomplete()) {
+            result.restartCompletionOnAnyPrefixChange();
+        }
+
+        CompletionResultSet resolverResult = result.withPrefixMatcher(typedText);
+        for (PhpClassNameTrie.Candidate candidate : matches.getCandidates()) {
+            resolverResult.addElement(
+                    PrioritizedLookupElement.withPriority(
+                            LookupElementBuilder
+                                    .create(candidate.getFqn().replace("\\", "\\\\"))
+                                    .withPresentableText(candidate.getFqn())
+                                    .withIcon(PhpClassCompletionProvider.getIcon(candidate.getKind())),
+                            -candidate.getDepth()
+                    )
+            );
+        }
+    }
+}
@@ -11,13 +11,17 @@ import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.lang.javascript.JavaScriptFileType;
 import com.intellij.psi.PsiElement;
 import com.intellij.util.ProcessingContext;
-import com.intellij.util.indexing.FileBasedIndex;
-import com.magento.idea.magento2plugin.stubs.indexes.js.RequireJsIndex;
+import com.magento.idea.magento2plugin.indexes.RequireJsResolver;
 import org.jetbrains.annotations.NotNull;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class RequireJsMappingCompletionProvider extends CompletionProvider<CompletionParameters> {
 
+    private static final Pattern MODULE_PREFIX_PATTERN = Pattern.compile("^([A-Z][a-zA-Z0-9]+_[A-Z][a-zA-Z0-9]+)/");
+
     @Override
     protected void addCompletions(@NotNull CompletionParameters parameters,
                                   ProcessingContext context,
@@ -28,12 +32,18 @@ public class RequireJsMappingCompletionProvider extends CompletionProvider<Compl
         }
         String prefix = result.getPrefixMatcher().getPrefix();
 
-        Collection<String> requireJsKeys
-                = FileBasedIndex.getInstance().getAllKeys(RequireJsIndex.KEY, position.getProject());
+        RequireJsResolver resolver = RequireJsResolver.getInstance(position.getProject());
+        Collection<String> requireJsKeys = new LinkedHashSet<>(resolver.getAliases(null));
+        Matcher matcher = MODULE_PREFIX_PATTERN.matcher(prefix);
+        if (matcher.find()) {
+            requireJsKeys.addAll(resolver.getModuleIds(matcher.group(1), null));
+        }
 
-        requireJsKeys.removeIf(m -> !m.startsWith(prefix));
         JavaScriptFileType jsFileType = new JavaScriptFileType();
         for (String requireJsKey : requireJsKeys) {
+            if (!requireJsKey.startsWith(prefix)) {
+                continue;
+            }
             result.addElement(
                     LookupElementBuilder
                             .create(requireJsKey)
@@ -13,6 +13,7 @@ import com.intellij.psi.PsiElement;
 import com.intellij.util.ProcessingContext;
 import com.jetbrains.php.PhpIcons;
 import com.magento.idea.magento2plugin.indexes.DiIndex;
+import com.magento.idea.magento2plugin.indexes.VirtualTypeGraph;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
@@ -31,6 +32,7 @@ public class VirtualTypeCompletionProvider extends CompletionProvider<Completion
         String prefix = result.getPrefixMatcher().getPrefix();
 
         DiIndex index = DiIndex.getInstance(position.getProject());
+        VirtualTypeGraph virtualTypeGraph = VirtualTypeGraph.getInstance(position.getProject());
         Collection<String> elements = index.getAllVirtualTypeElementNames(new PlainPrefixMatcher(prefix), position.getResolveScope());
 
         for (String elementName:elements) {
@@ -38,6 +40,7 @@ public class VirtualTypeCompletionProvider extends CompletionProvider<Completion
                     LookupElementBuilder
                             .create(elementName)
                             .withIcon(PhpIcons.CLASS_ICON)
+                            .withTypeText(virtualTypeGraph.getTopType(elementName))
             );
         }
     }
@@ -10,6 +10,7 @@ import com.intellij.patterns.XmlPatterns;
 import com.intellij.psi.xml.XmlTokenType;
 import com.magento.idea.magento2plugin.completion.provider.*;
 import com.magento.idea.magento2plugin.completion.provider.mftf.*;
+import com.magento.idea.magento2plugin.indexes.PhpClassContract;
 import com.magento.idea.magento2plugin.magento.files.*;
 import static com.intellij.patterns.PlatformPatterns.psiElement;
 import static com.intellij.patterns.StandardPatterns.string;
@@ -109,7 +110,7 @@ public class XmlCompletionContributor extends CompletionContributor {
                     .withParent(XmlPatterns.xmlTag().withName(ModuleEventsXml.EVENT_TAG))
                 )
             ).inFile(xmlFile().withName(string().matches(ModuleEventsXml.FILE_NAME))),
-            new PhpClassCompletionProvider()
+            new PhpClassCompletionProvider(PhpClassContract.OBSERVER)
         );
 
         // <source_model>php class completion</source_model> in system.xml files.
@@ -117,14 +118,14 @@ public class XmlCompletionContributor extends CompletionContributor {
             .inside(XmlPatterns.xmlTag().withName(ModuleSystemXml.XML_TAG_SOURCE_MODEL)
                 .withParent(XmlPatterns.xmlTag().withName(ModuleSystemXml.FIELD_ELEMENT_NAME))
             ).inFile(xmlFile().withName(string().matches(ModuleSystemXml.FILE_NAME))),
-            new PhpClassCompletionProvider()
+            new PhpClassCompletionProvider(PhpClassContract.OPTION_SOURCE)
         );
 
         // <frontend_model>completion</frontend_model>
         extend(CompletionType.BASIC,
                 psiElement(XmlTokenType.XML_DATA_CHARACTERS)
                         .inside(XmlPatterns.xmlTag().withName(ModuleSystemXml.XML_TAG_FRONTEND_MODEL)),
-                new PhpClassCompletionProvider()
+                new PhpClassCompletionProvider(PhpClassContract.FORM_ELEMENT_RENDERER)
         );
 
         // <backend_model>completion</backend_model> in system.xml
@@ -132,14 +133,14 @@ public class XmlCompletionContributor extends CompletionContributor {
             .inside(XmlPatterns.xmlTag().withName(ModuleSystemXml.XML_TAG_BACKEND_MODEL)
                     .withParent(XmlPatterns.xmlTag().withName(ModuleSystemXml.FIELD_ELEMENT_NAME))
             ).inFile(xmlFile().withName(string().matches(ModuleSystemXml.FILE_NAME))),
-            new PhpClassCompletionProvider()
+            new PhpClassCompletionProvider(PhpClassContract.CONFIG_VALUE)
         );
 
         // <randomTag backend_model="completion"> in config.xml
         extend(CompletionType.BASIC, psiElement(XmlTokenType.XML_ATTRIBUTE_VALUE_TOKEN)
             .inside(XmlPatterns.xmlAttribute().withName(ModuleConfigXml.XML_ATTRIBUTE_BACKEND_MODEL))
             .inFile(xmlFile().withName(string().matches(ModuleConfigXml.FILE_NAME))),
-            new PhpClassCompletionProvider()
+            new PhpClassCompletionProvider(PhpClassContract.CONFIG_VALUE)
         );
 
         // <parameter source_model="completion">...</parameter> in widget.xml files.
@@ -148,7 +149,7 @@ public class XmlCompletionContributor extends CompletionContributor {
                 .withParent(XmlPatterns.xmlTag().withName(ModuleWidgetXml.TAG_PARAMETER_NAME).
                     withParent(XmlPatterns.xmlTag().withName(ModuleWidgetXml.TAG_PARAMETERS_NAME)))
             ).inFile(xmlFile().withName(string().matches(ModuleWidgetXml.FILE_NAME))),
-                new PhpClassCompletionProvider()
+                new PhpClassCompletionProvider(PhpClassContract.OPTION_SOURCE)
         );
 
         // <service method="methodName"/>
@@ -23,7 +23,6 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public class DiIndex {
 
@@ -113,27 +112,21 @@ public class DiIndex {
     }
 
     public Collection<String> getAllVirtualTypeElementNames(PrefixMatcher prefixMatcher, final GlobalSearchScope scope) {
-        Collection<String> keys =
-                FileBasedIndex.getInstance().getAllKeys(VirtualTypeIndex.KEY, project);
+        Collection<String> keys = new ArrayList<>();
+        for (String name: VirtualTypeGraph.getInstance(project).getVirtualTypeNames()) {
+            if (prefixMatcher.prefixMatches(name)) {
+                keys.add(name);
+            }
+        }
 
-        keys.removeIf(k -> !prefixMatcher.prefixMatches(k));
         return keys;
     }
 
+    /**
+     * Type of the topmost parent of the virtual type, the name itself if it is not a virtual type.
+     */
     @NotNull
-    private String getTopTypeOfVirtualType(@NotNull String name) {
-        List<String> values;
-        int parentNestingLevel = 0;
-        int maxNestingLevel = 5;
-
-        do {
-            values = FileBasedIndex.getInstance()
-                    .getValues(VirtualTypeIndex.KEY, name, GlobalSearchScope.allScope(project));
-            if (values.size() > 0 && values.get(0) != null) {
-                name = values.get(0);
-            }
-        } while (values.size() > 0 || maxNestingLevel > parentNestingLevel++);
-
-        return name;
+    public String getTopTypeOfVirtualType(@NotNull String name) {
+        return VirtualTypeGraph.getInstance(project).getTopType(name);
     }
 }
@@ -8,8 +8,8 @@ import com.intellij.util.indexing.FileBasedIndexImpl;
 import com.intellij.util.indexing.ID;
 import com.magento.idea.magento2plugin.stubs.indexes.*;
 import com.magento.idea.magento2plugin.stubs.indexes.PluginIndex;
-import com.magento.idea.magento2plugin.stubs.indexes.js.MagentoLibJsIndex;
 import com.magento.idea.magento2plugin.stubs.indexes.js.RequireJsIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.js.RequireJsModuleIndex;
 import com.magento.idea.magento2plugin.stubs.indexes.graphql.GraphQlResolverIndex;
 import com.magento.idea.magento2plugin.stubs.indexes.mftf.*;
 import com.magento.idea.magento2plugin.stubs.indexes.xml.PhpClassNameIndex;
@@ -21,20 +21,25 @@ public class IndexManager {
             ModulePackageIndex.KEY,
             // xml|di configuration
             PluginIndex.KEY,
+            PluginTargetIndex.KEY,
+            PluginNameIndex.KEY,
             VirtualTypeIndex.KEY,
             // layouts
             BlockNameIndex.KEY,
             ContainerNameIndex.KEY,
+            LayoutHandleIndex.KEY,
             // events
             EventNameIndex.KEY,
             EventObserverIndex.KEY,
+            ObserverNameIndex.KEY,
             // webapi
             WebApiTypeIndex.KEY,
             ModuleNameIndex.KEY,
+            ModuleViewFileIndex.KEY,
             PhpClassNameIndex.KEY,
             //require_js
             RequireJsIndex.KEY,
-            MagentoLibJsIndex.KEY,
+            RequireJsModuleIndex.KEY,
             // mftf
             ActionGroupIndex.KEY,
             DataIndex.KEY,
@@ -0,0 +1,29 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.indexes;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.ID;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Modification tracker which changes every time the data of the given file based index changes.
+ */
+public class IndexModificationTracker implements ModificationTracker {
+    private final ID<?, ?> indexId;
+    private final Project project;
+
+    public IndexModificationTracker(@NotNull ID<?, ?> indexId, @NotNull Project project) {
+        this.indexId = indexId;
+        this.project = project;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return FileBasedIndex.getInstance().getIndexModificationStamp(indexId, project);
+    }
+}
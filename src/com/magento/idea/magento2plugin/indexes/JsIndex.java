@@ -4,22 +4,17 @@
  */
 package com.magento.idea.magento2plugin.indexes;
 
-import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiManager;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.util.indexing.FileBasedIndex;
+import com.magento.idea.magento2plugin.magento.packages.Package;
 import com.magento.idea.magento2plugin.reference.xml.PolyVariantReferenceBase;
-import com.magento.idea.magento2plugin.stubs.indexes.js.RequireJsIndex;
-import com.magento.idea.magento2plugin.reference.provider.util.GetAllSubFilesOfVirtualFileUtil;
-import com.magento.idea.magento2plugin.reference.provider.util.GetFilePathUtil;
 import com.magento.idea.magento2plugin.reference.provider.util.GetModuleNameUtil;
-import com.magento.idea.magento2plugin.reference.provider.util.GetModuleSourceFilesUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 
 public class JsIndex {
@@ -42,23 +37,23 @@ public class JsIndex {
                 .replace("'", "")
                 .replace("\"", "");
 
-        Collection<String> values =
-                FileBasedIndex.getInstance().getValues(RequireJsIndex.KEY, jsKey, scope);
-        PsiManager psiManager = PsiManager.getInstance(element.getProject());
+        String area = getArea(element);
+        RequireJsResolver resolver = RequireJsResolver.getInstance(element.getProject());
+        String moduleName = GetModuleNameUtil.getInstance().execute(jsKey);
+        if (moduleName != null && jsKey.startsWith(moduleName) && !resolver.isAlias(jsKey, area)) {
+            // module files are referenced by the file path references
+            return PsiReference.EMPTY_ARRAY;
+        }
 
+        PsiManager psiManager = PsiManager.getInstance(element.getProject());
         List<PsiElement> targets = new ArrayList<>();
-        if (values.isEmpty()) {
-            Collection<VirtualFile> files = LibJsIndex.getInstance().getLibJsFiles(jsKey, element.getProject());
-            convertVirtualFilesToPsiElements(psiManager, targets, jsKey, files);
-        } else {
-            for (String value : values) {
-                String filePath = GetFilePathUtil.getInstance().execute(value);
-                if (null == filePath) {
-                    continue;
-                }
-                Collection<VirtualFile> files = getJsFilesByPath(value, element.getProject());
-
-                convertVirtualFilesToPsiElements(psiManager, targets, filePath, files);
+        for (VirtualFile file : resolver.resolve(jsKey, area)) {
+            if (!scope.contains(file)) {
+                continue;
+            }
+            PsiElement psiElement = psiManager.findFile(file);
+            if (null != psiElement) {
+                targets.add(psiElement);
             }
         }
 
@@ -71,48 +66,17 @@ public class JsIndex {
         };
     }
 
-    private void convertVirtualFilesToPsiElements(PsiManager psiManager, List<PsiElement> targets, String filePath, Collection<VirtualFile> files) {
-        for (VirtualFile file : files) {
-            String fileUrl = file.getUrl();
-            if (!fileUrl.contains(filePath)) {
-                return;
-            }
-
-            PsiElement psiElement = psiManager.findFile(file);
-            if (null != psiElement) {
-                targets.add(psiElement);
-            }
+    /**
+     * Area of the file the element is in, null when the file is not in an area, like lib/web files.
+     */
+    @Nullable
+    private String getArea(@NotNull PsiElement element) {
+        VirtualFile file = element.getContainingFile().getOriginalFile().getVirtualFile();
+        if (file == null) {
+            return null;
         }
-    }
-
-    private Collection<VirtualFile> getJsFilesByPath(@NotNull String filePath, @NotNull Project project)
-    {
-        Collection<VirtualFile> virtualFiles = new ArrayList<>();
-        Collection<VirtualFile> files = new ArrayList<>();
+        String area = Package.getAreaNameByViewFilePath(file.getPath());
 
-        String fileName = filePath.substring(filePath.lastIndexOf("/") + 1).concat(".js").replace("'", "");
-        String moduleName = GetModuleNameUtil.getInstance().execute(filePath);
-        if (moduleName == null) {
-            virtualFiles.addAll(LibJsIndex.getInstance().getLibJsFiles(filePath, project));
-        } else {
-            virtualFiles.addAll(GetModuleSourceFilesUtil.getInstance().execute(filePath, project));
-        }
-        if (!virtualFiles.isEmpty()) {
-            for (VirtualFile virtualFile : virtualFiles) {
-                Collection<VirtualFile> vfChildren = GetAllSubFilesOfVirtualFileUtil.
-                        getInstance().execute(virtualFile);
-                if (null != vfChildren) {
-                    vfChildren.removeIf(file -> {
-                        if (!file.isDirectory()) {
-                            String name = file.getName();
-                            return !name.equals(fileName);
-                        }
-                        return true;
-                    });
-                    files.addAll(vfChildren);
-                }
-            }
-        }
-        return files;
+        return area.isEmpty() ? null : area;
     }
 }
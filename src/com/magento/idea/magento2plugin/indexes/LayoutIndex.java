@@ -4,59 +4,95 @@
  */
 package com.magento.idea.magento2plugin.indexes;
 
-import com.intellij.ide.highlighter.XmlFileType;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
-import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.XmlFile;
 import com.intellij.psi.xml.XmlTag;
 import com.intellij.util.indexing.FileBasedIndex;
 import com.intellij.util.indexing.ID;
+import com.magento.idea.magento2plugin.magento.files.MagentoFileKind;
 import com.magento.idea.magento2plugin.stubs.indexes.BlockNameIndex;
 import com.magento.idea.magento2plugin.stubs.indexes.ContainerNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.LayoutHandleIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.data.LayoutElementData;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Created by dkvashnin on 11/20/15.
  */
 public class LayoutIndex {
-    private static List<XmlTag> getComponentDeclarations(String componentValue, String componentType, ID<String, Void> id, Project project, ComponentMatcher componentMatcher) {
-        List<XmlTag> results = new ArrayList<XmlTag>();
-        Collection<VirtualFile> containingFiles = FileBasedIndex.getInstance()
-            .getContainingFiles(
+    public static final String BLOCK_TAG = "block";
+    public static final String CONTAINER_TAG = "container";
+    private static final String NAME_ATTRIBUTE = "name";
+
+    /**
+     * Declarations of the component grouped by the layout file, read from the index only.
+     */
+    private static Map<VirtualFile, LayoutElementData> getComponentDeclarationData(
+            String componentName,
+            ID<String, LayoutElementData> id,
+            Project project
+    ) {
+        Map<VirtualFile, LayoutElementData> result = new HashMap<>();
+        FileBasedIndex.getInstance().processValues(
                 id,
-                componentValue,
+                componentName,
+                null,
+                (virtualFile, data) -> {
+                    result.put(virtualFile, data);
+                    return true;
+                },
                 GlobalSearchScope.allScope(project)
-            );
+        );
+
+        return result;
+    }
+
+    /**
+     * Tags of the component declarations, found by the offsets stored in the index. Tags which don't declare
+     * the component anymore are skipped.
+     */
+    public static List<XmlTag> resolveComponentDeclarations(
+            String componentName,
+            String componentType,
+            Map<VirtualFile, LayoutElementData> declarations,
+            Project project
+    ) {
+        List<XmlTag> results = new ArrayList<>();
         PsiManager psiManager = PsiManager.getInstance(project);
 
-        for (VirtualFile virtualFile: containingFiles) {
-            XmlFile xmlFile = (XmlFile)psiManager.findFile(virtualFile);
-            if (xmlFile == null) {
+        for (Map.Entry<VirtualFile, LayoutElementData> fileDeclarations: declarations.entrySet()) {
+            PsiFile psiFile = psiManager.findFile(fileDeclarations.getKey());
+            if (!(psiFile instanceof XmlFile)) {
                 continue;
             }
 
-            XmlTag rootTag = xmlFile.getRootTag();
-            if (rootTag == null) {
-                continue;
+            for (int offset: fileDeclarations.getValue().getOffsets()) {
+                XmlTag xmlTag = PsiTreeUtil.getParentOfType(psiFile.findElementAt(offset), XmlTag.class, false);
+                if (xmlTag != null && componentType.equals(xmlTag.getName())
+                        && componentName.equals(xmlTag.getAttributeValue(NAME_ATTRIBUTE))) {
+                    results.add(xmlTag);
+                }
             }
-            collectComponentDeclarations(rootTag, results, componentValue, componentType, componentMatcher);
         }
 
         return results;
     }
 
     public static boolean isLayoutFile(VirtualFile virtualFile) {
-        VirtualFile parent = virtualFile.getParent();
-        return virtualFile.getFileType() == XmlFileType.INSTANCE && parent.isDirectory()
-                && parent.getName().endsWith("layout");
+        MagentoFileKind kind = MagentoFileKind.of(virtualFile);
+        return kind == MagentoFileKind.LAYOUT || kind == MagentoFileKind.PAGE_LAYOUT;
     }
 
     public static boolean isLayoutFile(PsiFile psiFile) {
@@ -64,19 +100,22 @@ public class LayoutIndex {
         return isLayoutFile(virtualFile);
     }
 
+    /**
+     * Layout files declaring the handle, all layout files of the project if the handle is null.
+     */
     public static List<XmlFile> getLayoutFiles(Project project, @Nullable String fileName) {
         List<XmlFile> results = new ArrayList<XmlFile>();
-        Collection<VirtualFile> xmlFiles = FilenameIndex.getAllFilesByExt(project, "xml");
+        Collection<String> handles = fileName == null
+                ? getLayoutHandles(project)
+                : Collections.singletonList(fileName);
 
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
         PsiManager psiManager = PsiManager.getInstance(project);
-        for (VirtualFile xmlFile: xmlFiles) {
-            if (isLayoutFile(xmlFile)) {
-                if (fileName != null && !xmlFile.getNameWithoutExtension().equals(fileName)) {
-                    continue;
-                }
-
+        for (String handle: handles) {
+            for (VirtualFile xmlFile: index.getContainingFiles(LayoutHandleIndex.KEY, handle, scope)) {
                 PsiFile file = psiManager.findFile(xmlFile);
-                if (file != null) {
+                if (file instanceof XmlFile) {
                     results.add((XmlFile)file);
                 }
             }
@@ -85,40 +124,44 @@ public class LayoutIndex {
         return results;
     }
 
+    /**
+     * Layout handles declared by the layout files of the project, read from the index only.
+     */
+    public static Collection<String> getLayoutHandles(Project project) {
+        return getAllKeys(LayoutHandleIndex.KEY, project);
+    }
+
     public static List<XmlFile> getLayoutFiles(Project project) {
         return getLayoutFiles(project, null);
     }
 
-    public static Collection<String> getAllKeys(ID<String, Void> id, Project project) {
+    public static Collection<String> getAllKeys(ID<String, ?> id, Project project) {
         return FileBasedIndex.getInstance().getAllKeys(id, project);
     }
 
-    private static void collectComponentDeclarations(XmlTag parentTag, List<XmlTag> results, String componentName, String componentType, ComponentMatcher componentMatcher) {
-        for (XmlTag childTag: parentTag.getSubTags()) {
-            if (componentType.equals(childTag.getName()) && componentMatcher.matches(componentName, childTag)) {
-                results.add(childTag);
-            } else if(childTag.getSubTags().length > 0 ) {
-                collectComponentDeclarations(childTag, results, componentName, componentType, componentMatcher);
-            }
-        }
+    public static Map<VirtualFile, LayoutElementData> getBlockDeclarationData(String componentName, Project project) {
+        return getComponentDeclarationData(componentName, BlockNameIndex.KEY, project);
     }
 
-    public static List<XmlTag> getBlockDeclarations(String componentName, Project project) {
-        return getComponentDeclarations(componentName, "block", BlockNameIndex.KEY, project, new NameComponentMatcher());
+    public static Map<VirtualFile, LayoutElementData> getContainerDeclarationData(String componentName, Project project) {
+        return getComponentDeclarationData(componentName, ContainerNameIndex.KEY, project);
     }
 
-    public static List<XmlTag> getContainerDeclarations(String componentName, Project project) {
-        return getComponentDeclarations(componentName, "container", ContainerNameIndex.KEY, project, new NameComponentMatcher());
-    }
-
-    private interface ComponentMatcher {
-        boolean matches(String value, XmlTag tag);
+    public static List<XmlTag> getBlockDeclarations(String componentName, Project project) {
+        return resolveComponentDeclarations(
+                componentName,
+                BLOCK_TAG,
+                getBlockDeclarationData(componentName, project),
+                project
+        );
     }
 
-    private static class NameComponentMatcher implements ComponentMatcher {
-        @Override
-        public boolean matches(String value, XmlTag tag) {
-            return value.equals(tag.getAttributeValue("name"));
-        }
+    public static List<XmlTag> getContainerDeclarations(String componentName, Project project) {
+        return resolveComponentDeclarations(
+                componentName,
+                CONTAINER_TAG,
+                getContainerDeclarationData(componentName, project),
+                project
+        );
     }
 }
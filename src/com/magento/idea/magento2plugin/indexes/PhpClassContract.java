@@ -0,0 +1,61 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.indexes;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.util.CachedValue;
+import com.magento.idea.magento2plugin.magento.files.GraphQlResolver;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Interfaces and base classes Magento requires from the classes configured in a slot, like observer instances
+ * or source models. A class fulfills the contract when it implements or extends any of the types.
+ */
+public enum PhpClassContract {
+    OBSERVER(
+            "\\Magento\\Framework\\Event\\ObserverInterface"
+    ),
+    OPTION_SOURCE(
+            "\\Magento\\Framework\\Data\\OptionSourceInterface",
+            "\\Magento\\Framework\\Option\\ArrayInterface"
+    ),
+    CONFIG_VALUE(
+            "\\Magento\\Framework\\App\\Config\\ValueInterface",
+            "\\Magento\\Framework\\App\\Config\\Value"
+    ),
+    FORM_ELEMENT_RENDERER(
+            "\\Magento\\Framework\\Data\\Form\\Element\\Renderer\\RendererInterface"
+    ),
+    GRAPHQL_RESOLVER(
+            GraphQlResolver.RESOLVER_INTERFACE,
+            GraphQlResolver.BATCH_RESOLVER_INTERFACE,
+            GraphQlResolver.BATCH_SERVICE_CONTRACT_RESOLVER_INTERFACE
+    );
+
+    private final List<String> types;
+    private final Key<CachedValue<PhpClassNameTrie>> cacheKey;
+
+    PhpClassContract(@NotNull String... types) {
+        this.types = Collections.unmodifiableList(Arrays.asList(types));
+        this.cacheKey = Key.create("magento2plugin.phpClassContract." + name());
+    }
+
+    /**
+     * FQNs of the interfaces and classes, with the leading slash.
+     */
+    @NotNull
+    public List<String> getTypes() {
+        return types;
+    }
+
+    @NotNull
+    Key<CachedValue<PhpClassNameTrie>> getCacheKey() {
+        return cacheKey;
+    }
+}
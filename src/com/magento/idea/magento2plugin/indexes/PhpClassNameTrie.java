@@ -0,0 +1,281 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.indexes;
+
+import com.intellij.codeInsight.completion.impl.CamelHumpMatcher;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.stubs.StubUpdatingIndex;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.PhpLangUtil;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class and interface names of the project in a trie of namespace segments, for the FQN completion in XML files.
+ *
+ * The trie is built from the FQN keys of the PhpIndex, no PSI is loaded, and cached until the stubs of the project
+ * change. Edits inside method bodies don't change stubs, so typing in PHP code keeps the trie.
+ * A lookup walks down to the typed namespace and matches the short names of its subtree only, the closest
+ * classes to the namespace come first.
+ *
+ * Tries of a PhpClassContract hold only the classes the contract allows, taken from the inheritance index, so slots
+ * like observer instances offer a few hundred classes instead of every class of the installation.
+ */
+public class PhpClassNameTrie {
+    private static final Key<CachedValue<PhpClassNameTrie>> CACHE_KEY = Key.create("magento2plugin.phpClassNameTrie");
+    private static final String SEPARATOR = "\\";
+
+    private final Node root = new Node("");
+    private int classesCount;
+
+    private PhpClassNameTrie() {
+    }
+
+    @NotNull
+    public static PhpClassNameTrie getInstance(@NotNull Project project) {
+        return CachedValuesManager.getManager(project).getCachedValue(
+                project,
+                CACHE_KEY,
+                () -> CachedValueProvider.Result.create(
+                        build(project),
+                        new IndexModificationTracker(StubUpdatingIndex.INDEX_ID, project)
+                ),
+                false
+        );
+    }
+
+    /**
+     * Classes fulfilling the contract, abstract classes and interfaces left out. The trie is empty when none of the
+     * contract types is known in the project.
+     *
+     * The subclasses come from the inheritance stub index and are stub based PhpClass elements, no file is parsed.
+     * Walking the hierarchy again on a stub change is cheaper than keeping the tries in sync by hand.
+     */
+    @NotNull
+    public static PhpClassNameTrie getInstance(@NotNull Project project, @NotNull PhpClassContract contract) {
+        return CachedValuesManager.getManager(project).getCachedValue(
+                project,
+                contract.getCacheKey(),
+                () -> CachedValueProvider.Result.create(
+                        build(project, contract),
+                        new IndexModificationTracker(StubUpdatingIndex.INDEX_ID, project)
+                ),
+                false
+        );
+    }
+
+    @NotNull
+    private static PhpClassNameTrie build(@NotNull Project project) {
+        PhpIndex phpIndex = PhpIndex.getInstance(project);
+        PhpClassNameTrie trie = new PhpClassNameTrie();
+
+        for (String fqn: phpIndex.getAllClassFqns(null)) {
+            trie.add(fqn, Kind.CLASS);
+        }
+        for (String fqn: phpIndex.getAllInterfacesFqns(null)) {
+            trie.add(fqn, Kind.INTERFACE);
+        }
+
+        return trie;
+    }
+
+    @NotNull
+    private static PhpClassNameTrie build(@NotNull Project project, @NotNull PhpClassContract contract) {
+        PhpIndex phpIndex = PhpIndex.getInstance(project);
+        PhpClassNameTrie trie = new PhpClassNameTrie();
+
+        for (String type: contract.getTypes()) {
+            for (PhpClass phpClass: phpIndex.getAllSubclasses(type)) {
+                if (!phpClass.isInterface() && !phpClass.isAbstract() && !phpClass.isTrait()) {
+                    trie.add(phpClass.getFQN(), Kind.CLASS);
+                }
+            }
+        }
+
+        return trie;
+    }
+
+    private void add(@NotNull String fqn, @NotNull Kind kind) {
+        String presentableFqn = PhpLangUtil.toPresentableFQN(fqn);
+        if (presentableFqn.isEmpty()) {
+            return;
+        }
+
+        Node node = root;
+        String[] segments = presentableFqn.split("\\\\");
+        for (int i = 0; i < segments.length - 1; i++) {
+            String namespace = node.fqn.isEmpty() ? segments[i] : node.fqn + SEPARATOR + segments[i];
+            node = node.children.computeIfAbsent(segments[i].toLowerCase(), k -> new Node(namespace));
+        }
+
+        String name = segments[segments.length - 1];
+        if (node.classes.putIfAbsent(name.toLowerCase(), new Candidate(presentableFqn, name, kind, 0)) == null) {
+            classesCount++;
+        }
+    }
+
+    /**
+     * Number of the classes and interfaces in the trie.
+     */
+    public int getClassesCount() {
+        return classesCount;
+    }
+
+    /**
+     * Classes, interfaces and namespaces for the typed FQN prefix, at most the limit of them.
+     *
+     * With a namespace and a trailing slash, like Magento\Catalog\, the members of the namespace are listed. Otherwise
+     * the last segment is matched by camel humps against the short names in the namespace and below it, and against
+     * the names of the child namespaces.
+     */
+    @NotNull
+    public Matches find(@NotNull String prefix, int limit) {
+        String typedFqn = prefix.startsWith(SEPARATOR) ? prefix.substring(1) : prefix;
+        int separatorIndex = typedFqn.lastIndexOf(SEPARATOR);
+        String namespace = separatorIndex < 0 ? "" : typedFqn.substring(0, separatorIndex);
+        String name = typedFqn.substring(separatorIndex + 1);
+
+        Node node = root;
+        if (!namespace.isEmpty()) {
+            for (String segment: namespace.split("\\\\")) {
+                node = node.children.get(segment.toLowerCase());
+                if (node == null) {
+                    return new Matches(Collections.emptyList(), false);
+                }
+            }
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        if (name.isEmpty()) {
+            candidates.addAll(node.classes.values());
+            for (Node child: node.children.values()) {
+                candidates.add(new Candidate(child.fqn, child.getName(), Kind.NAMESPACE, 0));
+            }
+        } else {
+            CamelHumpMatcher matcher = new CamelHumpMatcher(name, false);
+            for (Node child: node.children.values()) {
+                if (matcher.prefixMatches(child.getName())) {
+                    candidates.add(new Candidate(child.fqn, child.getName(), Kind.NAMESPACE, 0));
+                }
+            }
+            collect(node, matcher, 0, candidates);
+        }
+
+        candidates.sort(
+                Comparator.comparingInt((Candidate candidate) -> candidate.depth)
+                        .thenComparingInt(candidate -> candidate.fqn.length())
+                        .thenComparing(candidate -> candidate.fqn)
+        );
+        if (candidates.size() > limit) {
+            return new Matches(new ArrayList<>(candidates.subList(0, limit)), true);
+        }
+
+        return new Matches(candidates, false);
+    }
+
+    private static void collect(
+            @NotNull Node node,
+            @NotNull CamelHumpMatcher matcher,
+            int depth,
+            @NotNull List<Candidate> candidates
+    ) {
+        for (Candidate candidate: node.classes.values()) {
+            if (matcher.prefixMatches(candidate.name)) {
+                candidates.add(depth == 0 ? candidate : new Candidate(candidate.fqn, candidate.name, candidate.kind, depth));
+            }
+        }
+        for (Node child: node.children.values()) {
+            collect(child, matcher, depth + 1, candidates);
+        }
+    }
+
+    public enum Kind {
+        CLASS,
+        INTERFACE,
+        NAMESPACE
+    }
+
+    private static class Node {
+        private final String fqn;
+        private final Map<String, Node> children = new HashMap<>();
+        private final Map<String, Candidate> classes = new HashMap<>();
+
+        Node(@NotNull String fqn) {
+            this.fqn = fqn;
+        }
+
+        @NotNull
+        String getName() {
+            return fqn.substring(fqn.lastIndexOf(SEPARATOR) + 1);
+        }
+    }
+
+    /**
+     * Class, interface or namespace found for a prefix, with the number of namespaces between it and the typed one.
+     */
+    public static class Candidate {
+        private final String fqn;
+        private final String name;
+        private final Kind kind;
+        private final int depth;
+
+        Candidate(@NotNull String fqn, @NotNull String name, @NotNull Kind kind, int depth) {
+            this.fqn = fqn;
+            this.name = name;
+            this.kind = kind;
+            this.depth = depth;
+        }
+
+        /**
+         * FQN without the leading slash, the way it is written in XML files.
+         */
+        @NotNull
+        public String getFqn() {
+            return fqn;
+        }
+
+        @NotNull
+        public Kind getKind() {
+            return kind;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+    }
+
+    /**
+     * Candidates for a prefix, incomplete when the limit cut some of them off.
+     */
+    public static class Matches {
+        private final List<Candidate> candidates;
+        private final boolean incomplete;
+
+        Matches(@NotNull List<Candidate> candidates, boolean incomplete) {
+            this.candidates = candidates;
+            this.incomplete = incomplete;
+        }
+
+        @NotNull
+        public List<Candidate> getCandidates() {
+            return candidates;
+        }
+
+        public boolean isIncomplete() {
+            return incomplete;
+        }
+    }
+}
@@ -0,0 +1,433 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.indexes;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.magento.idea.magento2plugin.magento.packages.MagentoComponentManager;
+import com.magento.idea.magento2plugin.magento.packages.MagentoModule;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import com.magento.idea.magento2plugin.stubs.indexes.ModuleNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.ModulePackageIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.ModuleViewFileIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.data.ModuleViewFileData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.RequireJsConfigData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.RequireJsModuleData;
+import com.magento.idea.magento2plugin.stubs.indexes.js.RequireJsIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.js.RequireJsModuleIndex;
+import com.magento.idea.magento2plugin.util.magento.FileBasedIndexUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RequireJS configuration of the project merged per area, resolves module ids to the files they load.
+ *
+ * The configuration is read from the RequireJsIndex and cached until the index or the indexed view and lib files
+ * change. The base area configuration is merged into every area, an unknown area merges all of them. The merged
+ * aliases are kept per area, module ids are looked up in the RequireJsModuleIndex on every resolve, so the cache
+ * doesn't grow with the ids resolved in the editor.
+ */
+public class RequireJsResolver {
+    private static final Key<CachedValue<RequireJsResolver>> CACHE_KEY = Key.create("magento2plugin.requireJsResolver");
+    private static final Pattern MODULE_ID_PATTERN
+            = Pattern.compile("^([A-Z][a-zA-Z0-9]+_[A-Z][a-zA-Z0-9]+)/(.+)$");
+    private static final String ALL_AREAS = "";
+    private static final String ANY_CONTEXT = "*";
+    private static final String WEB_DIRECTORY = "web";
+    private static final String JS_EXTENSION = ".js";
+
+    private final Project project;
+    private final List<LoadedConfig> configs;
+    private final Map<String, AreaConfig> areaConfigs = new ConcurrentHashMap<>();
+
+    private RequireJsResolver(@NotNull Project project, @NotNull List<LoadedConfig> configs) {
+        this.project = project;
+        this.configs = configs;
+    }
+
+    @NotNull
+    public static RequireJsResolver getInstance(@NotNull Project project) {
+        return CachedValuesManager.getManager(project).getCachedValue(
+                project,
+                CACHE_KEY,
+                () -> CachedValueProvider.Result.create(
+                        build(project),
+                        new IndexModificationTracker(RequireJsIndex.KEY, project),
+                        new IndexModificationTracker(ModuleNameIndex.KEY, project),
+                        new IndexModificationTracker(ModulePackageIndex.KEY, project),
+                        new IndexModificationTracker(ModuleViewFileIndex.KEY, project),
+                        new IndexModificationTracker(RequireJsModuleIndex.KEY, project)
+                ),
+                false
+        );
+    }
+
+    /**
+     * Configuration files in the order Magento merges them, the ones of the modules by the module load order and the
+     * ones of the themes after them. The base area file of a module comes before its area file and files of the same
+     * rank are ordered by path, so a mixin enabled in one file and disabled in another ends the same way on every
+     * build.
+     */
+    @NotNull
+    private static RequireJsResolver build(@NotNull Project project) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+        MagentoComponentManager componentManager = MagentoComponentManager.getInstance(project);
+
+        Map<MagentoModule, Integer> moduleRanks = new HashMap<>();
+        for (MagentoModule module: componentManager.getModulesInLoadOrder()) {
+            moduleRanks.put(module, moduleRanks.size());
+        }
+        int unknownModuleRank = moduleRanks.size();
+        int themeRank = unknownModuleRank + 1;
+
+        List<LoadedConfig> configs = new ArrayList<>();
+        for (String area: index.getAllKeys(RequireJsIndex.KEY, project)) {
+            index.processValues(RequireJsIndex.KEY, area, null, (file, config) -> {
+                int rank;
+                if (!Package.getThemeNameByViewFilePath(file.getPath()).isEmpty()) {
+                    rank = themeRank;
+                } else {
+                    MagentoModule module = componentManager.getComponentOfTypeForFile(file, MagentoModule.class);
+                    rank = module == null ? unknownModuleRank : moduleRanks.getOrDefault(module, unknownModuleRank);
+                }
+                configs.add(new LoadedConfig(rank, area, file.getPath(), config));
+                return true;
+            }, scope);
+        }
+        configs.sort(Comparator.<LoadedConfig>comparingInt(config -> config.rank)
+                .thenComparing(config -> !config.area.equals(Package.Areas.base.toString()))
+                .thenComparing(config -> config.path));
+
+        return new RequireJsResolver(project, configs);
+    }
+
+    /**
+     * Files loaded for the module id in the area, through the map and paths aliases.
+     *
+     * Ids of the Vendor_Module/path form are looked up in the web directories of the module and the themes, the other
+     * ones in lib/web and the theme web directories. A plugin prefix, like text!, is skipped and the resource is looked
+     * up in the module with its own extension.
+     */
+    @NotNull
+    public Collection<VirtualFile> resolve(@NotNull String moduleId, @Nullable String area) {
+        return getAreaConfig(area).resolve(moduleId);
+    }
+
+    /**
+     * Whether the module id is an alias of the map or the paths configuration.
+     */
+    public boolean isAlias(@NotNull String moduleId, @Nullable String area) {
+        AreaConfig areaConfig = getAreaConfig(area);
+        String resource = getResource(moduleId);
+
+        return !substitute(resource, areaConfig.map).isEmpty()
+                || !substitute(resource, areaConfig.contextMap).isEmpty()
+                || !substitute(resource, areaConfig.paths).isEmpty();
+    }
+
+    /**
+     * Aliases of the map and the paths configuration.
+     */
+    @NotNull
+    public Collection<String> getAliases(@Nullable String area) {
+        AreaConfig areaConfig = getAreaConfig(area);
+        Set<String> aliases = new LinkedHashSet<>(areaConfig.map.keySet());
+        aliases.addAll(areaConfig.contextMap.keySet());
+        aliases.addAll(areaConfig.paths.keySet());
+
+        return aliases;
+    }
+
+    /**
+     * Ids of the JS modules in the web directories of the module, like Magento_Catalog/js/list.
+     */
+    @NotNull
+    public Collection<String> getModuleIds(@NotNull String moduleName, @Nullable String area) {
+        AreaConfig areaConfig = getAreaConfig(area);
+        Set<String> moduleIds = new LinkedHashSet<>();
+        for (VirtualFile viewVf: FileBasedIndexUtil.findViewVfsByModuleName(moduleName, project)) {
+            for (ModuleViewFileData data: ModuleViewFileIndex.getViewFiles(project, viewVf).values()) {
+                String path = data.getPath();
+                if (data.getKind().equals(WEB_DIRECTORY)
+                        && path.endsWith(JS_EXTENSION)
+                        && areaConfig.isInArea(data.getArea())) {
+                    moduleIds.add(moduleName + "/" + path.substring(0, path.length() - JS_EXTENSION.length()));
+                }
+            }
+        }
+
+        return moduleIds;
+    }
+
+    /**
+     * Enabled mixins applied to the module.
+     */
+    @NotNull
+    public Collection<String> getMixins(@NotNull String moduleId, @Nullable String area) {
+        Set<String> mixins = getAreaConfig(area).mixins.get(moduleId);
+
+        return mixins == null ? Collections.emptySet() : Collections.unmodifiableSet(mixins);
+    }
+
+    /**
+     * Dependencies declared for the non-AMD module in the shim configuration.
+     */
+    @NotNull
+    public Collection<String> getShimDependencies(@NotNull String moduleId, @Nullable String area) {
+        Set<String> dependencies = getAreaConfig(area).shim.get(moduleId);
+
+        return dependencies == null ? Collections.emptySet() : Collections.unmodifiableSet(dependencies);
+    }
+
+    @NotNull
+    private AreaConfig getAreaConfig(@Nullable String area) {
+        String areaName = area == null || Package.getAreaByString(area) == null ? ALL_AREAS : area;
+
+        return areaConfigs.computeIfAbsent(areaName, this::createAreaConfig);
+    }
+
+    @NotNull
+    private AreaConfig createAreaConfig(@NotNull String area) {
+        AreaConfig areaConfig = new AreaConfig(area);
+        for (LoadedConfig config: configs) {
+            if (areaConfig.isInArea(config.area)) {
+                areaConfig.add(config.data);
+            }
+        }
+
+        return areaConfig;
+    }
+
+    /**
+     * Targets of the longest alias matching the module id or a path prefix of it, the RequireJS way.
+     */
+    @NotNull
+    private static List<String> substitute(@NotNull String moduleId, @NotNull Map<String, Set<String>> aliases) {
+        String prefix = moduleId;
+        while (true) {
+            Set<String> targets = aliases.get(prefix);
+            if (targets != null) {
+                List<String> moduleIds = new ArrayList<>(targets.size());
+                for (String target: targets) {
+                    moduleIds.add(target + moduleId.substring(prefix.length()));
+                }
+                return moduleIds;
+            }
+            int separatorIndex = prefix.lastIndexOf('/');
+            if (separatorIndex <= 0) {
+                return Collections.emptyList();
+            }
+            prefix = prefix.substring(0, separatorIndex);
+        }
+    }
+
+    @NotNull
+    private static String getResource(@NotNull String moduleId) {
+        return moduleId.substring(moduleId.lastIndexOf('!') + 1);
+    }
+
+    private static class LoadedConfig {
+        private final int rank;
+        private final String area;
+        private final String path;
+        private final RequireJsConfigData data;
+
+        LoadedConfig(int rank, @NotNull String area, @NotNull String path, @NotNull RequireJsConfigData data) {
+            this.rank = rank;
+            this.area = area;
+            this.path = path;
+            this.data = data;
+        }
+    }
+
+    private class AreaConfig {
+        private final String area;
+        // aliases of the * context, the ones of the module contexts apply when the * context has none
+        private final Map<String, Set<String>> map = new LinkedHashMap<>();
+        private final Map<String, Set<String>> contextMap = new LinkedHashMap<>();
+        // alias of the module contexts to its target in each context
+        private final Map<String, Map<String, String>> contextTargets = new HashMap<>();
+        private final Map<String, Set<String>> paths = new LinkedHashMap<>();
+        private final Map<String, Set<String>> mixins = new LinkedHashMap<>();
+        private final Map<String, Set<String>> shim = new LinkedHashMap<>();
+
+        AreaConfig(@NotNull String area) {
+            this.area = area;
+        }
+
+        /**
+         * Merge the configuration loaded after the ones already added, its map and paths entries replace earlier ones.
+         */
+        void add(@NotNull RequireJsConfigData config) {
+            for (Map.Entry<String, Map<String, String>> context: config.getMap().entrySet()) {
+                for (Map.Entry<String, String> alias: context.getValue().entrySet()) {
+                    if (context.getKey().equals(ANY_CONTEXT)) {
+                        map.put(alias.getKey(), Collections.singleton(alias.getValue()));
+                        continue;
+                    }
+                    Map<String, String> targets = contextTargets.computeIfAbsent(
+                            alias.getKey(),
+                            k -> new LinkedHashMap<>()
+                    );
+                    targets.put(context.getKey(), alias.getValue());
+                    contextMap.put(alias.getKey(), new LinkedHashSet<>(targets.values()));
+                }
+            }
+            for (Map.Entry<String, String> path: config.getPaths().entrySet()) {
+                paths.put(path.getKey(), Collections.singleton(path.getValue()));
+            }
+            for (Map.Entry<String, Map<String, Boolean>> target: config.getMixins().entrySet()) {
+                Set<String> targetMixins = mixins.computeIfAbsent(target.getKey(), k -> new LinkedHashSet<>());
+                for (Map.Entry<String, Boolean> mixin: target.getValue().entrySet()) {
+                    if (mixin.getValue()) {
+                        targetMixins.add(mixin.getKey());
+                    } else {
+                        targetMixins.remove(mixin.getKey());
+                    }
+                }
+            }
+            for (Map.Entry<String, List<String>> module: config.getShim().entrySet()) {
+                shim.computeIfAbsent(module.getKey(), k -> new LinkedHashSet<>()).addAll(module.getValue());
+            }
+        }
+
+        @NotNull
+        Collection<VirtualFile> resolve(@NotNull String moduleId) {
+            return findFiles(moduleId);
+        }
+
+        @NotNull
+        private Collection<VirtualFile> findFiles(@NotNull String moduleId) {
+            boolean isPluginResource = moduleId.indexOf('!') >= 0;
+            String resource = getResource(moduleId);
+
+            List<String> mappedIds = substitute(resource, map);
+            if (mappedIds.isEmpty()) {
+                mappedIds = substitute(resource, contextMap);
+            }
+            if (mappedIds.isEmpty()) {
+                mappedIds = Collections.singletonList(resource);
+            }
+
+            Set<VirtualFile> moduleFiles = new LinkedHashSet<>();
+            for (String mappedId: mappedIds) {
+                List<String> pathIds = substitute(mappedId, paths);
+                for (String pathId: pathIds.isEmpty() ? Collections.singletonList(mappedId) : pathIds) {
+                    if (isPluginResource) {
+                        moduleFiles.addAll(findResourceFiles(pathId));
+                    } else {
+                        moduleFiles.addAll(findModuleFiles(
+                                pathId.endsWith(JS_EXTENSION)
+                                        ? pathId.substring(0, pathId.length() - JS_EXTENSION.length())
+                                        : pathId
+                        ));
+                    }
+                }
+            }
+
+            return moduleFiles.isEmpty() ? Collections.emptyList() : new ArrayList<>(moduleFiles);
+        }
+
+        /**
+         * Files of the module id in lib/web, the theme web directories and the web directories of its module.
+         */
+        @NotNull
+        private Collection<VirtualFile> findModuleFiles(@NotNull String moduleId) {
+            Collection<VirtualFile> moduleFiles = new ArrayList<>();
+
+            Matcher matcher = MODULE_ID_PATTERN.matcher(moduleId);
+            String moduleName = matcher.find() ? matcher.group(1) : "";
+            String key = moduleName.isEmpty() ? moduleId : matcher.group(2);
+            Collection<VirtualFile> viewVfs = moduleName.isEmpty()
+                    ? Collections.emptyList()
+                    : FileBasedIndexUtil.findViewVfsByModuleName(moduleName, project);
+
+            for (Map.Entry<VirtualFile, RequireJsModuleData> moduleFile:
+                    RequireJsModuleIndex.getFiles(project, key).entrySet()) {
+                VirtualFile file = moduleFile.getKey();
+                RequireJsModuleData data = moduleFile.getValue();
+                if (data.getSource() == RequireJsModuleData.Source.LIB) {
+                    if (moduleName.isEmpty()) {
+                        moduleFiles.add(file);
+                    }
+                } else if (data.getSource() == RequireJsModuleData.Source.THEME) {
+                    if (data.getModuleName().equals(moduleName) && isInArea(data.getArea())) {
+                        moduleFiles.add(file);
+                    }
+                } else if (!moduleName.isEmpty() && isInArea(data.getArea()) && isInDirectories(file, viewVfs)) {
+                    moduleFiles.add(file);
+                }
+            }
+
+            return moduleFiles;
+        }
+
+        /**
+         * Files of plugin resources, like text!Magento_Ui/templates/grid.html, in the web directories of the module.
+         */
+        @NotNull
+        private Collection<VirtualFile> findResourceFiles(@NotNull String resource) {
+            Collection<VirtualFile> resourceFiles = new ArrayList<>();
+
+            Matcher matcher = MODULE_ID_PATTERN.matcher(resource);
+            if (!matcher.find()) {
+                return resourceFiles;
+            }
+
+            String path = matcher.group(2);
+            for (VirtualFile viewVf: FileBasedIndexUtil.findViewVfsByModuleName(matcher.group(1), project)) {
+                for (Map.Entry<VirtualFile, ModuleViewFileData> viewFile:
+                        ModuleViewFileIndex.getViewFiles(project, viewVf).entrySet()) {
+                    ModuleViewFileData data = viewFile.getValue();
+                    if (data.getKind().equals(WEB_DIRECTORY)
+                            && data.getPath().equals(path)
+                            && isInArea(data.getArea())) {
+                        resourceFiles.add(viewFile.getKey());
+                    }
+                }
+            }
+
+            return resourceFiles;
+        }
+
+        boolean isInArea(@NotNull String fileArea) {
+            return area.equals(ALL_AREAS)
+                    || fileArea.equals(area)
+                    || fileArea.equals(Package.Areas.base.toString());
+        }
+
+        private boolean isInDirectories(@NotNull VirtualFile file, @NotNull Collection<VirtualFile> directories) {
+            for (VirtualFile directory: directories) {
+                if (VfsUtilCore.isAncestor(directory, file, true)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+}
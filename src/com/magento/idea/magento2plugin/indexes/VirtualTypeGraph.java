@@ -0,0 +1,148 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.indexes;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.VirtualTypeIndex;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Virtual types of the project with their parent types, resolved to the concrete class once.
+ *
+ * The graph is built from the VirtualTypeIndex and cached until the index changes. Virtual types whose chain
+ * of parents loops (or leads into a loop) are reported as cyclic and are not resolved.
+ */
+public class VirtualTypeGraph {
+    private static final Key<CachedValue<VirtualTypeGraph>> CACHE_KEY = Key.create("magento2plugin.virtualTypeGraph");
+
+    private final Map<String, String> parentTypes;
+    private final Map<String, String> topTypes = new HashMap<>();
+    private final Set<String> cyclicTypes = new HashSet<>();
+
+    private VirtualTypeGraph(@NotNull Map<String, String> parentTypes) {
+        this.parentTypes = parentTypes;
+        for (String name: parentTypes.keySet()) {
+            resolve(name);
+        }
+    }
+
+    @NotNull
+    public static VirtualTypeGraph getInstance(@NotNull Project project) {
+        return CachedValuesManager.getManager(project).getCachedValue(
+                project,
+                CACHE_KEY,
+                () -> CachedValueProvider.Result.create(
+                        build(project),
+                        new IndexModificationTracker(VirtualTypeIndex.KEY, project)
+                ),
+                false
+        );
+    }
+
+    @NotNull
+    private static VirtualTypeGraph build(@NotNull Project project) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+        Map<String, String> parentTypes = new HashMap<>();
+
+        for (String name: index.getAllKeys(VirtualTypeIndex.KEY, project)) {
+            for (String type: index.getValues(VirtualTypeIndex.KEY, name, scope)) {
+                if (type != null) {
+                    parentTypes.put(name, type);
+                    break;
+                }
+            }
+        }
+
+        return new VirtualTypeGraph(parentTypes);
+    }
+
+    private void resolve(@NotNull String name) {
+        List<String> path = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        String topType;
+        String current = name;
+
+        while (true) {
+            if (topTypes.containsKey(current)) {
+                topType = topTypes.get(current);
+                break;
+            }
+            if (cyclicTypes.contains(current) || !visited.add(current)) {
+                topType = null;
+                break;
+            }
+            String parentType = parentTypes.get(current);
+            if (parentType == null) {
+                topType = current;
+                break;
+            }
+            path.add(current);
+            current = parentType;
+        }
+
+        for (String pathType: path) {
+            if (topType == null) {
+                cyclicTypes.add(pathType);
+            } else {
+                topTypes.put(pathType, topType);
+            }
+        }
+    }
+
+    @NotNull
+    public Set<String> getVirtualTypeNames() {
+        return Collections.unmodifiableSet(parentTypes.keySet());
+    }
+
+    public boolean isVirtualType(@NotNull String name) {
+        return parentTypes.containsKey(name);
+    }
+
+    public boolean isCyclic(@NotNull String name) {
+        return cyclicTypes.contains(name);
+    }
+
+    /**
+     * Concrete class of the virtual type, the name itself if it is not a virtual type or its chain is cyclic.
+     */
+    @NotNull
+    public String getTopType(@NotNull String name) {
+        String topType = topTypes.get(name);
+
+        return topType == null ? name : topType;
+    }
+
+    /**
+     * The type followed by its parent types, ending with the concrete class. A cyclic chain ends before
+     * the first repeated type.
+     */
+    @NotNull
+    public List<String> getChain(@NotNull String name) {
+        List<String> chain = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        String current = name;
+        while (current != null && visited.add(current)) {
+            chain.add(current);
+            current = parentTypes.get(current);
+        }
+
+        return chain;
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.indexes;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.WebApiTypeIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.data.WebApiRouteData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST routes of the project compiled into a trie of URL segments, resolves request URLs to the declaring routes.
+ *
+ * The trie is built from the WebApiTypeIndex and cached until the index changes. Literal segments take precedence
+ * over :param segments, the same way /V1/carts/mine wins over /V1/carts/:cartId in Magento.
+ */
+public class WebApiRouteMatcher {
+    private static final Key<CachedValue<WebApiRouteMatcher>> CACHE_KEY = Key.create("magento2plugin.webApiRouteMatcher");
+    private static final String REST_PREFIX = "rest";
+    private static final char PARAM_PREFIX = ':';
+
+    private final Node root = new Node();
+    private int routesCount;
+
+    private WebApiRouteMatcher() {
+    }
+
+    @NotNull
+    public static WebApiRouteMatcher getInstance(@NotNull Project project) {
+        return CachedValuesManager.getManager(project).getCachedValue(
+                project,
+                CACHE_KEY,
+                () -> CachedValueProvider.Result.create(
+                        build(project),
+                        new IndexModificationTracker(WebApiTypeIndex.KEY, project)
+                ),
+                false
+        );
+    }
+
+    @NotNull
+    private static WebApiRouteMatcher build(@NotNull Project project) {
+        FileBasedIndex index = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+        WebApiRouteMatcher matcher = new WebApiRouteMatcher();
+
+        for (String serviceClass: index.getAllKeys(WebApiTypeIndex.KEY, project)) {
+            index.processValues(WebApiTypeIndex.KEY, serviceClass, null, (file, routes) -> {
+                for (WebApiRouteData route: routes) {
+                    matcher.add(new Route(serviceClass, file, route));
+                }
+                return true;
+            }, scope);
+        }
+
+        return matcher;
+    }
+
+    private void add(@NotNull Route route) {
+        Node node = root;
+        for (String segment: route.segments) {
+            if (isParam(segment)) {
+                if (node.param == null) {
+                    node.param = new Node();
+                }
+                node = node.param;
+            } else {
+                node = node.children.computeIfAbsent(segment, k -> new Node());
+            }
+        }
+        node.routes.computeIfAbsent(route.getData().getHttpMethod(), k -> new ArrayList<>()).add(route);
+        routesCount++;
+    }
+
+    /**
+     * Number of the compiled routes, one per route and service of every webapi.xml.
+     */
+    public int getRoutesCount() {
+        return routesCount;
+    }
+
+    /**
+     * Routes declared for the HTTP method and the URL.
+     *
+     * The URL may be a route path like /V1/products/24-MB01 or a request URL taken from an access log, with the host,
+     * the rest/ prefix, the store code and the query string.
+     */
+    @NotNull
+    public List<Match> match(@NotNull String httpMethod, @NotNull String url) {
+        String[] segments = splitPath(stripUrl(url));
+        String verb = httpMethod.toUpperCase();
+
+        int start = 0;
+        if (segments.length > 0 && segments[0].equals(REST_PREFIX)) {
+            start = 1;
+        }
+        // Without a match from the first segment, the one after rest/ is a store code: rest/default/V1/...
+        for (int from = start; from <= start + 1 && from <= segments.length; from++) {
+            List<Route> routes = match(root, segments, from, verb);
+            if (routes != null) {
+                List<Match> matches = new ArrayList<>(routes.size());
+                for (Route route: routes) {
+                    matches.add(new Match(route, getParameters(route, segments, from)));
+                }
+                return matches;
+            }
+            if (start == 0) {
+                break;
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+    @Nullable
+    private static List<Route> match(@NotNull Node node, @NotNull String[] segments, int index, @NotNull String verb) {
+        if (index == segments.length) {
+            return node.routes.get(verb);
+        }
+
+        Node child = node.children.get(segments[index]);
+        if (child != null) {
+            List<Route> routes = match(child, segments, index + 1, verb);
+            if (routes != null) {
+                return routes;
+            }
+        }
+        if (node.param != null) {
+            return match(node.param, segments, index + 1, verb);
+        }
+
+        return null;
+    }
+
+    @NotNull
+    private static Map<String, String> getParameters(@NotNull Route route, @NotNull String[] segments, int from) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (int i = 0; i < route.segments.length; i++) {
+            if (isParam(route.segments[i])) {
+                parameters.put(route.segments[i].substring(1), segments[from + i]);
+            }
+        }
+
+        return parameters;
+    }
+
+    @NotNull
+    private static String stripUrl(@NotNull String url) {
+        String path = url.trim();
+        int schemeEnd = path.indexOf("://");
+        if (schemeEnd >= 0) {
+            int pathStart = path.indexOf('/', schemeEnd + 3);
+            path = pathStart < 0 ? "" : path.substring(pathStart);
+        }
+        for (char end: new char[]{'?', '#'}) {
+            int endIndex = path.indexOf(end);
+            if (endIndex >= 0) {
+                path = path.substring(0, endIndex);
+            }
+        }
+
+        return path;
+    }
+
+    @NotNull
+    private static String[] splitPath(@NotNull String path) {
+        List<String> segments = new ArrayList<>();
+        for (String segment: path.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+
+        return segments.toArray(new String[0]);
+    }
+
+    private static boolean isParam(@NotNull String segment) {
+        return segment.length() > 1 && segment.charAt(0) == PARAM_PREFIX;
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final Map<String, List<Route>> routes = new HashMap<>();
+        private Node param;
+    }
+
+    /**
+     * Route of a service class declared in webapi.xml.
+     */
+    public static class Route {
+        private final String serviceClass;
+        private final VirtualFile file;
+        private final WebApiRouteData data;
+        private final String[] segments;
+
+        Route(@NotNull String serviceClass, @NotNull VirtualFile file, @NotNull WebApiRouteData data) {
+            this.serviceClass = serviceClass;
+            this.file = file;
+            this.data = data;
+            this.segments = splitPath(data.getUrl());
+        }
+
+        @NotNull
+        public String getServiceClass() {
+            return serviceClass;
+        }
+
+        /**
+         * The webapi.xml declaring the route.
+         */
+        @NotNull
+        public VirtualFile getFile() {
+            return file;
+        }
+
+        /**
+         * Service method, HTTP method, URL pattern, ACL resources and the offset of the route tag.
+         */
+        @NotNull
+        public WebApiRouteData getData() {
+            return data;
+        }
+    }
+
+    /**
+     * Route matching a URL with the values of its :param segments.
+     */
+    public static class Match {
+        private final Route route;
+        private final Map<String, String> parameters;
+
+        Match(@NotNull Route route, @NotNull Map<String, String> parameters) {
+            this.route = route;
+            this.parameters = parameters;
+        }
+
+        @NotNull
+        public Route getRoute() {
+            return route;
+        }
+
+        /**
+         * Values of the :param segments by the parameter name, in the order of the URL.
+         */
+        @NotNull
+        public Map<String, String> getParameters() {
+            return parameters;
+        }
+    }
+}
@@ -6,17 +6,20 @@ package com.magento.idea.magento2plugin.indexes;
 
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.*;
 import com.intellij.util.indexing.FileBasedIndex;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PhpClassUsageData;
 import com.magento.idea.magento2plugin.stubs.indexes.xml.PhpClassNameIndex;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class XmlIndex {
 
@@ -35,58 +38,61 @@ public class XmlIndex {
         return INSTANCE;
     }
 
+    /**
+     * XML tags referencing the class, found by the offsets stored in the index.
+     */
     public static List<XmlTag> getPhpClassDeclarations(PhpClass phpClass) {
-
         List<XmlTag> result = new ArrayList<>();
 
-        String fqn = phpClass.getPresentableFQN();
-
         PsiManager psiManager = PsiManager.getInstance(phpClass.getProject());
 
-        Collection<VirtualFile> vfs = FileBasedIndex.getInstance()
-            .getContainingFiles(PhpClassNameIndex.KEY, fqn, GlobalSearchScope.allScope(phpClass.getProject()));
-
-        for (VirtualFile vf : vfs) {
-            XmlFile xmlFile = (XmlFile)psiManager.findFile(vf);
-            if (xmlFile == null) {
+        for (Map.Entry<VirtualFile, List<PhpClassUsageData>> fileUsages: getPhpClassUsages(phpClass).entrySet()) {
+            PsiFile psiFile = psiManager.findFile(fileUsages.getKey());
+            if (!(psiFile instanceof XmlFile)) {
                 continue;
             }
 
-            XmlTag xmlTags[] = PsiTreeUtil.getChildrenOfType(xmlFile.getFirstChild(), XmlTag.class);
-            if (xmlTags == null) {
-                continue;
-            }
-
-            for (XmlTag xmlTag: xmlTags) {
-                fillList(xmlTag, fqn, result);
+            for (PhpClassUsageData usage: fileUsages.getValue()) {
+                XmlTag xmlTag = PsiTreeUtil.getParentOfType(psiFile.findElementAt(usage.getOffset()), XmlTag.class, false);
+                if (xmlTag != null && xmlTag.getName().equals(usage.getTagName())) {
+                    result.add(xmlTag);
+                }
             }
         }
 
         return result;
-
     }
 
-    private static void fillList(XmlTag parentTag, String fqn, List<XmlTag> list) {
-        for (XmlTag childTag: parentTag.getSubTags()) {
-            for (XmlAttribute xmlAttribute: childTag.getAttributes()) {
-                String xmlAttributeValue = xmlAttribute.getValue();
-                if (xmlAttributeValue != null) {
-                    xmlAttributeValue = xmlAttributeValue.startsWith("\\")
-                            ? xmlAttributeValue.substring(1) : xmlAttributeValue;
-                    if (xmlAttributeValue.startsWith(fqn)) {
-                        list.add(childTag);
-                    }
-                }
-            }
-            XmlTagValue childTagValue = childTag.getValue();
-            String tagValue = childTagValue.getTrimmedText();
-            tagValue = tagValue.startsWith("\\") ? tagValue.substring(1) : tagValue;
-            if (!tagValue.isEmpty() && tagValue.startsWith(fqn)) {
-                list.add(childTag);
-            }
+    /**
+     * Whether any XML file references the class, stops at the first file found.
+     */
+    public static boolean hasPhpClassUsages(PhpClass phpClass) {
+        return !FileBasedIndex.getInstance().processValues(
+                PhpClassNameIndex.KEY,
+                phpClass.getPresentableFQN(),
+                null,
+                (virtualFile, usages) -> usages.isEmpty(),
+                GlobalSearchScope.allScope(phpClass.getProject())
+        );
+    }
 
+    /**
+     * Tags referencing the class grouped by the XML file, read from the index only.
+     */
+    public static Map<VirtualFile, List<PhpClassUsageData>> getPhpClassUsages(PhpClass phpClass) {
+        Map<VirtualFile, List<PhpClassUsageData>> result = new HashMap<>();
+
+        FileBasedIndex.getInstance().processValues(
+                PhpClassNameIndex.KEY,
+                phpClass.getPresentableFQN(),
+                null,
+                (virtualFile, usages) -> {
+                    result.computeIfAbsent(virtualFile, k -> new ArrayList<>()).addAll(usages);
+                    return true;
+                },
+                GlobalSearchScope.allScope(phpClass.getProject())
+        );
 
-            fillList(childTag, fqn, list);
-        }
+        return result;
     }
 }
@@ -7,26 +7,19 @@ package com.magento.idea.magento2plugin.inspections.xml;
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import com.intellij.ide.highlighter.XmlFileType;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
-import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.XmlAttribute;
-import com.intellij.psi.xml.XmlAttributeValue;
 import com.intellij.psi.xml.XmlDocument;
 import com.intellij.psi.xml.XmlTag;
 import com.jetbrains.php.lang.inspections.PhpInspection;
 import com.magento.idea.magento2plugin.bundles.InspectionBundle;
-import com.magento.idea.magento2plugin.indexes.EventIndex;
-import com.magento.idea.magento2plugin.magento.files.ModuleXml;
-import com.magento.idea.magento2plugin.magento.packages.Package;
+import com.magento.idea.magento2plugin.stubs.indexes.ObserverNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.data.ObserverDeclarationData;
 import org.jetbrains.annotations.NotNull;
-import java.net.MalformedURLException;
-import java.net.URL;
 import java.util.*;
 
-import com.intellij.openapi.vfs.VfsUtil;
 import org.jetbrains.annotations.Nullable;
 
 public class ObserverDeclarationInspection extends PhpInspection {
@@ -35,9 +28,7 @@ public class ObserverDeclarationInspection extends PhpInspection {
     @Override
     public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder problemsHolder, boolean b) {
         return new XmlElementVisitor() {
-            private final String moduleXmlFileName = ModuleXml.getInstance().getFileName();
             private static final String eventsXmlFileName = "events.xml";
-            private HashMap<String, VirtualFile> loadedFileHash = new HashMap<>();
             private InspectionBundle inspectionBundle = new InspectionBundle();
             private final ProblemHighlightType errorSeverity = ProblemHighlightType.WARNING;
 
@@ -48,7 +39,6 @@ public class ObserverDeclarationInspection extends PhpInspection {
                 }
 
                 XmlTag[] xmlTags = getFileXmlTags(file);
-                EventIndex eventIndex = EventIndex.getInstance(file.getProject());
 
                 if (xmlTags == null) {
                     return;
@@ -93,7 +83,7 @@ public class ObserverDeclarationInspection extends PhpInspection {
                         }
                         targetObserversHash.put(observerKey, observerXmlTag);
 
-                        List<HashMap<String, String>> modulesWithSameObserverName = fetchModuleNamesWhereSameObserverNameUsed(eventNameAttributeValue, observerName, eventIndex, file);
+                        List<HashMap<String, String>> modulesWithSameObserverName = fetchModuleNamesWhereSameObserverNameUsed(eventNameAttributeValue, observerName, file);
                         for (HashMap<String, String> moduleEntry: modulesWithSameObserverName) {
                             Map.Entry<String, String> module = moduleEntry.entrySet().iterator().next();
                             String moduleName = module.getKey();
@@ -118,45 +108,27 @@ public class ObserverDeclarationInspection extends PhpInspection {
                 }
             }
 
-            private List<HashMap<String, String>> fetchModuleNamesWhereSameObserverNameUsed(String eventNameAttributeValue, String observerName, EventIndex eventIndex, PsiFile file) {
+            private List<HashMap<String, String>> fetchModuleNamesWhereSameObserverNameUsed(String eventNameAttributeValue, String observerName, PsiFile file) {
                 List<HashMap<String, String>> modulesName = new ArrayList<>();
-                String currentFileDirectory = file.getContainingDirectory().toString();
-                String currentFileFullPath = currentFileDirectory.concat("/").concat(file.getName());
+                VirtualFile currentFile = file.getOriginalFile().getVirtualFile();
 
-                Collection<PsiElement> indexedEvents = eventIndex.getEventElements(eventNameAttributeValue, GlobalSearchScope.getScopeRestrictedByFileTypes(
-                        GlobalSearchScope.allScope(file.getProject()),
-                        XmlFileType.INSTANCE
-                ));
+                Map<VirtualFile, List<ObserverDeclarationData>> indexedObservers =
+                        ObserverNameIndex.getObserverDeclarations(file.getProject(), eventNameAttributeValue, observerName);
 
-                for (PsiElement indexedEvent: indexedEvents) {
-                    PsiFile indexedAttributeParent = PsiTreeUtil.getTopmostParentOfType(indexedEvent, PsiFile.class);
-                    if (indexedAttributeParent == null) {
+                for (Map.Entry<VirtualFile, List<ObserverDeclarationData>> fileObservers: indexedObservers.entrySet()) {
+                    VirtualFile indexedFile = fileObservers.getKey();
+                    if (indexedFile.equals(currentFile)) {
                         continue;
                     }
 
-                    String indexedEventAttributeValue = ((XmlAttributeValue) indexedEvent).getValue();
-                    if (!indexedEventAttributeValue.equals(eventNameAttributeValue)) {
-                        continue;
-                    }
-
-                    String indexedFileDirectory = indexedAttributeParent.getContainingDirectory().toString();
-                    String indexedFileFullPath = indexedFileDirectory.concat("/").concat(indexedAttributeParent.getName());
-                    if (indexedFileFullPath.equals(currentFileFullPath)) {
-                        continue;
-                    }
-
-                    String scope = getAreaFromFileDirectory(indexedAttributeParent);
-
-                    List<XmlTag> indexObserversTags = fetchObserverTagsFromEventTag((XmlTag) indexedEvent.getParent().getParent());
-                    for (XmlTag indexObserversTag: indexObserversTags) {
-                        XmlAttribute indexedObserverNameAttribute = indexObserversTag.getAttribute("name");
-                        if (indexedObserverNameAttribute == null) {
-                            continue;
-                        }
-                        if (!observerName.equals(indexedObserverNameAttribute.getValue())){
+                    for (ObserverDeclarationData observer: fileObservers.getValue()) {
+                        // a disabled declaration turns the observer off, it doesn't add one
+                        if (observer.isDisabled() || observer.getModuleName().isEmpty()) {
                             continue;
                         }
-                        addModuleNameWhereSameObserverUsed(modulesName, indexedAttributeParent, scope);
+                        HashMap<String, String> moduleEntry = new HashMap<>();
+                        moduleEntry.put(observer.getModuleName(), observer.getArea());
+                        modulesName.add(moduleEntry);
                     }
                 }
 
@@ -181,93 +153,12 @@ public class ObserverDeclarationInspection extends PhpInspection {
                 return result;
             }
 
-            private void addModuleNameWhereSameObserverUsed(List<HashMap<String, String>> modulesName, PsiFile indexedFile, String scope) {
-                XmlTag moduleDeclarationTag = getModuleDeclarationTagByConfigFile(indexedFile);
-                if (moduleDeclarationTag == null) return;
-
-                if (!moduleDeclarationTag.getName().equals("module")) {
-                    return;
-                }
-                XmlAttribute moduleNameAttribute = moduleDeclarationTag.getAttribute("name");
-                if (moduleNameAttribute == null) {
-                    return;
-                }
-
-                HashMap<String, String> moduleEntry = new HashMap<>();
-
-                moduleEntry.put(moduleNameAttribute.getValue(), scope);
-                modulesName.add(moduleEntry);
-            }
-
-            @Nullable
-            private XmlTag getModuleDeclarationTagByConfigFile(PsiFile file) {
-                String fileDirectory = file.getContainingDirectory().toString();
-                String fileArea = file.getContainingDirectory().getName();
-                String moduleXmlFilePath = getModuleXmlFilePathByConfigFileDirectory(fileDirectory, fileArea);
-
-                VirtualFile virtualFile = getFileByPath(moduleXmlFilePath);
-                if (virtualFile == null) return null;
-
-                PsiFile moduleDeclarationFile = PsiManager.getInstance(file.getProject()).findFile(virtualFile);
-                XmlTag[] moduleDeclarationTags = getFileXmlTags(moduleDeclarationFile);
-                if (moduleDeclarationTags == null) {
-                    return null;
-                }
-                return moduleDeclarationTags[0];
-            }
-
-            @Nullable
-            private VirtualFile getFileByPath(String moduleXmlFilePath) {
-                if (loadedFileHash.containsKey(moduleXmlFilePath)) {
-                    return loadedFileHash.get(moduleXmlFilePath);
-                }
-                VirtualFile virtualFile;
-                try {
-                    virtualFile = VfsUtil.findFileByURL(new URL(moduleXmlFilePath));
-                } catch (MalformedURLException e) {
-                    return null;
-                }
-                if (virtualFile == null) {
-                    return null;
-                }
-                loadedFileHash.put(moduleXmlFilePath, virtualFile);
-                return virtualFile;
-            }
-
-            private String getModuleXmlFilePathByConfigFileDirectory(String fileDirectory, String fileArea) {
-                String moduleXmlFile = fileDirectory.replace(fileArea, "").concat(moduleXmlFileName);
-                if (fileDirectory.endsWith("etc")) {
-                    moduleXmlFile = fileDirectory.concat("/").concat(moduleXmlFileName);
-                }
-                return moduleXmlFile.replace("PsiDirectory:", "file:");
-            }
-
             @Nullable
             private XmlTag[] getFileXmlTags(PsiFile file) {
                 XmlDocument xmlDocument = PsiTreeUtil.getChildOfType(file, XmlDocument.class);
                 XmlTag xmlRootTag = PsiTreeUtil.getChildOfType(xmlDocument, XmlTag.class);
                 return PsiTreeUtil.getChildrenOfType(xmlRootTag, XmlTag.class);
             }
-
-            private String getAreaFromFileDirectory(@NotNull PsiFile file) {
-                if (file.getParent() == null) {
-                    return "";
-                }
-
-                String areaFromFileDirectory = file.getParent().getName();
-
-                if (areaFromFileDirectory.equals(Package.MODULE_BASE_AREA_DIR)) {
-                    return Package.Areas.base.toString();
-                }
-
-                for (Package.Areas area: Package.Areas.values()) {
-                    if (area.toString().equals(areaFromFileDirectory)) {
-                        return area.toString();
-                    }
-                }
-
-                return "";
-            }
         };
     }
 }
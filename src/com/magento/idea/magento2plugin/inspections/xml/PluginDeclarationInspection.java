@@ -7,23 +7,20 @@ package com.magento.idea.magento2plugin.inspections.xml;
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
-import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.XmlAttribute;
-import com.intellij.psi.xml.XmlAttributeValue;
 import com.intellij.psi.xml.XmlDocument;
 import com.intellij.psi.xml.XmlTag;
 import com.jetbrains.php.lang.inspections.PhpInspection;
 import com.magento.idea.magento2plugin.bundles.InspectionBundle;
-import com.magento.idea.magento2plugin.indexes.PluginIndex;
 import com.magento.idea.magento2plugin.magento.files.ModuleDiXml;
 import com.magento.idea.magento2plugin.magento.packages.Package;
-import com.magento.idea.magento2plugin.util.magento.GetModuleNameByDirectory;
+import com.magento.idea.magento2plugin.stubs.indexes.PluginNameIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PluginDeclarationData;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import com.magento.idea.magento2plugin.magento.packages.File;
 import java.util.*;
 import com.intellij.openapi.util.Pair;
 
@@ -43,7 +40,6 @@ public class PluginDeclarationInspection extends PhpInspection {
                 }
 
                 XmlTag[] xmlTags = getFileXmlTags(file);
-                PluginIndex pluginIndex = PluginIndex.getInstance(file.getProject());
 
                 if (xmlTags == null) {
                     return;
@@ -91,7 +87,7 @@ public class PluginDeclarationInspection extends PhpInspection {
                         }
                         targetPluginHash.put(pluginTypeKey, pluginTypeXmlTag);
 
-                        List<Pair<String, String>> modulesWithSamePluginName = fetchModuleNamesWhereSamePluginNameUsed(pluginNameAttributeValue, pluginTypeName, pluginIndex, file);
+                        List<Pair<String, String>> modulesWithSamePluginName = fetchModuleNamesWhereSamePluginNameUsed(pluginNameAttributeValue, pluginTypeName, file);
                         for (Pair<String, String> moduleEntry: modulesWithSamePluginName) {
                             String scope = moduleEntry.getFirst();
                             String moduleName = moduleEntry.getSecond();
@@ -119,45 +115,26 @@ public class PluginDeclarationInspection extends PhpInspection {
                 }
             }
 
-            private List<Pair<String, String>> fetchModuleNamesWhereSamePluginNameUsed(String pluginNameAttributeValue, String pluginTypeName, PluginIndex pluginIndex, PsiFile file) {
+            private List<Pair<String, String>> fetchModuleNamesWhereSamePluginNameUsed(String pluginNameAttributeValue, String pluginTypeName, PsiFile file) {
                 List<Pair<String, String>> modulesName = new ArrayList<>();
-                String currentFileDirectory = file.getContainingDirectory().toString();
-                String currentFileFullPath = currentFileDirectory.concat(File.separator).concat(file.getName());
+                VirtualFile currentFile = file.getOriginalFile().getVirtualFile();
 
-                Collection<PsiElement> indexedPlugins = pluginIndex.getPluginElements(pluginNameAttributeValue, GlobalSearchScope.getScopeRestrictedByFileTypes(
-                        GlobalSearchScope.allScope(file.getProject()),
-                        XmlFileType.INSTANCE
-                ));
+                Map<VirtualFile, List<PluginDeclarationData>> indexedPlugins =
+                        PluginNameIndex.getPluginDeclarations(file.getProject(), pluginNameAttributeValue, pluginTypeName);
 
-                for (PsiElement indexedPlugin: indexedPlugins) {
-                    PsiFile indexedAttributeParent = PsiTreeUtil.getTopmostParentOfType(indexedPlugin, PsiFile.class);
-                    if (indexedAttributeParent == null) {
+                for (Map.Entry<VirtualFile, List<PluginDeclarationData>> indexedPluginsEntry: indexedPlugins.entrySet()) {
+                    VirtualFile indexedFile = indexedPluginsEntry.getKey();
+                    if (indexedFile.equals(currentFile)) {
                         continue;
                     }
 
-                    String indexedPluginAttributeValue = ((XmlAttributeValue) indexedPlugin).getValue();
-                    if (!indexedPluginAttributeValue.equals(pluginNameAttributeValue)) {
-                        continue;
-                    }
-
-                    String indexedFileDirectory = indexedAttributeParent.getContainingDirectory().toString();
-                    String indexedFileFullPath = indexedFileDirectory.concat(File.separator).concat(indexedAttributeParent.getName());
-                    if (indexedFileFullPath.equals(currentFileFullPath)) {
-                        continue;
-                    }
-
-                    String scope = getAreaFromFileDirectory(indexedAttributeParent);
-
-                    List<XmlTag> indexPluginTags = fetchPluginTagsFromPluginTag((XmlTag) indexedPlugin.getParent().getParent());
-                    for (XmlTag indexPluginTag: indexPluginTags) {
-                        XmlAttribute indexedPluginNameAttribute = indexPluginTag.getAttribute(ModuleDiXml.PLUGIN_TYPE_ATTR_NAME);
-                        if (indexedPluginNameAttribute == null) {
-                            continue;
-                        }
-                        if (!pluginTypeName.equals(indexedPluginNameAttribute.getValue())){
+                    for (PluginDeclarationData indexedPlugin: indexedPluginsEntry.getValue()) {
+                        // declarations without a type or disabled ones don't add the plugin
+                        if (indexedPlugin.getType().isEmpty() || indexedPlugin.isDisabled()
+                                || indexedPlugin.getModuleName().isEmpty()) {
                             continue;
                         }
-                        addModuleNameWhereSamePluginUsed(modulesName, indexedAttributeParent, scope);
+                        modulesName.add(Pair.create(indexedPlugin.getArea(), indexedPlugin.getModuleName()));
                     }
                 }
 
@@ -182,43 +159,12 @@ public class PluginDeclarationInspection extends PhpInspection {
                 return result;
             }
 
-            private void addModuleNameWhereSamePluginUsed(
-                List<Pair<String, String>> modulesName,
-                PsiFile indexedFile,
-                String scope
-            ) {
-                String moduleName = GetModuleNameByDirectory.getInstance(problemsHolder.getProject())
-                        .execute(indexedFile.getContainingDirectory());
-
-                modulesName.add(Pair.create(scope, moduleName));
-            }
-
             @Nullable
             private XmlTag[] getFileXmlTags(PsiFile file) {
                 XmlDocument xmlDocument = PsiTreeUtil.getChildOfType(file, XmlDocument.class);
                 XmlTag xmlRootTag = PsiTreeUtil.getChildOfType(xmlDocument, XmlTag.class);
                 return PsiTreeUtil.getChildrenOfType(xmlRootTag, XmlTag.class);
             }
-
-            private String getAreaFromFileDirectory(@NotNull PsiFile file) {
-                if (file.getParent() == null) {
-                    return "";
-                }
-
-                String areaFromFileDirectory = file.getParent().getName();
-
-                if (areaFromFileDirectory.equals(Package.MODULE_BASE_AREA_DIR)) {
-                    return Package.Areas.base.toString();
-                }
-
-                for (Package.Areas area: Package.Areas.values()) {
-                    if (area.toString().equals(areaFromFileDirectory)) {
-                        return area.toString();
-                    }
-                }
-
-                return "";
-            }
         };
     }
 }
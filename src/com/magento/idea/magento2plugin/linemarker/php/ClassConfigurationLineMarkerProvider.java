@@ -8,6 +8,7 @@ import com.intellij.codeInsight.daemon.LineMarkerInfo;
 import com.intellij.codeInsight.daemon.LineMarkerProvider;
 import com.intellij.codeInsight.navigation.NavigationGutterIconBuilder;
 import com.intellij.icons.AllIcons;
+import com.intellij.openapi.util.NotNullLazyValue;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.xml.XmlTag;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
@@ -16,7 +17,6 @@ import com.magento.idea.magento2plugin.project.Settings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
@@ -40,22 +40,27 @@ public class ClassConfigurationLineMarkerProvider implements LineMarkerProvider
         }
         for (PsiElement psiElement: list) {
             if (psiElement instanceof PhpClass) {
-                List<XmlTag> results = new ArrayList<XmlTag>();
-
-                results.addAll(XmlIndex.getPhpClassDeclarations((PhpClass) psiElement));
-
-                if (!(results.size() > 0)) {
+                PhpClass phpClass = (PhpClass) psiElement;
+                if (!XmlIndex.hasPhpClassUsages(phpClass)) {
                     continue;
                 }
-                results.sort(Comparator.comparing(XmlTag::getName));
 
                 String tooltipText = "Navigate to configuration";
                 NavigationGutterIconBuilder<PsiElement> builder = NavigationGutterIconBuilder
                         .create(AllIcons.FileTypes.Xml)
-                        .setTargets(results)
+                        .setTargets(new NotNullLazyValue<Collection<? extends PsiElement>>() {
+                            @NotNull
+                            @Override
+                            protected Collection<? extends PsiElement> compute() {
+                                List<XmlTag> results = XmlIndex.getPhpClassDeclarations(phpClass);
+                                results.sort(Comparator.comparing(XmlTag::getName));
+
+                                return results;
+                            }
+                        })
                         .setTooltipText(tooltipText);
 
-                PsiElement className = ((PhpClass) psiElement).getNameIdentifier();
+                PsiElement className = phpClass.getNameIdentifier();
                 if (className != null) {
                     collection.add(builder.createLineMarkerInfo(className));
                 }
@@ -8,10 +8,12 @@ import com.intellij.codeInsight.daemon.LineMarkerInfo;
 import com.intellij.codeInsight.daemon.LineMarkerProvider;
 import com.intellij.codeInsight.navigation.NavigationGutterIconBuilder;
 import com.intellij.lang.jsgraphql.GraphQLIcons;
+import com.intellij.openapi.util.NotNullLazyValue;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.magento.idea.magento2plugin.project.Settings;
+import com.magento.idea.magento2plugin.stubs.indexes.graphql.GraphQlResolverIndex;
 import com.magento.idea.magento2plugin.util.magento.graphql.GraphQlUsagesCollector;
 import com.magento.idea.magento2plugin.util.magento.graphql.GraphQlUtil;
 import org.jetbrains.annotations.NotNull;
@@ -37,18 +39,17 @@ public class GraphQlResolverUsageLineMarkerProvider implements LineMarkerProvide
 
         for (PsiElement psiElement : psiElements) {
             if (psiElement instanceof PhpClass) {
-                List<? extends PsiElement> results;
-
-                if (!GraphQlUtil.isResolver((PhpClass) psiElement)) {
-                    return;
-                }
-                GraphQlUsagesCollector collector = new GraphQlUsagesCollector();
-                results = collector.getGraphQLUsages((PhpClass) psiElement);
-
-                if (results.size() > 0 ) {
+                PhpClass phpClass = (PhpClass) psiElement;
+                if (GraphQlResolverIndex.hasGraphQLUsages(phpClass) && GraphQlUtil.isResolver(phpClass)) {
                     collection.add(NavigationGutterIconBuilder
                             .create(GraphQLIcons.FILE)
-                            .setTargets(results)
+                            .setTargets(new NotNullLazyValue<Collection<? extends PsiElement>>() {
+                                @NotNull
+                                @Override
+                                protected Collection<? extends PsiElement> compute() {
+                                    return new GraphQlUsagesCollector().getGraphQLUsages(phpClass);
+                                }
+                            })
                             .setTooltipText("Navigate to schema")
                             .createLineMarkerInfo(PsiTreeUtil.getDeepestFirst(psiElement))
                     );
@@ -8,15 +8,25 @@ import com.intellij.codeInsight.daemon.LineMarkerInfo;
 import com.intellij.codeInsight.daemon.LineMarkerProvider;
 import com.intellij.codeInsight.navigation.NavigationGutterIconBuilder;
 import com.intellij.icons.AllIcons;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.NotNullLazyValue;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.indexing.FileBasedIndex;
 import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.PhpLanguage;
 import com.jetbrains.php.lang.psi.elements.Method;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.magento.idea.magento2plugin.indexes.IndexModificationTracker;
 import com.magento.idea.magento2plugin.project.Settings;
 import com.magento.idea.magento2plugin.stubs.indexes.PluginIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PluginData;
 import org.apache.commons.lang.WordUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -24,6 +34,8 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 
 public class PluginLineMarkerProvider implements LineMarkerProvider {
+    private static final Key<CachedValue<ClassPlugins>> CLASS_PLUGINS_KEY = Key.create("magento2plugin.classPlugins");
+
     @Nullable
     @Override
     public LineMarkerInfo getLineMarkerInfo(@NotNull PsiElement psiElement) {
@@ -37,140 +49,168 @@ public class PluginLineMarkerProvider implements LineMarkerProvider {
                 return;
             }
         }
-        PluginClassCache pluginClassCache = new PluginClassCache();
-        ClassPluginCollector classPluginCollector = new ClassPluginCollector(pluginClassCache);
-        MethodPluginCollector methodPluginCollector = new MethodPluginCollector(pluginClassCache);
 
         for (PsiElement psiElement : psiElements) {
-            if (psiElement instanceof PhpClass || psiElement instanceof Method) {
-                List<? extends PsiElement> results;
-
-                if (psiElement instanceof PhpClass) {
-                    results = classPluginCollector.collect((PhpClass) psiElement);
-                } else {
-                    results = methodPluginCollector.collect((Method) psiElement);
+            if (psiElement instanceof PhpClass) {
+                PhpClass phpClass = (PhpClass) psiElement;
+                if (!getClassPlugins(phpClass).getPluginNames().isEmpty()) {
+                    collection.add(createLineMarkerInfo(
+                            psiElement,
+                            new NotNullLazyValue<Collection<? extends PsiElement>>() {
+                                @NotNull
+                                @Override
+                                protected Collection<? extends PsiElement> compute() {
+                                    return getClassPlugins(phpClass).findPlugins(phpClass.getProject());
+                                }
+                            }
+                    ));
                 }
-
-                if (results.size() > 0 ) {
-                    collection.add(NavigationGutterIconBuilder
-                            .create(AllIcons.Nodes.Plugin)
-                            .setTargets(results)
-                            .setTooltipText("Navigate to plugins")
-                            .createLineMarkerInfo(PsiTreeUtil.getDeepestFirst(psiElement))
-                    );
+            } else if (psiElement instanceof Method) {
+                Method method = (Method) psiElement;
+                PhpClass methodClass = method.getContainingClass();
+                if (methodClass != null && getClassPlugins(methodClass).hasPluginMethods(method.getName())) {
+                    collection.add(createLineMarkerInfo(
+                            psiElement,
+                            new NotNullLazyValue<Collection<? extends PsiElement>>() {
+                                @NotNull
+                                @Override
+                                protected Collection<? extends PsiElement> compute() {
+                                    return getClassPlugins(methodClass).findPluginMethods(method.getName(), method.getProject());
+                                }
+                            }
+                    ));
                 }
             }
         }
     }
 
-    private static class PluginClassCache {
-        private HashMap<String, List<PhpClass>> classPluginsMap = new HashMap<String, List<PhpClass>>();
-
-        List<PhpClass> getPluginsForClass(@NotNull PhpClass phpClass, @NotNull String classFQN) {
-            List<PhpClass> results = new ArrayList<>();
-
-            if (classPluginsMap.containsKey(classFQN)) {
-                return classPluginsMap.get(classFQN);
-            }
-
-            List<Set<String>> plugins = FileBasedIndex.getInstance()
-                .getValues(PluginIndex.KEY, classFQN, GlobalSearchScope.allScope(phpClass.getProject()));
+    private static LineMarkerInfo createLineMarkerInfo(
+            @NotNull PsiElement psiElement,
+            @NotNull NotNullLazyValue<Collection<? extends PsiElement>> targets
+    ) {
+        return NavigationGutterIconBuilder
+                .create(AllIcons.Nodes.Plugin)
+                .setTargets(targets)
+                .setTooltipText("Navigate to plugins")
+                .createLineMarkerInfo(PsiTreeUtil.getDeepestFirst(psiElement));
+    }
 
-            if (plugins.size() == 0) {
-                classPluginsMap.put(classFQN, results);
-                return results;
-            }
+    /**
+     * Names of the plugins of the class and of its parents, kept until the plugin declarations or the PHP code change.
+     */
+    @NotNull
+    private static ClassPlugins getClassPlugins(@NotNull PhpClass phpClass) {
+        return CachedValuesManager.getCachedValue(phpClass, CLASS_PLUGINS_KEY, () -> {
+            Project project = phpClass.getProject();
+            Set<String> pluginNames = new LinkedHashSet<>();
+            collectPlugins(phpClass, pluginNames, new HashSet<>());
+
+            return CachedValueProvider.Result.create(
+                    new ClassPlugins(new ArrayList<>(pluginNames), project),
+                    new IndexModificationTracker(PluginIndex.KEY, project),
+                    PsiModificationTracker.getInstance(project).forLanguage(PhpLanguage.INSTANCE)
+            );
+        });
+    }
 
-            PhpIndex phpIndex = PhpIndex.getInstance(phpClass.getProject());
+    private static void collectPlugins(@NotNull PhpClass phpClass, Set<String> pluginNames, Set<String> visitedClasses) {
+        String classFQN = phpClass.getPresentableFQN();
+        if (!visitedClasses.add(classFQN)) {
+            return;
+        }
 
-            for (Set<String> pluginClassNames: plugins) {
-                for (String pluginClassName: pluginClassNames) {
-                    results.addAll(phpIndex.getClassesByFQN(pluginClassName));
+        List<Set<PluginData>> pluginDataSets = FileBasedIndex.getInstance()
+            .getValues(PluginIndex.KEY, classFQN, GlobalSearchScope.allScope(phpClass.getProject()));
+        for (Set<PluginData> pluginDataSet: pluginDataSets) {
+            for (PluginData pluginData: pluginDataSet) {
+                if (!pluginData.getType().isEmpty()) {
+                    pluginNames.add(pluginData.getType());
                 }
             }
-            classPluginsMap.put(classFQN, results);
-            return results;
         }
 
-        List<PhpClass> getPluginsForClass(@NotNull PhpClass phpClass)
-        {
-            List<PhpClass> pluginsForClass = getPluginsForClass(phpClass, phpClass.getPresentableFQN());
-            for (PhpClass parent: phpClass.getSupers()) {
-                pluginsForClass.addAll(getPluginsForClass(parent));
-            }
-
-            return pluginsForClass;
+        for (PhpClass parent: phpClass.getSupers()) {
+            collectPlugins(parent, pluginNames, visitedClasses);
         }
+    }
 
-        List<Method> getPluginMethods(@NotNull PhpClass plugin) {
-            List<Method> methodList = new ArrayList<Method>();
-            for (Method method : plugin.getMethods()) {
-                if (method.getAccess().isPublic()) {
-                    String pluginMethodName = method.getName();
-                    if (pluginMethodName.length() > 6) {
-                        methodList.add(method);
+    /**
+     * Plugin names of a class with the names of the plugin methods by the intercepted method. Only the names are
+     * kept, the plugin PSI is looked up when the user navigates.
+     */
+    private static class ClassPlugins {
+        private final List<String> pluginNames;
+        private final Map<String, Set<String>> pluginNamesByMethod = new HashMap<>();
+
+        ClassPlugins(@NotNull List<String> pluginNames, @NotNull Project project) {
+            this.pluginNames = pluginNames;
+            PhpIndex phpIndex = PhpIndex.getInstance(project);
+            for (String pluginName: pluginNames) {
+                for (PhpClass plugin: phpIndex.getClassesByFQN(pluginName)) {
+                    for (Method method : plugin.getMethods()) {
+                        for (String classMethodName: getClassMethodNames(method)) {
+                            pluginNamesByMethod.computeIfAbsent(classMethodName, k -> new LinkedHashSet<>())
+                                    .add(pluginName);
+                        }
                     }
                 }
             }
-            return methodList;
         }
 
-        List<Method> getPluginMethods(List<PhpClass> plugins) {
-            List<Method> methodList = new ArrayList<Method>();
-            for (PhpClass plugin: plugins) {
-                methodList.addAll(getPluginMethods(plugin));
+        /**
+         * Names of the methods the plugin method may intercept: after + MethodName, before + MethodName or
+         * around + MethodName.
+         */
+        private static List<String> getClassMethodNames(@NotNull Method pluginMethod) {
+            String pluginMethodName = pluginMethod.getName();
+            if (!pluginMethod.getAccess().isPublic() || pluginMethodName.length() <= 6) {
+                return Collections.emptyList();
             }
-            return methodList;
-        }
-    }
 
-    private static class ClassPluginCollector implements Collector<PhpClass, PhpClass> {
-        private PluginLineMarkerProvider.PluginClassCache pluginClassCache;
+            return Arrays.asList(pluginMethodName.substring(5), pluginMethodName.substring(6));
+        }
 
-        ClassPluginCollector(PluginLineMarkerProvider.PluginClassCache pluginClassCache) {
-            this.pluginClassCache = pluginClassCache;
+        @NotNull
+        List<String> getPluginNames() {
+            return Collections.unmodifiableList(pluginNames);
         }
 
-        @Override
-        public List<PhpClass> collect(@NotNull PhpClass psiElement) {
-            return pluginClassCache.getPluginsForClass(psiElement);
+        boolean hasPluginMethods(@NotNull String classMethodName) {
+            return pluginNamesByMethod.containsKey(WordUtils.capitalize(classMethodName));
         }
-    }
 
-    private static class MethodPluginCollector implements Collector<Method, Method> {
-        private PluginLineMarkerProvider.PluginClassCache pluginClassCache;
+        @NotNull
+        List<PhpClass> findPlugins(@NotNull Project project) {
+            List<PhpClass> plugins = new ArrayList<>();
+            PhpIndex phpIndex = PhpIndex.getInstance(project);
+            for (String pluginName: pluginNames) {
+                plugins.addAll(phpIndex.getClassesByFQN(pluginName));
+            }
 
-        MethodPluginCollector(PluginLineMarkerProvider.PluginClassCache pluginClassCache) {
-            this.pluginClassCache = pluginClassCache;
+            return plugins;
         }
 
-        @Override
-        public List<Method> collect(@NotNull Method psiElement) {
-            List<Method> results = new ArrayList<>();
-
-            PhpClass methodClass = psiElement.getContainingClass();
-            if (methodClass == null) {
-                return results;
+        @NotNull
+        List<Method> findPluginMethods(@NotNull String classMethodName, @NotNull Project project) {
+            String capitalizedName = WordUtils.capitalize(classMethodName);
+            Set<String> names = pluginNamesByMethod.get(capitalizedName);
+            if (names == null) {
+                return Collections.emptyList();
             }
 
-            List<PhpClass> pluginsList = pluginClassCache.getPluginsForClass(methodClass);
-            List<Method> pluginMethods = pluginClassCache.getPluginMethods(pluginsList);
-
-            String classMethodName = WordUtils.capitalize(psiElement.getName());
-            for (Method pluginMethod: pluginMethods) {
-                if (isPluginMethodName(pluginMethod.getName(), classMethodName)) {
-                    results.add(pluginMethod);
+            List<Method> methods = new ArrayList<>();
+            PhpIndex phpIndex = PhpIndex.getInstance(project);
+            for (String pluginName: names) {
+                for (PhpClass plugin: phpIndex.getClassesByFQN(pluginName)) {
+                    for (Method method : plugin.getMethods()) {
+                        if (getClassMethodNames(method).contains(capitalizedName)) {
+                            methods.add(method);
+                        }
+                    }
                 }
             }
-            return results;
-        }
 
-        private boolean isPluginMethodName(String pluginMethodName, String classMethodName) {
-            return pluginMethodName.substring(5).equals(classMethodName) || pluginMethodName.substring(6).equals(classMethodName);
+            return methods;
         }
     }
-
-    private interface Collector<T extends PsiElement, K> {
-        List<K> collect(@NotNull T psiElement);
-    }
 }
@@ -8,6 +8,7 @@ import com.intellij.codeInsight.daemon.LineMarkerInfo;
 import com.intellij.codeInsight.daemon.LineMarkerProvider;
 import com.intellij.codeInsight.navigation.NavigationGutterIconBuilder;
 import com.intellij.icons.AllIcons;
+import com.intellij.openapi.util.NotNullLazyValue;
 import com.intellij.psi.PsiElement;
 import com.jetbrains.php.PhpIndex;
 import com.jetbrains.php.lang.psi.elements.Method;
@@ -40,71 +41,92 @@ public class PluginTargetLineMarkerProvider implements LineMarkerProvider {
         TargetMethodsCollector TargetMethodsCollector = new TargetMethodsCollector(pluginClassCache);
 
         for (PsiElement psiElement : psiElements) {
-            if (psiElement instanceof PhpClass || psiElement instanceof Method) {
-                List<? extends PsiElement> results;
-
-                if (psiElement instanceof PhpClass) {
-                    results = TargetClassesCollector.collect((PhpClass) psiElement);
-                    if (results.size() > 0 ) {
-                        collection.add(NavigationGutterIconBuilder
-                                .create(AllIcons.Nodes.Class)
-                                .setTargets(results)
-                                .setTooltipText("Navigate to target class")
-                                .createLineMarkerInfo(PsiTreeUtil.getDeepestFirst(psiElement))
-                        );
-                    }
-                } else {
-                    results = TargetMethodsCollector.collect((Method) psiElement);
-                    if (results.size() > 0 ) {
-                        collection.add(NavigationGutterIconBuilder
-                                .create(AllIcons.Nodes.Method)
-                                .setTargets(results)
-                                .setTooltipText("Navigate to target method")
-                                .createLineMarkerInfo(PsiTreeUtil.getDeepestFirst(psiElement))
-                        );
-                    }
+            if (psiElement instanceof PhpClass) {
+                PhpClass pluginClass = (PhpClass) psiElement;
+                if (TargetClassesCollector.exists(pluginClass)) {
+                    collection.add(NavigationGutterIconBuilder
+                            .create(AllIcons.Nodes.Class)
+                            .setTargets(new NotNullLazyValue<Collection<? extends PsiElement>>() {
+                                @NotNull
+                                @Override
+                                protected Collection<? extends PsiElement> compute() {
+                                    return new TargetClassesCollector(new PluginClassCache()).collect(pluginClass);
+                                }
+                            })
+                            .setTooltipText("Navigate to target class")
+                            .createLineMarkerInfo(PsiTreeUtil.getDeepestFirst(psiElement))
+                    );
+                }
+            } else if (psiElement instanceof Method) {
+                Method pluginMethod = (Method) psiElement;
+                if (TargetMethodsCollector.exists(pluginMethod)) {
+                    collection.add(NavigationGutterIconBuilder
+                            .create(AllIcons.Nodes.Method)
+                            .setTargets(new NotNullLazyValue<Collection<? extends PsiElement>>() {
+                                @NotNull
+                                @Override
+                                protected Collection<? extends PsiElement> compute() {
+                                    return new TargetMethodsCollector(new PluginClassCache()).collect(pluginMethod);
+                                }
+                            })
+                            .setTooltipText("Navigate to target method")
+                            .createLineMarkerInfo(PsiTreeUtil.getDeepestFirst(psiElement))
+                    );
                 }
-
             }
         }
     }
 
+    /**
+     * Target class names of the plugin classes, read from the index once per highlighting pass.
+     */
     private static class PluginClassCache {
-        private HashMap<String, List<PhpClass>> pluginClassesMap = new HashMap<String, List<PhpClass>>();
-
-        List<PhpClass> getTargetClassesForPlugin(@NotNull PhpClass phpClass, @NotNull String classFQN) {
-            List<PhpClass> results = new ArrayList<>();
-
-            if (pluginClassesMap.containsKey(classFQN)) {
-                return pluginClassesMap.get(classFQN);
+        private HashMap<String, List<String>> targetClassNamesMap = new HashMap<>();
+
+        List<String> getTargetClassNamesForPlugin(@NotNull PhpClass phpClass, @NotNull String classFQN) {
+            List<String> targetClassNames = targetClassNamesMap.get(classFQN);
+            if (targetClassNames == null) {
+                targetClassNames = GetTargetClassNamesByPluginClassName.getInstance(phpClass.getProject())
+                        .execute(classFQN);
+                targetClassNamesMap.put(classFQN, targetClassNames);
             }
 
-            GetTargetClassNamesByPluginClassName targetClassesService = GetTargetClassNamesByPluginClassName.getInstance(phpClass.getProject());
-            ArrayList<String> targetClassNames = targetClassesService.execute(classFQN);
-
-            if (targetClassNames.size() == 0) {
-                pluginClassesMap.put(classFQN, results);
-                return results;
-            }
+            return targetClassNames;
+        }
 
-            PhpIndex phpIndex = PhpIndex.getInstance(phpClass.getProject());
+        /**
+         * Target class names of the plugin and of its parents.
+         */
+        Set<String> getTargetClassNamesForPlugin(@NotNull PhpClass phpClass) {
+            Set<String> targetClassNames = new LinkedHashSet<>();
+            collectTargetClassNames(phpClass, targetClassNames, new HashSet<>());
 
-            for (String targetClassName : targetClassNames) {
-                Collection<PhpClass> targets = phpIndex.getClassesByFQN(targetClassName);
+            return targetClassNames;
+        }
 
-                results.addAll(targets);
+        List<PhpClass> getTargetClassesForPlugin(@NotNull PhpClass phpClass) {
+            List<PhpClass> results = new ArrayList<>();
+            PhpIndex phpIndex = PhpIndex.getInstance(phpClass.getProject());
+            for (String targetClassName : getTargetClassNamesForPlugin(phpClass)) {
+                results.addAll(phpIndex.getClassesByFQN(targetClassName));
             }
 
             return results;
         }
 
-        List<PhpClass> getTargetClassesForPlugin(@NotNull PhpClass phpClass) {
-            List<PhpClass> classesForPlugin = getTargetClassesForPlugin(phpClass, phpClass.getPresentableFQN());
+        private void collectTargetClassNames(
+                @NotNull PhpClass phpClass,
+                @NotNull Set<String> targetClassNames,
+                @NotNull Set<String> visitedClasses
+        ) {
+            String classFQN = phpClass.getPresentableFQN();
+            if (!visitedClasses.add(classFQN)) {
+                return;
+            }
+            targetClassNames.addAll(getTargetClassNamesForPlugin(phpClass, classFQN));
             for (PhpClass parent: phpClass.getSupers()) {
-                classesForPlugin.addAll(getTargetClassesForPlugin(parent));
+                collectTargetClassNames(parent, targetClassNames, visitedClasses);
             }
-
-            return classesForPlugin;
         }
     }
 
@@ -115,6 +137,11 @@ public class PluginTargetLineMarkerProvider implements LineMarkerProvider {
             this.pluginClassCache = pluginClassCache;
         }
 
+        @Override
+        public boolean exists(@NotNull PhpClass psiElement) {
+            return !pluginClassCache.getTargetClassNamesForPlugin(psiElement).isEmpty();
+        }
+
         @Override
         public List<PhpClass> collect(@NotNull PhpClass psiElement) {
             return pluginClassCache.getTargetClassesForPlugin(psiElement);
@@ -128,6 +155,33 @@ public class PluginTargetLineMarkerProvider implements LineMarkerProvider {
             this.pluginClassCache = pluginClassCache;
         }
 
+        /**
+         * Whether any target class has the intercepted method, checked against the PHP stubs.
+         */
+        @Override
+        public boolean exists(@NotNull Method pluginMethod) {
+            String pluginPrefix = getPluginPrefix(pluginMethod);
+            if (pluginPrefix == null) {
+                return false;
+            }
+            String targetClassMethodName = getTargetMethodName(pluginMethod, pluginPrefix);
+            PhpClass pluginClass = pluginMethod.getContainingClass();
+            if (targetClassMethodName == null || pluginClass == null) {
+                return false;
+            }
+
+            PhpIndex phpIndex = PhpIndex.getInstance(pluginMethod.getProject());
+            for (String targetClassName: pluginClassCache.getTargetClassNamesForPlugin(pluginClass)) {
+                for (PhpClass targetClass: phpIndex.getClassesByFQN(targetClassName)) {
+                    if (targetClass.findMethodByName(targetClassMethodName) != null) {
+                        return true;
+                    }
+                }
+            }
+
+            return false;
+        }
+
         @Override
         public List<Method> collect(@NotNull Method pluginMethod) {
             List<Method> results = new ArrayList<>();
@@ -197,6 +251,8 @@ public class PluginTargetLineMarkerProvider implements LineMarkerProvider {
     }
 
     private interface Collector<T extends PsiElement, K> {
+        boolean exists(@NotNull T psiElement);
+
         List<K> collect(@NotNull T psiElement);
     }
 }
@@ -7,13 +7,24 @@ package com.magento.idea.magento2plugin.linemarker.php;
 import com.intellij.codeInsight.daemon.LineMarkerInfo;
 import com.intellij.codeInsight.daemon.LineMarkerProvider;
 import com.intellij.codeInsight.navigation.NavigationGutterIconBuilder;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.NotNullLazyValue;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.xml.XmlTag;
+import com.jetbrains.php.lang.PhpLanguage;
 import com.jetbrains.php.lang.psi.elements.Method;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.magento.idea.magento2plugin.MagentoIcons;
+import com.magento.idea.magento2plugin.indexes.IndexModificationTracker;
 import com.magento.idea.magento2plugin.project.Settings;
 import com.magento.idea.magento2plugin.stubs.indexes.WebApiTypeIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.data.WebApiRouteData;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -27,6 +38,8 @@ import java.util.*;
  */
 public class WebApiLineMarkerProvider implements LineMarkerProvider {
 
+    private static final Key<CachedValue<ClassRoutes>> CLASS_ROUTES_KEY = Key.create("magento2plugin.webApiRoutes");
+
     @Nullable
     @Override
     public LineMarkerInfo getLineMarkerInfo(@NotNull PsiElement psiElement) {
@@ -41,12 +54,24 @@ public class WebApiLineMarkerProvider implements LineMarkerProvider {
             }
         }
         for (PsiElement psiElement: psiElements) {
-            WebApiRoutesCollector collector = new WebApiRoutesCollector();
-            List<XmlTag> results = new ArrayList<>();
+            List<WebApiRoute> results = new ArrayList<>();
             if (psiElement instanceof Method) {
-                results = collector.getRoutes((Method) psiElement);
+                Method method = (Method) psiElement;
+                PhpClass phpClass = method.getContainingClass();
+                if (phpClass != null && method.getAccess().isPublic()) {
+                    results = getClassRoutes(phpClass).getRoutes(method.getName());
+                }
             } else if (psiElement instanceof PhpClass) {
-                results = collector.getRoutes((PhpClass) psiElement);
+                PhpClass phpClass = (PhpClass) psiElement;
+                ClassRoutes classRoutes = getClassRoutes(phpClass);
+                if (!classRoutes.isEmpty()) {
+                    for (Method method : phpClass.getMethods()) {
+                        if (method.getAccess().isPublic()) {
+                            results.addAll(classRoutes.getRoutes(method.getName()));
+                        }
+                    }
+                    sortRoutes(results);
+                }
             }
 
             if (!(results.size() > 0)) {
@@ -54,97 +79,130 @@ public class WebApiLineMarkerProvider implements LineMarkerProvider {
             }
 
             StringBuilder tooltipText = new StringBuilder("Navigate to Web API configuration:<pre>");
-            for (XmlTag routeTag : results) {
-                tooltipText.append(routeTag.getName()).append("\n");
+            for (WebApiRoute route : results) {
+                tooltipText.append(route.getName()).append("\n");
             }
             tooltipText.append("</pre>");
+            List<WebApiRoute> routes = results;
+            Project project = psiElement.getProject();
             NavigationGutterIconBuilder<PsiElement> builder = NavigationGutterIconBuilder
                     .create(MagentoIcons.WEB_API)
-                    .setTargets(results)
+                    .setTargets(new NotNullLazyValue<Collection<? extends PsiElement>>() {
+                        @NotNull
+                        @Override
+                        protected Collection<? extends PsiElement> compute() {
+                            List<XmlTag> routeTags = new ArrayList<>();
+                            for (WebApiRoute route : routes) {
+                                XmlTag routeTag = WebApiTypeIndex.getWebApiRouteTag(project, route.file, route.data);
+                                if (routeTag != null) {
+                                    routeTags.add(routeTag);
+                                }
+                            }
+                            return routeTags;
+                        }
+                    })
                     .setTooltipText(tooltipText.toString());
             collection.add(builder.createLineMarkerInfo(psiElement));
         }
     }
 
     /**
-     * Web API config nodes collector for service methods and classes. Has built in caching.
+     * Web API routes of the class and of its parents, kept until webapi.xml files or the PHP code change.
+     */
+    @NotNull
+    private static ClassRoutes getClassRoutes(@NotNull PhpClass phpClass) {
+        return CachedValuesManager.getCachedValue(phpClass, CLASS_ROUTES_KEY, () -> {
+            Project project = phpClass.getProject();
+            ClassRoutes classRoutes = new ClassRoutes();
+            classRoutes.collect(phpClass, new HashSet<>());
+            classRoutes.sort();
+
+            return CachedValueProvider.Result.create(
+                    classRoutes,
+                    new IndexModificationTracker(WebApiTypeIndex.KEY, project),
+                    PsiModificationTracker.getInstance(project).forLanguage(PhpLanguage.INSTANCE)
+            );
+        });
+    }
+
+    private static final Map<String, Integer> HTTP_METHODS_SORT_ORDER = new HashMap<String, Integer>() {{
+        put("GET", 1);
+        put("PUT", 2);
+        put("POST", 3);
+        put("DELETE", 4);
+    }};
+
+    /**
+     * Make sure that routes are sorted as follows: GET, PUT, POST, DELETE. Then by path.
+     */
+    private static void sortRoutes(List<WebApiRoute> routes) {
+        routes.sort(
+            Comparator.<WebApiRoute>comparingInt(
+                route -> HTTP_METHODS_SORT_ORDER.getOrDefault(route.data.getHttpMethod(), Integer.MAX_VALUE)
+            ).thenComparing(route -> route.data.getUrl())
+        );
+    }
+
+    /**
+     * Web API routes of a class grouped by the name of the service method.
+     * <p/>
+     * Web API declarations for parent classes are taken into account.
      */
-    private static class WebApiRoutesCollector {
-
-        private HashMap<String, List<XmlTag>> routesCache = new HashMap<>();
-
-        private static final Map<String, Integer> HTTP_METHODS_SORT_ORDER = new HashMap<String, Integer>() {{
-            put("GET", 1);
-            put("PUT", 2);
-            put("POS", 3);
-            put("DEL", 4);
-        }};
-
-        /**
-         * Get sorted list of Web API routes related to the specified class.
-         */
-        List<XmlTag> getRoutes(@NotNull PhpClass phpClass) {
-            List<XmlTag> routesForClass = new ArrayList<>();
-            for (Method method : phpClass.getMethods()) {
-                routesForClass.addAll(getRoutes(method));
+    private static class ClassRoutes {
+
+        private final Map<String, List<WebApiRoute>> routesByMethod = new HashMap<>();
+
+        void collect(@NotNull PhpClass phpClass, @NotNull Set<String> visitedClasses) {
+            if (!visitedClasses.add(phpClass.getPresentableFQN())) {
+                return;
+            }
+            for (Map.Entry<VirtualFile, List<WebApiRouteData>> fileRoutes
+                    : WebApiTypeIndex.getWebApiRoutes(phpClass).entrySet()) {
+                for (WebApiRouteData route : fileRoutes.getValue()) {
+                    routesByMethod.computeIfAbsent(route.getServiceMethod(), k -> new ArrayList<>())
+                            .add(new WebApiRoute(fileRoutes.getKey(), route));
+                }
+            }
+            for (PhpClass parent : phpClass.getSupers()) {
+                collect(parent, visitedClasses);
             }
-            sortRoutes(routesForClass);
-            return routesForClass;
         }
 
-        /**
-         * Get list of Web API routes related to the specified method.
-         * <p/>
-         * Results are cached.
-         */
-        List<XmlTag> getRoutes(@NotNull Method method) {
-            String methodFqn = method.getFQN();
-            if (!routesCache.containsKey(methodFqn)) {
-                List<XmlTag> routesForMethod = extractRoutesForMethod(method);
-                sortRoutes(routesForMethod);
-                routesCache.put(methodFqn, routesForMethod);
+        void sort() {
+            for (List<WebApiRoute> routes : routesByMethod.values()) {
+                sortRoutes(routes);
             }
-            return routesCache.get(methodFqn);
         }
 
-        /**
-         * Get list of Web API routes related to the specified method.
-         * <p/>
-         * Web API declarations for parent classes are taken into account.
-         * Results are not cached.
-         */
-        List<XmlTag> extractRoutesForMethod(@NotNull Method method) {
-            List<XmlTag> routesForMethod = WebApiTypeIndex.getWebApiRoutes(method);
-            PhpClass phpClass = method.getContainingClass();
-            if (phpClass == null) {
-                return routesForMethod;
-            }
-            for (PhpClass parent : method.getContainingClass().getSupers()) {
-                for (Method parentMethod : parent.getMethods()) {
-                    if (parentMethod.getName().equals(method.getName())) {
-                        routesForMethod.addAll(extractRoutesForMethod(parentMethod));
-                    }
-                }
-            }
-            return routesForMethod;
+        boolean isEmpty() {
+            return routesByMethod.isEmpty();
         }
 
-        /**
-         * Make sure that routes are sorted as follows: GET, PUT, POST, DELETE. Then by path.
-         */
-        private void sortRoutes(List<XmlTag> routes) {
-            routes.sort(
-                (firstTag, secondTag) -> {
-                    String substring = firstTag.getName().substring(2, 5);
-                    Integer firstSortOrder = HTTP_METHODS_SORT_ORDER.get(substring);
-                    Integer secondSortOrder = HTTP_METHODS_SORT_ORDER.get(secondTag.getName().substring(2, 5));
-                    if (firstSortOrder.compareTo(secondSortOrder) == 0) {
-                        // Sort by route if HTTP methods are equal
-                        return firstTag.getName().compareTo(secondTag.getName());
-                    }
-                    return firstSortOrder.compareTo(secondSortOrder);
-                }
-            );
+        @NotNull
+        List<WebApiRoute> getRoutes(@NotNull String methodName) {
+            List<WebApiRoute> routes = routesByMethod.get(methodName);
+
+            return routes == null ? new ArrayList<>() : new ArrayList<>(routes);
+        }
+    }
+
+    /**
+     * Indexed route with the webapi.xml declaring it.
+     */
+    private static class WebApiRoute {
+
+        private final VirtualFile file;
+
+        private final WebApiRouteData data;
+
+        WebApiRoute(@NotNull VirtualFile file, @NotNull WebApiRouteData data) {
+            this.file = file;
+            this.data = data;
+        }
+
+        @NotNull
+        String getName() {
+            return String.format("  %-7s %s", data.getHttpMethod(), data.getUrl());
         }
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.linemarker.xml;
+
+import com.intellij.codeHighlighting.Pass;
+import com.intellij.codeInsight.daemon.LineMarkerInfo;
+import com.intellij.codeInsight.daemon.LineMarkerProvider;
+import com.intellij.codeInsight.navigation.NavigationGutterIconBuilder;
+import com.intellij.openapi.editor.markup.GutterIconRenderer;
+import com.intellij.openapi.util.NotNullLazyValue;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.xml.XmlAttribute;
+import com.intellij.psi.xml.XmlTag;
+import com.intellij.psi.xml.XmlToken;
+import com.intellij.psi.xml.XmlTokenType;
+import com.jetbrains.php.PhpIcons;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.PhpLangUtil;
+import com.magento.idea.magento2plugin.indexes.VirtualTypeGraph;
+import com.magento.idea.magento2plugin.magento.files.ModuleDiXml;
+import com.magento.idea.magento2plugin.project.Settings;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Gutter icon of the virtualType declarations in di.xml, the tooltip shows the chain of parent types down to the
+ * concrete class and the icon navigates to that class. Cyclic chains have no class, their icon only has the tooltip.
+ */
+public class VirtualTypeLineMarkerProvider implements LineMarkerProvider {
+    private static final String VIRTUAL_TYPE_TAG = "virtualType";
+    private static final String NAME_ATTRIBUTE = "name";
+    private static final String CHAIN_SEPARATOR = " -> ";
+
+    @Nullable
+    @Override
+    public LineMarkerInfo getLineMarkerInfo(@NotNull PsiElement psiElement) {
+        return null;
+    }
+
+    @Override
+    public void collectSlowLineMarkers(@NotNull List<PsiElement> list, @NotNull Collection<LineMarkerInfo> collection) {
+        if (list.isEmpty()
+                || !Settings.isEnabled(list.get(0).getProject())
+                || !ModuleDiXml.FILE_NAME.equals(list.get(0).getContainingFile().getName())) {
+            return;
+        }
+
+        VirtualTypeGraph virtualTypeGraph = VirtualTypeGraph.getInstance(list.get(0).getProject());
+        for (PsiElement psiElement: list) {
+            String name = getVirtualTypeName(psiElement);
+            if (name == null || !virtualTypeGraph.isVirtualType(name)) {
+                continue;
+            }
+
+            if (virtualTypeGraph.isCyclic(name)) {
+                // a cyclic chain has no concrete class to navigate to
+                String tooltipText = "Cyclic virtual type chain: "
+                        + String.join(CHAIN_SEPARATOR, virtualTypeGraph.getChain(name));
+                collection.add(new LineMarkerInfo<>(
+                        psiElement,
+                        psiElement.getTextRange(),
+                        PhpIcons.CLASS,
+                        Pass.LINE_MARKERS,
+                        element -> tooltipText,
+                        null,
+                        GutterIconRenderer.Alignment.LEFT
+                ));
+                continue;
+            }
+
+            String topType = virtualTypeGraph.getTopType(name);
+            String tooltipText = "Virtual type chain: " + String.join(CHAIN_SEPARATOR, virtualTypeGraph.getChain(name));
+            NavigationGutterIconBuilder<PsiElement> builder = NavigationGutterIconBuilder
+                    .create(PhpIcons.CLASS)
+                    .setTargets(new NotNullLazyValue<Collection<? extends PsiElement>>() {
+                        @NotNull
+                        @Override
+                        protected Collection<? extends PsiElement> compute() {
+                            return PhpIndex.getInstance(psiElement.getProject())
+                                    .getAnyByFQN(PhpLangUtil.toFQN(topType));
+                        }
+                    })
+                    .setTooltipText(tooltipText);
+
+            collection.add(builder.createLineMarkerInfo(psiElement));
+        }
+    }
+
+    /**
+     * Name of the virtual type declared by the attribute value token, null for any other element.
+     */
+    @Nullable
+    private static String getVirtualTypeName(@NotNull PsiElement psiElement) {
+        if (!(psiElement instanceof XmlToken)
+                || ((XmlToken) psiElement).getTokenType() != XmlTokenType.XML_ATTRIBUTE_VALUE_TOKEN) {
+            return null;
+        }
+
+        XmlAttribute attribute = PsiTreeUtil.getParentOfType(psiElement, XmlAttribute.class);
+        if (attribute == null || !NAME_ATTRIBUTE.equals(attribute.getName())) {
+            return null;
+        }
+        XmlTag tag = attribute.getParent();
+
+        return tag != null && VIRTUAL_TYPE_TAG.equals(tag.getName()) ? attribute.getValue() : null;
+    }
+}
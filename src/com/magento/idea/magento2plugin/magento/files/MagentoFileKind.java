@@ -0,0 +1,194 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.magento.files;
+
+import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.indexing.FileBasedIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Kinds of Magento XML configuration files, recognized by the file name or by the directory they are in.
+ *
+ * The indexes use the kinds as input filters, so only the files Magento reads are indexed. Files of test suites,
+ * test fixtures and deployed static content are never of any kind, they repeat the configuration of the modules.
+ * Other XML files of etc directories, like the ones of third party modules, are of the OTHER_CONFIG kind.
+ */
+public enum MagentoFileKind {
+    ACL(ModuleAclXml.FILE_NAME),
+    ADDRESS_FORMATS("address_formats.xml"),
+    ANALYTICS("analytics.xml", "reports.xml"),
+    CACHE("cache.xml"),
+    CATALOG_ATTRIBUTES("catalog_attributes.xml"),
+    CONFIG("config.xml"),
+    CRONTAB("crontab.xml"),
+    CRON_GROUPS(CronGroups.FILE_NAME_NO_EXTENSION + ".xml"),
+    CSP_WHITELIST("csp_whitelist.xml"),
+    DB_SCHEMA("db_schema.xml"),
+    DI(ModuleDiXml.FILE_NAME),
+    EMAIL_TEMPLATES("email_templates.xml"),
+    ESCONFIG("esconfig.xml"),
+    EVENTS(ModuleEventsXml.FILE_NAME),
+    EXTENSION_ATTRIBUTES("extension_attributes.xml"),
+    FIELDSET("fieldset.xml"),
+    IMPORT_EXPORT("import.xml", "export.xml"),
+    INDEXER("indexer.xml", "mview.xml"),
+    MENU("menu.xml"),
+    MODULE(ModuleXml.FILE_NAME),
+    PAGE_TYPES("page_types.xml"),
+    PAYMENT("payment.xml"),
+    PDF("pdf.xml"),
+    PRODUCT_OPTIONS("product_options.xml"),
+    PRODUCT_TYPES("product_types.xml"),
+    QUEUE("communication.xml", "queue.xml", "queue_consumer.xml", "queue_publisher.xml", "queue_topology.xml"),
+    ROUTES("routes.xml"),
+    SALES("sales.xml"),
+    SEARCH("search_request.xml", "search_engine.xml"),
+    SECTIONS("sections.xml"),
+    SYSTEM(ModuleSystemXml.FILE_NAME),
+    SYSTEM_INCLUDE(new String[0], "adminhtml/system"),
+    THEME("theme.xml", "view.xml"),
+    VALIDATION("validation.xml"),
+    WEBAPI("webapi.xml"),
+    WEBAPI_ASYNC("webapi_async.xml"),
+    WIDGET(ModuleWidgetXml.FILE_NAME),
+    ZIP_CODES("zip_codes.xml"),
+    LAYOUT(new String[0], "layout"),
+    PAGE_LAYOUT(new String[0], "page_layout"),
+    UI_COMPONENT(new String[0], "ui_component"),
+    // XML files of a module etc directory or its area directories which are of none of the kinds above
+    OTHER_CONFIG(new String[0], null);
+
+    private static final String[] EXCLUDED_PATHS = {
+            "/dev/tests/",
+            "/testsuite/",
+            "/_files/",
+            "/pub/static/",
+            "/var/view_preprocessed/",
+            "/node_modules/",
+    };
+    private static final String CONFIG_DIRECTORY = "etc";
+    private static final Map<String, MagentoFileKind> KINDS_BY_FILE_NAME = new HashMap<>();
+    private static final Map<String, Set<MagentoFileKind>> KINDS_BY_DIRECTORY_NAME = new HashMap<>();
+
+    static {
+        for (MagentoFileKind kind: values()) {
+            for (String fileName: kind.fileNames) {
+                KINDS_BY_FILE_NAME.put(fileName, kind);
+            }
+            if (kind.directory != null) {
+                String directoryName = kind.directory.substring(kind.directory.lastIndexOf('/') + 1);
+                KINDS_BY_DIRECTORY_NAME.computeIfAbsent(directoryName, k -> new HashSet<>()).add(kind);
+            }
+        }
+    }
+
+    private final Set<String> fileNames;
+    private final String directory;
+
+    MagentoFileKind(@NotNull String... fileNames) {
+        this(fileNames, null);
+    }
+
+    MagentoFileKind(@NotNull String[] fileNames, @Nullable String directory) {
+        this.fileNames = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(fileNames)));
+        this.directory = directory;
+    }
+
+    /**
+     * Names of the files of the kind, empty for the kinds recognized by the directory.
+     */
+    @NotNull
+    public Set<String> getFileNames() {
+        return fileNames;
+    }
+
+    public boolean matches(@NotNull VirtualFile file) {
+        return of(file) == this;
+    }
+
+    /**
+     * Kind of the file, null for files Magento doesn't read as configuration.
+     */
+    @Nullable
+    public static MagentoFileKind of(@NotNull VirtualFile file) {
+        if (file.isDirectory() || file.getFileType() != XmlFileType.INSTANCE || isExcluded(file)) {
+            return null;
+        }
+
+        VirtualFile parent = file.getParent();
+        if (parent != null) {
+            Set<MagentoFileKind> directoryKinds = KINDS_BY_DIRECTORY_NAME.get(parent.getName());
+            if (directoryKinds != null) {
+                String parentPath = parent.getPath();
+                for (MagentoFileKind kind: directoryKinds) {
+                    if (parentPath.endsWith("/" + kind.directory)) {
+                        return kind;
+                    }
+                }
+            }
+        }
+
+        MagentoFileKind kind = KINDS_BY_FILE_NAME.get(file.getName());
+        if (kind == null && isInConfigDirectory(parent)) {
+            return OTHER_CONFIG;
+        }
+
+        return kind;
+    }
+
+    /**
+     * Whether the directory is an etc directory or a directory placed in one, like etc/adminhtml.
+     */
+    private static boolean isInConfigDirectory(@Nullable VirtualFile directory) {
+        if (directory == null) {
+            return false;
+        }
+        VirtualFile parent = directory.getParent();
+
+        return CONFIG_DIRECTORY.equals(directory.getName())
+                || parent != null && CONFIG_DIRECTORY.equals(parent.getName());
+    }
+
+    public static boolean isConfigurationFile(@NotNull VirtualFile file) {
+        return of(file) != null;
+    }
+
+    /**
+     * Index input filter accepting the files of the given kinds.
+     */
+    @NotNull
+    public static FileBasedIndex.InputFilter inputFilter(@NotNull MagentoFileKind kind, MagentoFileKind... kinds) {
+        Set<MagentoFileKind> acceptedKinds = EnumSet.of(kind, kinds);
+
+        return file -> {
+            MagentoFileKind fileKind = of(file);
+            return fileKind != null && acceptedKinds.contains(fileKind);
+        };
+    }
+
+    /**
+     * Whether the file is in a test suite, a test fixture or deployed static content.
+     */
+    public static boolean isExcluded(@NotNull VirtualFile file) {
+        String path = file.getPath();
+        for (String excludedPath: EXCLUDED_PATHS) {
+            if (path.contains(excludedPath)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
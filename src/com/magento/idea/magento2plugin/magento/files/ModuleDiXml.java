@@ -23,6 +23,7 @@ public class ModuleDiXml implements ModuleFileInterface {
     public static String PREFERENCE_TAG_NAME = "preference";
     public static String PREFERENCE_ATTR_FOR = "for";
     public static String DISABLED_ATTR_NAME = "disabled";
+    public static String SORT_ORDER_ATTR_NAME = "sortOrder";
 
     private static ModuleDiXml INSTANCE = null;
 
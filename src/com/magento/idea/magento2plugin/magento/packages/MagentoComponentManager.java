@@ -6,6 +6,9 @@ package com.magento.idea.magento2plugin.magento.packages;
 
 import com.intellij.json.psi.JsonFile;
 import com.intellij.json.psi.JsonObject;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
@@ -17,30 +20,39 @@ import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.XmlFile;
 import com.intellij.psi.xml.XmlTag;
 import com.intellij.util.indexing.FileBasedIndex;
+import com.magento.idea.magento2plugin.indexes.IndexModificationTracker;
 import com.magento.idea.magento2plugin.stubs.indexes.ModulePackageIndex;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
+/**
+ * Project service which keeps the model of all Magento components (composer packages) of the project.
+ *
+ * The model is rebuilt only when the ModulePackageIndex changes and only components whose composer.json
+ * has been modified are parsed again. The model is published as an immutable snapshot, so reads take no lock,
+ * only a rebuild does.
+ */
 public class MagentoComponentManager {
-    private Map<String, MagentoComponent> components = new HashMap<>();
-    private long cacheStartTime;
-    private static final int CACHE_LIFE_TIME = 20000;
-    private static MagentoComponentManager magentoComponentManager;
-    private Project project;
+    private final Project project;
+    private final IndexModificationTracker modulePackageTracker;
+    private final Object snapshotLock = new Object();
+    private volatile ComponentsSnapshot snapshot = ComponentsSnapshot.EMPTY;
 
-    private MagentoComponentManager(Project project){
+    public MagentoComponentManager(@NotNull Project project) {
         this.project = project;
+        this.modulePackageTracker = new IndexModificationTracker(ModulePackageIndex.KEY, project);
     }
 
     public static MagentoComponentManager getInstance(@NotNull Project project) {
-        if (magentoComponentManager == null) {
-            magentoComponentManager = new MagentoComponentManager(project);
-        }
-        return magentoComponentManager;
+        return ServiceManager.getService(project, MagentoComponentManager.class);
     }
 
     public Collection<MagentoComponent> getAllComponents() {
@@ -50,100 +62,239 @@ public class MagentoComponentManager {
     @SuppressWarnings("unchecked")
     public <T extends MagentoComponent> Collection<T> getAllComponentsOfType(@NotNull Class<T> type) {
         Collection<T> result = new ArrayList<>();
-        Map<String, MagentoComponent> components = getComponents();
-        for (String key: components.keySet()) {
-            if (type.isInstance(components.get(key))) {
-                result.add((T)components.get(key));
+        for (MagentoComponent component: getComponents().values()) {
+            if (type.isInstance(component)) {
+                result.add((T) component);
             }
         }
 
         return result;
     }
 
-    synchronized private Map<String, MagentoComponent> getComponents() {
-        if (DumbService.getInstance(project).isDumb() || project.isDisposed()) {
-            return new HashMap<>();
+    /**
+     * Modules in the order Magento loads them, by name and then moved after the modules of their sequence.
+     */
+    @NotNull
+    public List<MagentoModule> getModulesInLoadOrder() {
+        Map<String, MagentoModule> modulesByName = new TreeMap<>();
+        for (MagentoModule module: getAllComponentsOfType(MagentoModule.class)) {
+            modulesByName.putIfAbsent(module.getMagentoName(), module);
+        }
+
+        Map<String, MagentoModule> loadOrder = new LinkedHashMap<>();
+        for (String moduleName: modulesByName.keySet()) {
+            addInLoadOrder(moduleName, modulesByName, loadOrder, new ArrayList<>());
         }
 
-        if (cacheStartTime + CACHE_LIFE_TIME < System.currentTimeMillis()) {
-            flushModules();
-            loadModules();
-            cacheStartTime = System.currentTimeMillis();
+        return new ArrayList<>(loadOrder.values());
+    }
+
+    private static void addInLoadOrder(
+            @NotNull String moduleName,
+            @NotNull Map<String, MagentoModule> modulesByName,
+            @NotNull Map<String, MagentoModule> loadOrder,
+            @NotNull List<String> path
+    ) {
+        MagentoModule module = modulesByName.get(moduleName);
+        // unknown modules and circular sequences don't move anything
+        if (module == null || loadOrder.containsKey(moduleName) || path.contains(moduleName)) {
+            return;
+        }
+        path.add(moduleName);
+        for (String sequenceName: module.getSequence()) {
+            addInLoadOrder(sequenceName, modulesByName, loadOrder, path);
         }
+        path.remove(path.size() - 1);
+        loadOrder.put(moduleName, module);
+    }
 
-        return components;
+    private Map<String, MagentoComponent> getComponents() {
+        return getSnapshot().components;
+    }
+
+    @NotNull
+    private ComponentsSnapshot getSnapshot() {
+        if (project.isDisposed() || DumbService.getInstance(project).isDumb()) {
+            return ComponentsSnapshot.EMPTY;
+        }
+
+        ComponentsSnapshot current = snapshot;
+        long modificationStamp = modulePackageTracker.getModificationCount();
+        if (current.modificationStamp == modificationStamp) {
+            return current;
+        }
+
+        // callers which find the snapshot outdated at the same time wait for the one rebuilding it
+        synchronized (snapshotLock) {
+            current = snapshot;
+            if (current.modificationStamp != modificationStamp) {
+                current = loadModules(current, modificationStamp);
+                snapshot = current;
+            }
+        }
+
+        return current;
     }
 
     @Nullable
     public MagentoComponent getComponentForFile(@NotNull PsiFile psiFile) {
-        for (MagentoComponent magentoComponent: this.getAllComponents()) {
-            if (magentoComponent.isFileInContext(psiFile)) {
-                return magentoComponent;
-            }
+        return getComponentOfTypeForFile(psiFile, MagentoComponent.class);
+    }
+
+    /**
+     * Find the closest component containing the file by walking up its directories,
+     * so the lookup cost depends on the path depth rather than on the number of components.
+     */
+    @Nullable
+    public <T extends MagentoComponent> T getComponentOfTypeForFile(@NotNull PsiFile psiFile, @NotNull Class<T> type) {
+        PsiDirectory containingDirectory = psiFile.getOriginalFile().getContainingDirectory();
+        if (containingDirectory == null) {
+            return null;
         }
 
-        return null;
+        return getComponentOfTypeForDirectory(containingDirectory.getVirtualFile(), type);
+    }
+
+    /**
+     * Closest component containing the file, for files found through an index without loading their PSI.
+     */
+    @Nullable
+    public <T extends MagentoComponent> T getComponentOfTypeForFile(@NotNull VirtualFile file, @NotNull Class<T> type) {
+        return getComponentOfTypeForDirectory(file.getParent(), type);
     }
 
     @Nullable
     @SuppressWarnings("unchecked")
-    public <T extends MagentoComponent> T getComponentOfTypeForFile(@NotNull PsiFile psiFile, @NotNull Class<T> type) {
-        for (MagentoComponent magentoComponent: this.getAllComponents()) {
-            if (type.isInstance(magentoComponent) && magentoComponent.isFileInContext(psiFile)) {
-                return (T)magentoComponent;
+    private <T extends MagentoComponent> T getComponentOfTypeForDirectory(
+            @Nullable VirtualFile directory,
+            @NotNull Class<T> type
+    ) {
+        Map<VirtualFile, MagentoComponent> componentsByDirectory = getSnapshot().componentsByDirectory;
+
+        while (directory != null) {
+            MagentoComponent magentoComponent = componentsByDirectory.get(directory);
+            if (type.isInstance(magentoComponent)) {
+                return (T) magentoComponent;
             }
+            directory = directory.getParent();
         }
 
         return null;
     }
 
-    synchronized public void flushModules() {
-        components = new HashMap<>();
+    public void flushModules() {
+        snapshot = ComponentsSnapshot.EMPTY;
     }
 
-    private void loadModules() {
-        Collection<String> packages = FileBasedIndex.getInstance().getAllKeys(ModulePackageIndex.KEY, this.project);
+    /**
+     * Build a new snapshot reusing the components of the previous one whose composer.json is unchanged.
+     */
+    private ComponentsSnapshot loadModules(@NotNull ComponentsSnapshot previous, long modificationStamp) {
+        Map<String, ComponentEntry> entries = new HashMap<>();
+        FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+        GlobalSearchScope scope = GlobalSearchScope.allScope(this.project);
         PsiManager psiManager = PsiManager.getInstance(this.project);
-        for (String packageName: packages) {
-            if (components.containsKey(packageName)) {
+
+        for (String packageName: fileBasedIndex.getAllKeys(ModulePackageIndex.KEY, this.project)) {
+            Collection<VirtualFile> containingFiles = fileBasedIndex
+                .getContainingFiles(ModulePackageIndex.KEY, packageName, scope);
+            if (containingFiles.isEmpty()) {
                 continue;
             }
+            VirtualFile configurationFile = containingFiles.iterator().next();
+            long contentStamp = getContentStamp(configurationFile);
 
-            Collection<VirtualFile> containingFiles = FileBasedIndex.getInstance()
-                .getContainingFiles(ModulePackageIndex.KEY, packageName, GlobalSearchScope.allScope(this.project));
-
-            if (containingFiles.size() > 0) {
-                VirtualFile configurationFile = containingFiles.iterator().next();
-
-                PsiFile psiFile = psiManager.findFile(configurationFile);
-                if (psiFile != null && psiFile instanceof JsonFile) {
-                    JsonObject jsonObject = PsiTreeUtil.getChildOfType((JsonFile) psiFile, JsonObject.class);
-                    if (jsonObject == null) {
-                        continue;
-                    }
-
-                    MagentoComponent magentoComponent;
-                    ComposerPackageModel composerPackageModel = new ComposerPackageModelImpl(jsonObject);
-                    if ("magento2-module".equals(composerPackageModel.getType())) {
-                        magentoComponent = new MagentoModuleImpl(new ComposerPackageModelImpl(jsonObject), psiFile.getContainingDirectory());
-                    } else {
-                        magentoComponent = new MagentoComponentImp(new ComposerPackageModelImpl(jsonObject), psiFile.getContainingDirectory());
-                    }
-
-                    components.put(
-                        packageName,
-                        magentoComponent
-                    );
-                }
+            ComponentEntry previousEntry = previous.entries.get(packageName);
+            if (previousEntry != null && previousEntry.isUpToDate(configurationFile, contentStamp)) {
+                entries.put(packageName, previousEntry);
+                continue;
+            }
+
+            MagentoComponent magentoComponent = createComponent(psiManager.findFile(configurationFile));
+            if (magentoComponent != null) {
+                entries.put(packageName, new ComponentEntry(configurationFile, contentStamp, magentoComponent));
             }
         }
+
+        return new ComponentsSnapshot(modificationStamp, entries);
+    }
+
+    @Nullable
+    private static MagentoComponent createComponent(@Nullable PsiFile psiFile) {
+        if (!(psiFile instanceof JsonFile) || psiFile.getContainingDirectory() == null) {
+            return null;
+        }
+        JsonObject jsonObject = PsiTreeUtil.getChildOfType((JsonFile) psiFile, JsonObject.class);
+        if (jsonObject == null) {
+            return null;
+        }
+
+        ComposerPackageModel composerPackageModel = new ComposerPackageModelImpl(jsonObject);
+        if ("magento2-module".equals(composerPackageModel.getType())) {
+            return new MagentoModuleImpl(composerPackageModel, psiFile.getContainingDirectory());
+        }
+
+        return new MagentoComponentImp(composerPackageModel, psiFile.getContainingDirectory());
+    }
+
+    /**
+     * Modification stamp of the file content, including not yet saved changes.
+     */
+    static long getContentStamp(@NotNull VirtualFile virtualFile) {
+        Document document = FileDocumentManager.getInstance().getCachedDocument(virtualFile);
+
+        return document != null ? document.getModificationStamp() : virtualFile.getModificationStamp();
+    }
+
+    private static class ComponentEntry {
+        private final VirtualFile configurationFile;
+        private final long contentStamp;
+        private final MagentoComponent component;
+
+        ComponentEntry(@NotNull VirtualFile configurationFile, long contentStamp, @NotNull MagentoComponent component) {
+            this.configurationFile = configurationFile;
+            this.contentStamp = contentStamp;
+            this.component = component;
+        }
+
+        boolean isUpToDate(@NotNull VirtualFile configurationFile, long contentStamp) {
+            return this.configurationFile.equals(configurationFile)
+                && this.contentStamp == contentStamp
+                && component.getDirectory().isValid();
+        }
+    }
+
+    private static class ComponentsSnapshot {
+        static final ComponentsSnapshot EMPTY = new ComponentsSnapshot(-1, Collections.emptyMap());
+
+        private final long modificationStamp;
+        private final Map<String, ComponentEntry> entries;
+        private final Map<String, MagentoComponent> components;
+        private final Map<VirtualFile, MagentoComponent> componentsByDirectory;
+
+        ComponentsSnapshot(long modificationStamp, @NotNull Map<String, ComponentEntry> entries) {
+            this.modificationStamp = modificationStamp;
+            this.entries = entries;
+
+            Map<String, MagentoComponent> components = new HashMap<>();
+            Map<VirtualFile, MagentoComponent> componentsByDirectory = new HashMap<>();
+            for (Map.Entry<String, ComponentEntry> entry: entries.entrySet()) {
+                MagentoComponent component = entry.getValue().component;
+                components.put(entry.getKey(), component);
+                componentsByDirectory.put(entry.getValue().configurationFile.getParent(), component);
+            }
+            this.components = Collections.unmodifiableMap(components);
+            this.componentsByDirectory = componentsByDirectory;
+        }
     }
 }
 
 class MagentoModuleImpl extends MagentoComponentImp implements MagentoModule {
     private static final String DEFAULT_MODULE_NAME = "Undefined module";
     private static final String CONFIGURATION_PATH = "etc";
-    private String moduleName;
+    private static final ModuleConfiguration DEFAULT_CONFIGURATION
+            = new ModuleConfiguration(-1, DEFAULT_MODULE_NAME, Collections.emptyList());
+    private volatile ModuleConfiguration configuration;
 
     public MagentoModuleImpl(@NotNull ComposerPackageModel composerPackageModel, @NotNull PsiDirectory directory) {
         super(composerPackageModel, directory);
@@ -151,26 +302,63 @@ class MagentoModuleImpl extends MagentoComponentImp implements MagentoModule {
 
     @Override
     public String getMagentoName() {
-        if (moduleName != null) {
-            return moduleName;
-        }
+        return getConfiguration().name;
+    }
 
+    @Override
+    public List<String> getSequence() {
+        return getConfiguration().sequence;
+    }
+
+    @NotNull
+    private ModuleConfiguration getConfiguration() {
         PsiDirectory configurationDir = directory.findSubdirectory(CONFIGURATION_PATH);
-        if (configurationDir != null) {
-            PsiFile configurationFile = configurationDir.findFile("module.xml");
-
-            if (configurationFile != null && configurationFile instanceof XmlFile) {
-                XmlTag rootTag = ((XmlFile) configurationFile).getRootTag();
-                if (rootTag != null) {
-                    XmlTag module = rootTag.findFirstSubTag("module");
-                    if (module != null && module.getAttributeValue("name") != null) {
-                        moduleName = module.getAttributeValue("name");
-                        return moduleName;
-                    }
+        if (configurationDir == null) {
+            return DEFAULT_CONFIGURATION;
+        }
+        PsiFile configurationFile = configurationDir.findFile("module.xml");
+        if (!(configurationFile instanceof XmlFile)) {
+            return DEFAULT_CONFIGURATION;
+        }
+
+        long stamp = MagentoComponentManager.getContentStamp(configurationFile.getVirtualFile());
+        ModuleConfiguration cachedConfiguration = configuration;
+        if (cachedConfiguration != null && cachedConfiguration.stamp == stamp) {
+            return cachedConfiguration;
+        }
+
+        XmlTag rootTag = ((XmlFile) configurationFile).getRootTag();
+        XmlTag module = rootTag != null ? rootTag.findFirstSubTag("module") : null;
+        String name = module != null ? module.getAttributeValue("name") : null;
+        if (name == null) {
+            return DEFAULT_CONFIGURATION;
+        }
+
+        List<String> sequence = new ArrayList<>();
+        XmlTag sequenceTag = module.findFirstSubTag("sequence");
+        if (sequenceTag != null) {
+            for (XmlTag sequenceModule: sequenceTag.findSubTags("module")) {
+                String sequenceName = sequenceModule.getAttributeValue("name");
+                if (sequenceName != null) {
+                    sequence.add(sequenceName);
                 }
             }
         }
+        cachedConfiguration = new ModuleConfiguration(stamp, name, Collections.unmodifiableList(sequence));
+        configuration = cachedConfiguration;
 
-        return DEFAULT_MODULE_NAME;
+        return cachedConfiguration;
+    }
+
+    private static class ModuleConfiguration {
+        private final long stamp;
+        private final String name;
+        private final List<String> sequence;
+
+        ModuleConfiguration(long stamp, @NotNull String name, @NotNull List<String> sequence) {
+            this.stamp = stamp;
+            this.name = name;
+            this.sequence = sequence;
+        }
     }
 }
@@ -4,6 +4,13 @@
  */
 package com.magento.idea.magento2plugin.magento.packages;
 
+import java.util.List;
+
 public interface MagentoModule extends MagentoComponent {
     String getMagentoName();
+
+    /**
+     * Names of the modules of the module.xml sequence, loaded before this one.
+     */
+    List<String> getSequence();
 }
@@ -4,22 +4,40 @@
  */
 package com.magento.idea.magento2plugin.magento.packages;
 
+import com.intellij.openapi.vfs.VirtualFile;
+
 public class Package {
     public static String PACKAGES_ROOT = "app/code";
     public static String APP = "app";
     public static String VENDOR = "vendor";
     public static String MODULE_BASE_AREA_DIR = "etc";
+    public static String MODULE_VIEW_DIR = "view";
+    public static String THEMES_ROOT_DIR = "design";
     public static String VENDOR_MODULE_NAME_SEPARATOR = "_";
     public static String FQN_SEPARATOR = "\\";
 
+    /**
+     * Areas with the ids they are stored by in the index values. An id must never change or be reused, new areas
+     * take the next free one.
+     */
     public static enum Areas {
-        base,
-        adminhtml,
-        frontend,
-        crontab,
-        webapi_rest,
-        webapi_soap,
-        graphql
+        base(1),
+        adminhtml(2),
+        frontend(3),
+        crontab(4),
+        webapi_rest(5),
+        webapi_soap(6),
+        graphql(7);
+
+        private final int id;
+
+        Areas(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
     }
 
     public static enum License {
@@ -55,4 +73,84 @@ public class Package {
 
         return null;
     }
+
+    /**
+     * Resolve area name by the name of the directory a configuration file is placed in
+     * (etc/di.xml belongs to the base area, etc/adminhtml/di.xml to the adminhtml area).
+     */
+    public static String getAreaNameByConfigDirectory(String directoryName) {
+        if (MODULE_BASE_AREA_DIR.equals(directoryName)) {
+            return Package.Areas.base.toString();
+        }
+        Package.Areas area = getAreaByString(directoryName);
+
+        return area == null ? "" : area.toString();
+    }
+
+    /**
+     * Resolve area name by the path of a configuration file, see getAreaNameByConfigDirectory.
+     */
+    public static String getAreaNameByConfigFile(VirtualFile file) {
+        VirtualFile parent = file.getParent();
+
+        return parent == null ? "" : getAreaNameByConfigDirectory(parent.getName());
+    }
+
+    /**
+     * Stable id of the area for the index values, 0 for an unknown or empty area.
+     */
+    public static int getAreaId(String areaName) {
+        Package.Areas area = getAreaByString(areaName);
+
+        return area == null ? 0 : area.getId();
+    }
+
+    /**
+     * Area name of the id returned by getAreaId, empty for 0 and for unknown ids.
+     */
+    public static String getAreaNameById(int areaId) {
+        for (Package.Areas area: Package.Areas.values()) {
+            if (area.getId() == areaId) {
+                return area.toString();
+            }
+        }
+
+        return "";
+    }
+
+    /**
+     * Resolve area name by the path of a view file, the directory following the view directory of a module
+     * (view/frontend/layout/default.xml) or the design directory of a theme (app/design/frontend/Vendor/theme/...).
+     * The outermost one wins like in ModuleViewFileIndex and RequireJsModuleIndex, view directories of web/js
+     * are not the module one.
+     */
+    public static String getAreaNameByViewFilePath(String path) {
+        String[] directories = path.split("/");
+        for (int i = 0; i < directories.length - 1; i++) {
+            if (!MODULE_VIEW_DIR.equals(directories[i]) && !THEMES_ROOT_DIR.equals(directories[i])) {
+                continue;
+            }
+            Package.Areas area = getAreaByString(directories[i + 1]);
+            if (area != null) {
+                return area.toString();
+            }
+        }
+
+        return "";
+    }
+
+    /**
+     * Resolve theme name (Vendor/theme) by the path of a file placed in app/design/area/Vendor/theme,
+     * empty for files of the modules.
+     */
+    public static String getThemeNameByViewFilePath(String path) {
+        String[] directories = path.split("/");
+        for (int i = directories.length - 5; i >= 0; i--) {
+            if (THEMES_ROOT_DIR.equals(directories[i]) && getAreaByString(directories[i + 1]) != null) {
+                return directories[i + 2] + "/" + directories[i + 3];
+            }
+        }
+
+        return "";
+    }
 }
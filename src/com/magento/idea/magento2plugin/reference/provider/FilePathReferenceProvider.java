@@ -4,17 +4,19 @@
  */
 package com.magento.idea.magento2plugin.reference.provider;
 
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.vfs.*;
 import com.intellij.psi.*;
 import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.ProcessingContext;
-import com.magento.idea.magento2plugin.reference.provider.util.GetAllSubFilesOfVirtualFileUtil;
 import com.magento.idea.magento2plugin.reference.provider.util.GetFilePathUtil;
 import com.magento.idea.magento2plugin.reference.provider.util.GetModuleNameUtil;
 import com.magento.idea.magento2plugin.reference.provider.util.GetModuleSourceFilesUtil;
 import com.magento.idea.magento2plugin.reference.xml.PolyVariantReferenceBase;
+import com.magento.idea.magento2plugin.stubs.indexes.ModuleViewFileIndex;
+import com.magento.idea.magento2plugin.util.magento.FileBasedIndexUtil;
 import gnu.trove.THashMap;
 import org.jetbrains.annotations.NotNull;
 import java.util.*;
@@ -136,23 +138,14 @@ public class FilePathReferenceProvider extends PsiReferenceProvider {
                 });
             }
         } else if (isModuleNamePresent(element)) {
-            // extension absent
-            Collection<VirtualFile> vfs = GetModuleSourceFilesUtil.getInstance().execute(element.getText(), element.getProject());
-            if (null != vfs) {
-                for (VirtualFile vf : vfs) {
-                    Collection<VirtualFile> vfChildren = GetAllSubFilesOfVirtualFileUtil.
-                            getInstance().execute(vf);
-                    if (null != vfChildren) {
-                        vfChildren.removeIf(f -> {
-                            if (!f.isDirectory()) {
-                                String ext = f.getExtension();
-                                if (null != ext) {
-                                    return !f.getPath().endsWith(filePath.concat(".").concat(ext));
-                                }
-                            }
-                            return true;
-                        });
-                        files.addAll(vfChildren);
+            // extension absent, the view files of the module are looked up in the index
+            String moduleName = GetModuleNameUtil.getInstance().execute(element.getText());
+            Project project = element.getProject();
+            for (VirtualFile viewVf : FileBasedIndexUtil.findViewVfsByModuleName(moduleName, project)) {
+                for (VirtualFile file : ModuleViewFileIndex.getViewFiles(project, viewVf).keySet()) {
+                    String ext = file.getExtension();
+                    if (null != ext && file.getPath().endsWith(filePath.concat(".").concat(ext))) {
+                        files.add(file);
                     }
                 }
             }
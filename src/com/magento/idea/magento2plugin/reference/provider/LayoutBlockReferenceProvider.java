@@ -5,16 +5,17 @@
 package com.magento.idea.magento2plugin.reference.provider;
 
 import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.PsiReferenceProvider;
-import com.intellij.psi.xml.XmlTag;
 import com.intellij.util.ProcessingContext;
 import com.magento.idea.magento2plugin.indexes.LayoutIndex;
-import com.magento.idea.magento2plugin.reference.xml.PolyVariantReferenceBase;
+import com.magento.idea.magento2plugin.reference.xml.LayoutComponentReference;
+import com.magento.idea.magento2plugin.stubs.indexes.data.LayoutElementData;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
+import java.util.Map;
 
 public class LayoutBlockReferenceProvider  extends PsiReferenceProvider {
 
@@ -22,9 +23,12 @@ public class LayoutBlockReferenceProvider  extends PsiReferenceProvider {
     @Override
     public PsiReference[] getReferencesByElement(@NotNull PsiElement element, @NotNull ProcessingContext context) {
         String value = StringUtil.unquoteString(element.getText());
-        List<XmlTag> targets = LayoutIndex.getBlockDeclarations(value, element.getProject());
-        if (targets.size() > 0) {
-            return new PsiReference[] {new PolyVariantReferenceBase(element, targets)};
+        Map<VirtualFile, LayoutElementData> declarations =
+                LayoutIndex.getBlockDeclarationData(value, element.getProject());
+        if (declarations.size() > 0) {
+            return new PsiReference[] {
+                    new LayoutComponentReference(element, value, LayoutIndex.BLOCK_TAG, declarations)
+            };
         }
         return PsiReference.EMPTY_ARRAY;
     }
@@ -0,0 +1,76 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.reference.xml;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementResolveResult;
+import com.intellij.psi.PsiPolyVariantReferenceBase;
+import com.intellij.psi.ResolveResult;
+import com.intellij.psi.impl.source.resolve.ResolveCache;
+import com.intellij.psi.xml.XmlTag;
+import com.magento.idea.magento2plugin.indexes.LayoutIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.data.LayoutElementData;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reference to the declarations of a layout block or container.
+ *
+ * Declarations are known from the index when the reference is created, the layout files are parsed
+ * only when the reference is resolved.
+ */
+public class LayoutComponentReference extends PsiPolyVariantReferenceBase<PsiElement> {
+    private static final ResolveCache.PolyVariantResolver<LayoutComponentReference> RESOLVER =
+            (reference, incompleteCode) -> reference.resolveDeclarations();
+
+    private final String componentName;
+    private final String componentType;
+    private final Map<VirtualFile, LayoutElementData> declarations;
+
+    public LayoutComponentReference(
+            @NotNull PsiElement element,
+            @NotNull String componentName,
+            @NotNull String componentType,
+            @NotNull Map<VirtualFile, LayoutElementData> declarations
+    ) {
+        super(element);
+        this.componentName = componentName;
+        this.componentType = componentType;
+        this.declarations = declarations;
+    }
+
+    @NotNull
+    @Override
+    public ResolveResult[] multiResolve(boolean incompleteCode) {
+        return ResolveCache.getInstance(getElement().getProject())
+                .resolveWithCaching(this, RESOLVER, false, incompleteCode);
+    }
+
+    @NotNull
+    private ResolveResult[] resolveDeclarations() {
+        List<XmlTag> targets = LayoutIndex.resolveComponentDeclarations(
+                componentName,
+                componentType,
+                declarations,
+                getElement().getProject()
+        );
+        ResolveResult[] resolveResults = new ResolveResult[targets.size()];
+
+        int i = 0;
+        for (XmlTag target : targets) {
+            resolveResults[i++] = new PsiElementResolveResult(target);
+        }
+        return resolveResults;
+    }
+
+    @NotNull
+    @Override
+    public Object[] getVariants() {
+        return new Object[0];
+    }
+}
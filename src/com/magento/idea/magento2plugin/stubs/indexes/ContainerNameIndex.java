@@ -7,29 +7,25 @@ package com.magento.idea.magento2plugin.stubs.indexes;
 import com.intellij.util.indexing.DataIndexer;
 import com.intellij.util.indexing.FileContent;
 import com.intellij.util.indexing.ID;
+import com.magento.idea.magento2plugin.stubs.indexes.data.LayoutElementData;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Created by dkvashnin on 11/18/15.
  */
 public class ContainerNameIndex extends NamedComponentIndex {
-    public static final ID<String, Void> KEY =
+    public static final ID<String, LayoutElementData> KEY =
             ID.create("com.magento.idea.magento2plugin.stubs.indexes.container_name");
 
     @NotNull
     @Override
-    public ID<String, Void> getName() {
+    public ID<String, LayoutElementData> getName() {
         return KEY;
     }
 
     @NotNull
     @Override
-    public DataIndexer<String, Void, FileContent> getIndexer() {
+    public DataIndexer<String, LayoutElementData, FileContent> getIndexer() {
         return new LayoutDataIndexer("container", "name");
     }
-
-    @Override
-    public int getVersion() {
-        return 1;
-    }
 }
\ No newline at end of file
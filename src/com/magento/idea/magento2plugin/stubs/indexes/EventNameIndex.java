@@ -4,7 +4,6 @@
  */
 package com.magento.idea.magento2plugin.stubs.indexes;
 
-import com.intellij.ide.highlighter.XmlFileType;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
@@ -19,6 +18,7 @@ import com.jetbrains.php.lang.PhpFileType;
 import com.jetbrains.php.lang.psi.PhpFile;
 import com.jetbrains.php.lang.psi.elements.MethodReference;
 import com.jetbrains.php.lang.psi.elements.ParameterList;
+import com.magento.idea.magento2plugin.magento.files.MagentoFileKind;
 import com.magento.idea.magento2plugin.project.Settings;
 import com.magento.idea.magento2plugin.util.php.PhpPatternsHelper;
 import org.jetbrains.annotations.NotNull;
@@ -121,7 +121,7 @@ public class EventNameIndex extends ScalarIndexExtension<String> {
     public FileBasedIndex.InputFilter getInputFilter() {
         return file -> (
                 file.getFileType() == PhpFileType.INSTANCE
-                    || (file.getFileType() == XmlFileType.INSTANCE && file.getName().equals("events.xml"))
+                    || MagentoFileKind.EVENTS.matches(file)
         );
     }
 
@@ -132,6 +132,6 @@ public class EventNameIndex extends ScalarIndexExtension<String> {
 
     @Override
     public int getVersion() {
-        return 1;
+        return 2;
     }
 }
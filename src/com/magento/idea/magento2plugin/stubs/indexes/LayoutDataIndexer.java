@@ -4,24 +4,26 @@
  */
 package com.magento.idea.magento2plugin.stubs.indexes;
 
-import com.intellij.psi.PsiFile;
-import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.psi.xml.XmlDocument;
-import com.intellij.psi.xml.XmlFile;
-import com.intellij.psi.xml.XmlTag;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.util.indexing.DataIndexer;
 import com.intellij.util.indexing.FileContent;
+import com.magento.idea.magento2plugin.magento.packages.Package;
 import com.magento.idea.magento2plugin.project.Settings;
+import com.magento.idea.magento2plugin.stubs.indexes.data.LayoutElementData;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlParser;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlTag;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 /**
  * Created by dkvashnin on 11/18/15.
  */
-public class LayoutDataIndexer implements DataIndexer<String, Void, FileContent> {
+public class LayoutDataIndexer implements DataIndexer<String, LayoutElementData, FileContent> {
     private String indexTag;
 
     private String indexAttribute;
@@ -40,42 +42,37 @@ public class LayoutDataIndexer implements DataIndexer<String, Void, FileContent>
 
     @NotNull
     @Override
-    public Map<String, Void> map(@NotNull FileContent fileContent) {
-        Map<String, Void> map = new HashMap<>();
+    public Map<String, LayoutElementData> map(@NotNull FileContent fileContent) {
+        Map<String, LayoutElementData> map = new HashMap<>();
 
-        PsiFile psiFile = fileContent.getPsiFile();
-        if (!Settings.isEnabled(psiFile.getProject())) {
+        if (!Settings.isEnabled(fileContent.getProject())) {
             return map;
         }
 
-        if (!(psiFile instanceof XmlFile)) {
+        LightXmlTag rootTag = LightXmlParser.parse(fileContent.getContentAsText());
+        if (rootTag == null) {
             return map;
         }
+        Map<String, List<Integer>> offsets = new HashMap<>();
+        fillResultMap(rootTag, offsets);
 
-        XmlDocument document = ((XmlFile) psiFile).getDocument();
-        if (document == null) {
-            return map;
-        }
-
-        XmlTag xmlTags[] = PsiTreeUtil.getChildrenOfType(psiFile.getFirstChild(), XmlTag.class);
-        if (xmlTags == null) {
-            return map;
-        }
-
-        for (XmlTag xmlTag: xmlTags) {
-            fillResultMap(xmlTag, map);
+        VirtualFile file = fileContent.getFile();
+        String handle = file.getNameWithoutExtension();
+        String area = Package.getAreaNameByViewFilePath(file.getPath());
+        for (Map.Entry<String, List<Integer>> entry: offsets.entrySet()) {
+            map.put(entry.getKey(), new LayoutElementData(handle, area, entry.getValue()));
         }
 
         return map;
     }
 
-    private void fillResultMap(XmlTag parentTag, Map<String, Void> resultMap) {
-        for (XmlTag childTag: parentTag.getSubTags()) {
+    private void fillResultMap(LightXmlTag parentTag, Map<String, List<Integer>> resultMap) {
+        for (LightXmlTag childTag: parentTag.getSubTags()) {
             if (childTag.getName().equals(indexTag)) {
                 String attributeValue = childTag.getAttributeValue(indexAttribute);
                 if (attributeValue != null) {
                     attributeValue = valueProcessor != null ? valueProcessor.apply(attributeValue) : attributeValue;
-                    resultMap.put(attributeValue, null);
+                    resultMap.computeIfAbsent(attributeValue, k -> new ArrayList<>()).add(childTag.getOffset());
                 }
             }
             fillResultMap(childTag, resultMap);
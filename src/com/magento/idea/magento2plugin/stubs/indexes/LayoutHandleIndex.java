@@ -0,0 +1,68 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.magento.idea.magento2plugin.indexes.LayoutIndex;
+import com.magento.idea.magento2plugin.project.Settings;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+
+/**
+ * Layout and page layout files by the handle they declare.
+ *
+ * The handle is the file name, the files are not loaded to index them. Content independent indexes may be updated
+ * without a project, the settings can't be checked and the handle is indexed in that case.
+ */
+public class LayoutHandleIndex extends ScalarIndexExtension<String> {
+    public static final ID<String, Void> KEY =
+            ID.create("com.magento.idea.magento2plugin.stubs.indexes.layout_handle");
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    @NotNull
+    @Override
+    public ID<String, Void> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Void, FileContent> getIndexer() {
+        return inputData -> {
+            Project project = inputData.getProject();
+            if (project != null && !Settings.isEnabled(project)) {
+                return Collections.emptyMap();
+            }
+
+            return Collections.singletonMap(inputData.getFile().getNameWithoutExtension(), null);
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return LayoutIndex::isLayoutFile;
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return false;
+    }
+
+    @Override
+    public int getVersion() {
+        return 4;
+    }
+}
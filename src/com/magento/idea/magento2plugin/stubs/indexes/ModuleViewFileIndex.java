@@ -0,0 +1,117 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.magento.idea.magento2plugin.magento.files.MagentoFileKind;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import com.magento.idea.magento2plugin.stubs.indexes.data.ModuleViewFileData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.ModuleViewFileDataExternalizer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Files of the module view directories by the path of the view directory, with their area, kind and relative path.
+ *
+ * The index only depends on the file paths, a lookup of the view directory lists the templates, layouts and web
+ * files of a module without walking the directory.
+ */
+public class ModuleViewFileIndex extends FileBasedIndexExtension<String, ModuleViewFileData> {
+    public static final ID<String, ModuleViewFileData> KEY =
+            ID.create("com.magento.idea.magento2plugin.stubs.indexes.module_view_file");
+    private static final String VIEW_DIRECTORY = "/" + Package.MODULE_VIEW_DIR + "/";
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    @NotNull
+    @Override
+    public ID<String, ModuleViewFileData> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, ModuleViewFileData, FileContent> getIndexer() {
+        return inputData -> {
+            String path = inputData.getFile().getPath();
+
+            // the outermost view directory followed by an area, web/js/view directories are not the module one
+            int viewIndex = path.indexOf(VIEW_DIRECTORY);
+            while (viewIndex >= 0) {
+                String[] segments = path.substring(viewIndex + VIEW_DIRECTORY.length()).split("/", 3);
+                if (segments.length == 3 && Package.getAreaByString(segments[0]) != null) {
+                    return Collections.singletonMap(
+                            path.substring(0, viewIndex + VIEW_DIRECTORY.length() - 1),
+                            new ModuleViewFileData(segments[0], segments[1], segments[2])
+                    );
+                }
+                viewIndex = path.indexOf(VIEW_DIRECTORY, viewIndex + 1);
+            }
+
+            return Collections.emptyMap();
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<ModuleViewFileData> getValueExternalizer() {
+        return ModuleViewFileDataExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> !file.isDirectory()
+                && file.getPath().contains(VIEW_DIRECTORY)
+                && !MagentoFileKind.isExcluded(file);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return false;
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    /**
+     * Files of the view directory of a module.
+     */
+    @NotNull
+    public static Map<VirtualFile, ModuleViewFileData> getViewFiles(
+            @NotNull Project project,
+            @NotNull VirtualFile viewDirectory
+    ) {
+        Map<VirtualFile, ModuleViewFileData> viewFiles = new HashMap<>();
+        FileBasedIndex.getInstance().processValues(
+                KEY,
+                viewDirectory.getPath(),
+                null,
+                (file, value) -> {
+                    viewFiles.put(file, value);
+                    return true;
+                },
+                GlobalSearchScope.allScope(project)
+        );
+
+        return viewFiles;
+    }
+}
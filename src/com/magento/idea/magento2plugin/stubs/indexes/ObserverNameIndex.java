@@ -0,0 +1,147 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.magento.idea.magento2plugin.magento.files.MagentoFileKind;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import com.magento.idea.magento2plugin.project.Settings;
+import com.magento.idea.magento2plugin.stubs.indexes.data.ObserverDeclarationData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.ObserverDeclarationDataExternalizer;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlParser;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlTag;
+import com.magento.idea.magento2plugin.util.magento.GetModuleNameByConfigFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Observer declarations of events.xml files by the event and the observer name.
+ *
+ * Keys are the event name and the observer name joined with a slash, event names never contain one. The values carry
+ * the module and the area of the declaration, the module name is read from registration.php or module.xml of the
+ * module when the file is indexed.
+ */
+public class ObserverNameIndex extends FileBasedIndexExtension<String, List<ObserverDeclarationData>> {
+    public static final ID<String, List<ObserverDeclarationData>> KEY =
+            ID.create("com.magento.idea.magento2plugin.stubs.indexes.observer_name");
+    private static final String KEY_SEPARATOR = "/";
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    @NotNull
+    @Override
+    public ID<String, List<ObserverDeclarationData>> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<ObserverDeclarationData>, FileContent> getIndexer() {
+        return inputData -> {
+            Map<String, List<ObserverDeclarationData>> map = new HashMap<>();
+
+            if (!Settings.isEnabled(inputData.getProject())) {
+                return map;
+            }
+
+            LightXmlTag rootTag = LightXmlParser.parse(inputData.getContentAsText());
+            if (rootTag == null || !rootTag.getName().equals("config")) {
+                return map;
+            }
+
+            String moduleName = GetModuleNameByConfigFile.execute(inputData.getFile());
+            String area = Package.getAreaNameByConfigFile(inputData.getFile());
+            for (LightXmlTag eventNode: rootTag.findSubTags("event")) {
+                String eventName = eventNode.getAttributeValue("name");
+                if (eventName == null) {
+                    continue;
+                }
+                for (LightXmlTag observerNode: eventNode.findSubTags("observer")) {
+                    String observerName = observerNode.getAttributeValue("name");
+                    if (observerName == null) {
+                        continue;
+                    }
+                    map.computeIfAbsent(getKey(eventName, observerName), k -> new ArrayList<>()).add(
+                            new ObserverDeclarationData(
+                                    moduleName,
+                                    area,
+                                    "true".equals(observerNode.getAttributeValue("disabled")),
+                                    observerNode.getOffset()
+                            )
+                    );
+                }
+            }
+
+            return map;
+        };
+    }
+
+    @NotNull
+    public static String getKey(@NotNull String eventName, @NotNull String observerName) {
+        return eventName + KEY_SEPARATOR + observerName;
+    }
+
+    /**
+     * Declarations of the observer for the event grouped by events.xml, read from the index only.
+     */
+    @NotNull
+    public static Map<VirtualFile, List<ObserverDeclarationData>> getObserverDeclarations(
+            @NotNull Project project,
+            @NotNull String eventName,
+            @NotNull String observerName
+    ) {
+        Map<VirtualFile, List<ObserverDeclarationData>> result = new HashMap<>();
+
+        FileBasedIndex.getInstance().processValues(
+                KEY,
+                getKey(eventName, observerName),
+                null,
+                (virtualFile, observers) -> {
+                    result.computeIfAbsent(virtualFile, k -> new ArrayList<>()).addAll(observers);
+                    return true;
+                },
+                GlobalSearchScope.allScope(project)
+        );
+
+        return result;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<ObserverDeclarationData>> getValueExternalizer() {
+        return ObserverDeclarationDataExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return MagentoFileKind.inputFilter(MagentoFileKind.EVENTS);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+}
@@ -4,74 +4,67 @@
  */
 package com.magento.idea.magento2plugin.stubs.indexes;
 
-import com.intellij.ide.highlighter.XmlFileType;
-import com.intellij.psi.PsiFile;
-import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.psi.xml.XmlDocument;
-import com.intellij.psi.xml.XmlFile;
-import com.intellij.psi.xml.XmlTag;
 import com.intellij.util.indexing.*;
 import com.intellij.util.io.DataExternalizer;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
 import com.jetbrains.php.lang.PhpLangUtil;
-import com.jetbrains.php.lang.psi.stubs.indexes.StringSetDataExternalizer;
+import com.magento.idea.magento2plugin.magento.files.MagentoFileKind;
+import com.magento.idea.magento2plugin.magento.files.ModuleDiXml;
+import com.magento.idea.magento2plugin.magento.packages.Package;
 import com.magento.idea.magento2plugin.project.Settings;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PluginData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PluginDataExternalizer;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlParser;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlTag;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-public class PluginIndex extends FileBasedIndexExtension<String, Set<String>> {
-    public static final ID<String, Set<String>> KEY
+/**
+ * Plugins declared in di.xml files by the intercepted type.
+ */
+public class PluginIndex extends FileBasedIndexExtension<String, Set<PluginData>> {
+    public static final ID<String, Set<PluginData>> KEY
             = ID.create("com.magento.idea.magento2plugin.stubs.indexes.plugin_to_type");
     private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
 
     @NotNull
     @Override
-    public ID<String, Set<String>> getName() {
+    public ID<String, Set<PluginData>> getName() {
         return KEY;
     }
 
     @NotNull
     @Override
-    public DataIndexer<String, Set<String>, FileContent> getIndexer() {
-        return new DataIndexer<String, Set<String>, FileContent>() {
+    public DataIndexer<String, Set<PluginData>, FileContent> getIndexer() {
+        return new DataIndexer<String, Set<PluginData>, FileContent>() {
             @NotNull
             @Override
-            public Map<String, Set<String>> map(@NotNull FileContent fileContent) {
-                Map<String, Set<String>> map = new HashMap<>();
+            public Map<String, Set<PluginData>> map(@NotNull FileContent fileContent) {
+                Map<String, Set<PluginData>> map = new HashMap<>();
 
-                PsiFile psiFile = fileContent.getPsiFile();
-                if (!Settings.isEnabled(psiFile.getProject())) {
+                if (!Settings.isEnabled(fileContent.getProject())) {
                     return map;
                 }
 
-                if (!(psiFile instanceof XmlFile)) {
-                    return map;
-                }
-                XmlDocument document = ((XmlFile) psiFile).getDocument();
-                if(document == null) {
+                LightXmlTag rootTag = LightXmlParser.parse(fileContent.getContentAsText());
+                if (rootTag == null || !rootTag.getName().equals("config")) {
                     return map;
                 }
 
-                XmlTag xmlTags[] = PsiTreeUtil.getChildrenOfType(psiFile.getFirstChild(), XmlTag.class);
-                if (xmlTags == null) {
-                    return map;
-                }
-
-                for (XmlTag xmlTag: xmlTags) {
-                    if (xmlTag.getName().equals("config")) {
-                        for (XmlTag typeNode: xmlTag.findSubTags("type")) {
-                            String typeName = typeNode.getAttributeValue("name");
-                            if (typeName != null) {
-                                Set<String> plugins = getPluginsForType(typeNode);
-                                if (plugins.size() > 0) {
-                                    map.put(PhpLangUtil.toPresentableFQN(typeName), plugins);
-                                }
-                            }
+                String area = Package.getAreaNameByConfigFile(fileContent.getFile());
+                for (LightXmlTag typeNode: rootTag.findSubTags(ModuleDiXml.PLUGIN_TYPE_TAG)) {
+                    String typeName = typeNode.getAttributeValue(ModuleDiXml.PLUGIN_TYPE_ATTR_NAME);
+                    if (typeName != null) {
+                        Set<PluginData> plugins = getPluginsForType(typeNode, area);
+                        if (plugins.size() > 0) {
+                            map.computeIfAbsent(PhpLangUtil.toPresentableFQN(typeName), k -> new HashSet<>())
+                                    .addAll(plugins);
                         }
                     }
                 }
@@ -79,20 +72,42 @@ public class PluginIndex extends FileBasedIndexExtension<String, Set<String>> {
                 return map;
             }
 
-            private Set<String> getPluginsForType(XmlTag typeNode) {
-                Set<String> results = new HashSet<String>();
+            private Set<PluginData> getPluginsForType(LightXmlTag typeNode, String area) {
+                Set<PluginData> results = new HashSet<>();
 
-                for (XmlTag pluginTag: typeNode.findSubTags("plugin")) {
-                    String pluginType = pluginTag.getAttributeValue("type");
-                    if (pluginType != null) {
-                        results.add(PhpLangUtil.toPresentableFQN(pluginType));
+                for (LightXmlTag pluginTag: typeNode.findSubTags(ModuleDiXml.PLUGIN_TAG_NAME)) {
+                    String pluginName = pluginTag.getAttributeValue(ModuleDiXml.PLUGIN_TYPE_ATTR_NAME);
+                    String pluginType = pluginTag.getAttributeValue(ModuleDiXml.PLUGIN_TYPE_ATTRIBUTE);
+                    if (pluginName == null && pluginType == null) {
+                        continue;
                     }
+
+                    results.add(new PluginData(
+                            pluginName == null ? "" : pluginName,
+                            pluginType == null ? "" : PhpLangUtil.toPresentableFQN(pluginType),
+                            getSortOrder(pluginTag.getAttributeValue(ModuleDiXml.SORT_ORDER_ATTR_NAME)),
+                            "true".equals(pluginTag.getAttributeValue(ModuleDiXml.DISABLED_ATTR_NAME)),
+                            area,
+                            pluginTag.getOffset()
+                    ));
                 }
                 return results;
             }
         };
     }
 
+    private static int getSortOrder(@Nullable String sortOrder) {
+        if (sortOrder == null) {
+            return 0;
+        }
+
+        try {
+            return Integer.parseInt(sortOrder.trim());
+        } catch (NumberFormatException exception) {
+            return 0;
+        }
+    }
+
     @NotNull
     @Override
     public KeyDescriptor<String> getKeyDescriptor() {
@@ -101,15 +116,14 @@ public class PluginIndex extends FileBasedIndexExtension<String, Set<String>> {
 
     @NotNull
     @Override
-    public DataExternalizer<Set<String>> getValueExternalizer() {
-        return new StringSetDataExternalizer();
+    public DataExternalizer<Set<PluginData>> getValueExternalizer() {
+        return PluginDataExternalizer.INSTANCE;
     }
 
     @NotNull
     @Override
     public FileBasedIndex.InputFilter getInputFilter() {
-        return virtualFile -> (virtualFile.getFileType() == XmlFileType.INSTANCE
-                && virtualFile.getNameWithoutExtension().equals("di"));
+        return MagentoFileKind.inputFilter(MagentoFileKind.DI);
     }
 
     @Override
@@ -119,6 +133,6 @@ public class PluginIndex extends FileBasedIndexExtension<String, Set<String>> {
 
     @Override
     public int getVersion() {
-        return 1;
+        return 3;
     }
 }
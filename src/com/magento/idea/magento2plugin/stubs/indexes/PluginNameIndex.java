@@ -0,0 +1,152 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpLangUtil;
+import com.magento.idea.magento2plugin.magento.files.MagentoFileKind;
+import com.magento.idea.magento2plugin.magento.files.ModuleDiXml;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import com.magento.idea.magento2plugin.project.Settings;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PluginDeclarationData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PluginDeclarationDataExternalizer;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlParser;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlTag;
+import com.magento.idea.magento2plugin.util.magento.GetModuleNameByConfigFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plugin declarations of di.xml files by the intercepted type and the plugin name.
+ *
+ * Keys are the type name and the plugin name joined with a slash, type names never contain one. The values carry
+ * the module, the area and the plugin class of the declaration, the module name is read from registration.php or
+ * module.xml of the module when the file is indexed. The sort order is not kept, the index only answers where
+ * a plugin name is declared.
+ */
+public class PluginNameIndex extends FileBasedIndexExtension<String, List<PluginDeclarationData>> {
+    public static final ID<String, List<PluginDeclarationData>> KEY =
+            ID.create("com.magento.idea.magento2plugin.stubs.indexes.plugin_name");
+    private static final String KEY_SEPARATOR = "/";
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    @NotNull
+    @Override
+    public ID<String, List<PluginDeclarationData>> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<PluginDeclarationData>, FileContent> getIndexer() {
+        return inputData -> {
+            Map<String, List<PluginDeclarationData>> map = new HashMap<>();
+
+            if (!Settings.isEnabled(inputData.getProject())) {
+                return map;
+            }
+
+            LightXmlTag rootTag = LightXmlParser.parse(inputData.getContentAsText());
+            if (rootTag == null || !rootTag.getName().equals("config")) {
+                return map;
+            }
+
+            String moduleName = GetModuleNameByConfigFile.execute(inputData.getFile());
+            String area = Package.getAreaNameByConfigFile(inputData.getFile());
+            for (LightXmlTag typeNode: rootTag.findSubTags(ModuleDiXml.PLUGIN_TYPE_TAG)) {
+                String typeName = typeNode.getAttributeValue(ModuleDiXml.PLUGIN_TYPE_ATTR_NAME);
+                if (typeName == null) {
+                    continue;
+                }
+                for (LightXmlTag pluginTag: typeNode.findSubTags(ModuleDiXml.PLUGIN_TAG_NAME)) {
+                    String pluginName = pluginTag.getAttributeValue(ModuleDiXml.PLUGIN_TYPE_ATTR_NAME);
+                    if (pluginName == null) {
+                        continue;
+                    }
+                    String pluginType = pluginTag.getAttributeValue(ModuleDiXml.PLUGIN_TYPE_ATTRIBUTE);
+                    map.computeIfAbsent(getKey(typeName, pluginName), k -> new ArrayList<>()).add(
+                            new PluginDeclarationData(
+                                    moduleName,
+                                    pluginType == null ? "" : PhpLangUtil.toPresentableFQN(pluginType),
+                                    area,
+                                    "true".equals(pluginTag.getAttributeValue(ModuleDiXml.DISABLED_ATTR_NAME)),
+                                    pluginTag.getOffset()
+                            )
+                    );
+                }
+            }
+
+            return map;
+        };
+    }
+
+    @NotNull
+    public static String getKey(@NotNull String typeName, @NotNull String pluginName) {
+        return PhpLangUtil.toPresentableFQN(typeName) + KEY_SEPARATOR + pluginName;
+    }
+
+    /**
+     * Declarations of the plugin for the type grouped by di.xml, read from the index only.
+     */
+    @NotNull
+    public static Map<VirtualFile, List<PluginDeclarationData>> getPluginDeclarations(
+            @NotNull Project project,
+            @NotNull String typeName,
+            @NotNull String pluginName
+    ) {
+        Map<VirtualFile, List<PluginDeclarationData>> result = new HashMap<>();
+
+        FileBasedIndex.getInstance().processValues(
+                KEY,
+                getKey(typeName, pluginName),
+                null,
+                (virtualFile, plugins) -> {
+                    result.computeIfAbsent(virtualFile, k -> new ArrayList<>()).addAll(plugins);
+                    return true;
+                },
+                GlobalSearchScope.allScope(project)
+        );
+
+        return result;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<PluginDeclarationData>> getValueExternalizer() {
+        return PluginDeclarationDataExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return MagentoFileKind.inputFilter(MagentoFileKind.DI);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+}
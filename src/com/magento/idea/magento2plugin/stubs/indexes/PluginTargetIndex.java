@@ -0,0 +1,107 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes;
+
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.jetbrains.php.lang.PhpLangUtil;
+import com.magento.idea.magento2plugin.magento.files.MagentoFileKind;
+import com.magento.idea.magento2plugin.magento.files.ModuleDiXml;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import com.magento.idea.magento2plugin.project.Settings;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PluginTargetData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PluginTargetDataExternalizer;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlParser;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlTag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse of the PluginIndex: plugin class FQN to the types it intercepts.
+ */
+public class PluginTargetIndex extends FileBasedIndexExtension<String, Set<PluginTargetData>> {
+    public static final ID<String, Set<PluginTargetData>> KEY
+            = ID.create("com.magento.idea.magento2plugin.stubs.indexes.plugin_target");
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    @NotNull
+    @Override
+    public ID<String, Set<PluginTargetData>> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Set<PluginTargetData>, FileContent> getIndexer() {
+        return fileContent -> {
+            Map<String, Set<PluginTargetData>> map = new HashMap<>();
+
+            if (!Settings.isEnabled(fileContent.getProject())) {
+                return map;
+            }
+
+            LightXmlTag rootTag = LightXmlParser.parse(fileContent.getContentAsText());
+            if (rootTag == null || !rootTag.getName().equals("config")) {
+                return map;
+            }
+
+            String area = Package.getAreaNameByConfigFile(fileContent.getFile());
+            for (LightXmlTag typeNode: rootTag.findSubTags(ModuleDiXml.PLUGIN_TYPE_TAG)) {
+                String typeName = typeNode.getAttributeValue(ModuleDiXml.PLUGIN_TYPE_ATTR_NAME);
+                if (typeName == null || typeName.isEmpty()) {
+                    continue;
+                }
+                typeName = PhpLangUtil.toPresentableFQN(typeName);
+
+                for (LightXmlTag pluginTag: typeNode.findSubTags(ModuleDiXml.PLUGIN_TAG_NAME)) {
+                    String pluginType = pluginTag.getAttributeValue(ModuleDiXml.PLUGIN_TYPE_ATTRIBUTE);
+                    if (pluginType == null || pluginType.isEmpty()) {
+                        continue;
+                    }
+                    String pluginName = pluginTag.getAttributeValue(ModuleDiXml.PLUGIN_TYPE_ATTR_NAME);
+
+                    map.computeIfAbsent(PhpLangUtil.toPresentableFQN(pluginType), k -> new HashSet<>())
+                            .add(new PluginTargetData(typeName, area, pluginName == null ? "" : pluginName));
+                }
+            }
+
+            return map;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Set<PluginTargetData>> getValueExternalizer() {
+        return PluginTargetDataExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return MagentoFileKind.inputFilter(MagentoFileKind.DI);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+}
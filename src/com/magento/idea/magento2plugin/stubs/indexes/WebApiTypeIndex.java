@@ -4,77 +4,85 @@
  */
 package com.magento.idea.magento2plugin.stubs.indexes;
 
-import com.intellij.ide.highlighter.XmlFileType;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.psi.xml.XmlDocument;
 import com.intellij.psi.xml.XmlFile;
 import com.intellij.psi.xml.XmlTag;
 import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
 import com.jetbrains.php.lang.PhpLangUtil;
-import com.jetbrains.php.lang.psi.elements.Method;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.magento.idea.magento2plugin.magento.files.MagentoFileKind;
 import com.magento.idea.magento2plugin.project.Settings;
+import com.magento.idea.magento2plugin.stubs.indexes.data.WebApiRouteData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.WebApiRouteDataExternalizer;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlParser;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlTag;
 import com.magento.idea.magento2plugin.linemarker.xml.LineMarkerXmlTagDecorator;
 import org.jetbrains.annotations.NonNls;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
 /**
  * Indexer for classes/interfaces which have methods exposed via Web API.
+ *
+ * Values are the routes of the class within the file, so route lists are built without loading webapi.xml.
  */
-public class WebApiTypeIndex extends ScalarIndexExtension<String> {
+public class WebApiTypeIndex extends FileBasedIndexExtension<String, List<WebApiRouteData>> {
 
-    public static final ID<String, Void> KEY = ID.create("com.magento.idea.magento2plugin.stubs.indexes.webapi_type");
+    public static final ID<String, List<WebApiRouteData>> KEY
+            = ID.create("com.magento.idea.magento2plugin.stubs.indexes.webapi_type");
+
+    private static final String ROUTE_TAG = "route";
 
     private final KeyDescriptor<String> keyDescriptor = new EnumeratorStringDescriptor();
 
     @NotNull
     @Override
-    public ID<String, Void> getName() {
+    public ID<String, List<WebApiRouteData>> getName() {
         return KEY;
     }
 
     @NotNull
     @Override
-    public DataIndexer<String, Void, FileContent> getIndexer() {
+    public DataIndexer<String, List<WebApiRouteData>, FileContent> getIndexer() {
         return inputData -> {
-            Map<String, Void> map = new HashMap<>();
-
-            PsiFile psiFile = inputData.getPsiFile();
-            if (!Settings.isEnabled(psiFile.getProject())) {
-                return map;
-            }
-
-            if (!(psiFile instanceof XmlFile)) {
-                return map;
-            }
+            Map<String, List<WebApiRouteData>> map = new HashMap<>();
 
-            XmlDocument document = ((XmlFile) psiFile).getDocument();
-            if (document == null) {
+            if (!Settings.isEnabled(inputData.getProject())) {
                 return map;
             }
 
-            XmlTag xmlTags[] = PsiTreeUtil.getChildrenOfType(psiFile.getFirstChild(), XmlTag.class);
-            if (xmlTags == null) {
+            LightXmlTag rootTag = LightXmlParser.parse(inputData.getContentAsText());
+            if (rootTag == null || !rootTag.getName().equals("routes")) {
                 return map;
             }
 
-            for (XmlTag xmlTag : xmlTags) {
-                if (xmlTag.getName().equals("routes")) {
-                    for (XmlTag routeNode : xmlTag.findSubTags("route")) {
-                        for (XmlTag serviceNode : routeNode.findSubTags("service")) {
-                            String typeName = serviceNode.getAttributeValue("class");
-                            if (typeName != null) {
-                                map.put(PhpLangUtil.toPresentableFQN(typeName), null);
-                            }
-                        }
+            for (LightXmlTag routeNode : rootTag.findSubTags(ROUTE_TAG)) {
+                String httpMethod = routeNode.getAttributeValue("method");
+                String url = routeNode.getAttributeValue("url");
+                List<String> resources = getResources(routeNode);
+                for (LightXmlTag serviceNode : routeNode.findSubTags("service")) {
+                    String typeName = serviceNode.getAttributeValue("class");
+                    String methodName = serviceNode.getAttributeValue("method");
+                    if (typeName != null && methodName != null) {
+                        map.computeIfAbsent(PhpLangUtil.toPresentableFQN(typeName), k -> new ArrayList<>()).add(
+                                new WebApiRouteData(
+                                        methodName,
+                                        httpMethod == null ? "" : httpMethod.toUpperCase(),
+                                        url == null ? "" : url,
+                                        resources,
+                                        routeNode.getOffset()
+                                )
+                        );
                     }
                 }
             }
@@ -82,19 +90,35 @@ public class WebApiTypeIndex extends ScalarIndexExtension<String> {
         };
     }
 
+    private static List<String> getResources(@NotNull LightXmlTag routeNode) {
+        List<String> resources = new ArrayList<>();
+        for (LightXmlTag resourcesNode : routeNode.findSubTags("resources")) {
+            for (LightXmlTag resourceNode : resourcesNode.findSubTags("resource")) {
+                String ref = resourceNode.getAttributeValue("ref");
+                if (ref != null) {
+                    resources.add(ref);
+                }
+            }
+        }
+        return resources;
+    }
+
     @NotNull
     @Override
     public KeyDescriptor<String> getKeyDescriptor() {
         return keyDescriptor;
     }
 
+    @NotNull
+    @Override
+    public DataExternalizer<List<WebApiRouteData>> getValueExternalizer() {
+        return WebApiRouteDataExternalizer.INSTANCE;
+    }
+
     @NotNull
     @Override
     public FileBasedIndex.InputFilter getInputFilter() {
-        return file -> (
-             file.getFileType() == XmlFileType.INSTANCE && file.getNameWithoutExtension().equals("webapi")
-                && !file.getPath().contains("testsuite") && !file.getPath().contains("_files")
-        );
+        return MagentoFileKind.inputFilter(MagentoFileKind.WEBAPI);
     }
 
     @Override
@@ -104,55 +128,47 @@ public class WebApiTypeIndex extends ScalarIndexExtension<String> {
 
     @Override
     public int getVersion() {
-        return 1;
+        return 3;
     }
 
     /**
-     * Get list of Web API routes associated with the provided method.
+     * Get Web API routes of the class methods grouped by webapi.xml, read from the index only.
      *
      * Parent classes are not taken into account.
      */
-    public static List<XmlTag> getWebApiRoutes(Method method) {
-        List<XmlTag> tags = new ArrayList<>();
-        if (!method.getAccess().isPublic()) {
-            return tags;
-        }
-        PhpClass phpClass = method.getContainingClass();
-        String methodFqn = method.getName();
-        if (phpClass == null) {
-            return tags;
-        }
-        String classFqn = phpClass.getPresentableFQN();
-        Collection<VirtualFile> containingFiles = FileBasedIndex
-            .getInstance().getContainingFiles(KEY, classFqn, GlobalSearchScope.allScope(phpClass.getProject()));
-
-        PsiManager psiManager = PsiManager.getInstance(phpClass.getProject());
-        for (VirtualFile virtualFile : containingFiles) {
-            XmlFile file = (XmlFile) psiManager.findFile(virtualFile);
-            if (file == null) {
-                continue;
-            }
-            XmlTag rootTag = file.getRootTag();
-            fillRelatedTags(classFqn, methodFqn, rootTag, tags);
-        }
-        return tags;
+    public static Map<VirtualFile, List<WebApiRouteData>> getWebApiRoutes(PhpClass phpClass) {
+        Map<VirtualFile, List<WebApiRouteData>> result = new HashMap<>();
+
+        FileBasedIndex.getInstance().processValues(
+                KEY,
+                phpClass.getPresentableFQN(),
+                null,
+                (virtualFile, routes) -> {
+                    result.computeIfAbsent(virtualFile, k -> new ArrayList<>()).addAll(routes);
+                    return true;
+                },
+                GlobalSearchScope.allScope(phpClass.getProject())
+        );
+
+        return result;
     }
 
     /**
-     * Find routes related to the specified method within single webapi.xml
+     * Route tag of the indexed route, null if webapi.xml changed since it was indexed.
      */
-    private static void fillRelatedTags(String classFqn, String methodFqn, XmlTag parentTag, List<XmlTag> tagsReferences) {
-        for (XmlTag routeNode : parentTag.findSubTags("route")) {
-            for (XmlTag serviceNode : routeNode.findSubTags("service")) {
-                String typeName = serviceNode.getAttributeValue("class");
-                String methodName = serviceNode.getAttributeValue("method");
-                if (typeName != null && typeName.equals(classFqn)
-                    && methodName != null && methodName.equals(methodFqn)
-                ) {
-                    tagsReferences.add(new WebApiLineMarkerXmlTagDecorator(routeNode));
-                }
-            }
+    @Nullable
+    public static XmlTag getWebApiRouteTag(Project project, VirtualFile virtualFile, WebApiRouteData route) {
+        PsiFile psiFile = PsiManager.getInstance(project).findFile(virtualFile);
+        if (!(psiFile instanceof XmlFile)) {
+            return null;
         }
+
+        XmlTag routeTag = PsiTreeUtil.getParentOfType(psiFile.findElementAt(route.getOffset()), XmlTag.class, false);
+        if (routeTag == null || !routeTag.getName().equals(ROUTE_TAG)) {
+            return null;
+        }
+
+        return new WebApiLineMarkerXmlTagDecorator(routeTag);
     }
 
     /**
@@ -0,0 +1,62 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Field of a GraphQL schema type resolved by a PHP class with the @resolver directive.
+ */
+public class GraphQlResolverData {
+    private final String typeName;
+    private final String fieldName;
+    private final int offset;
+
+    public GraphQlResolverData(@NotNull String typeName, @NotNull String fieldName, int offset) {
+        this.typeName = typeName;
+        this.fieldName = fieldName;
+        this.offset = offset;
+    }
+
+    /**
+     * Name of the object or interface type declaring the field.
+     */
+    @NotNull
+    public String getTypeName() {
+        return typeName;
+    }
+
+    @NotNull
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Offset of the resolver class string in the @resolver directive.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        GraphQlResolverData that = (GraphQlResolverData) o;
+
+        return offset == that.offset && typeName.equals(that.typeName) && fieldName.equals(that.fieldName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(typeName, fieldName, offset);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schema fields resolved by a PHP class within one schema.graphqls.
+ */
+public class GraphQlResolverDataExternalizer implements DataExternalizer<List<GraphQlResolverData>> {
+    public static final GraphQlResolverDataExternalizer INSTANCE = new GraphQlResolverDataExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, List<GraphQlResolverData> value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (GraphQlResolverData field: value) {
+            IOUtil.writeUTF(out, field.getTypeName());
+            IOUtil.writeUTF(out, field.getFieldName());
+            DataInputOutputUtil.writeINT(out, field.getOffset());
+        }
+    }
+
+    @Override
+    public List<GraphQlResolverData> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+        List<GraphQlResolverData> value = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String typeName = IOUtil.readUTF(in);
+            String fieldName = IOUtil.readUTF(in);
+            value.add(new GraphQlResolverData(typeName, fieldName, DataInputOutputUtil.readINT(in)));
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Declarations of a layout block or container with the same name within one layout file.
+ */
+public class LayoutElementData {
+    private final String handle;
+    private final String area;
+    private final List<Integer> offsets;
+
+    public LayoutElementData(@NotNull String handle, @NotNull String area, @NotNull List<Integer> offsets) {
+        this.handle = handle;
+        this.area = area;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Layout handle declaring the element, the name of the layout file without extension.
+     */
+    @NotNull
+    public String getHandle() {
+        return handle;
+    }
+
+    /**
+     * Area of the layout file, empty if the file is placed outside of an area directory.
+     */
+    @NotNull
+    public String getArea() {
+        return area;
+    }
+
+    /**
+     * Offsets of the declaring tags in the layout file.
+     */
+    @NotNull
+    public List<Integer> getOffsets() {
+        return offsets;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LayoutElementData that = (LayoutElementData) o;
+
+        return handle.equals(that.handle) && area.equals(that.area) && offsets.equals(that.offsets);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(handle, area, offsets);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact format of the layout element declarations within one layout file.
+ *
+ * The area is stored as the id of Package.Areas, offsets are stored as the distance from the previous one.
+ */
+public class LayoutElementDataExternalizer implements DataExternalizer<LayoutElementData> {
+    public static final LayoutElementDataExternalizer INSTANCE = new LayoutElementDataExternalizer();
+
+
+    @Override
+    public void save(@NotNull DataOutput out, LayoutElementData value) throws IOException {
+        IOUtil.writeUTF(out, value.getHandle());
+        DataInputOutputUtil.writeINT(out, Package.getAreaId(value.getArea()));
+        DataInputOutputUtil.writeINT(out, value.getOffsets().size());
+        int previousOffset = 0;
+        for (int offset: value.getOffsets()) {
+            DataInputOutputUtil.writeINT(out, offset - previousOffset);
+            previousOffset = offset;
+        }
+    }
+
+    @Override
+    public LayoutElementData read(@NotNull DataInput in) throws IOException {
+        String handle = IOUtil.readUTF(in);
+        String area = Package.getAreaNameById(DataInputOutputUtil.readINT(in));
+        int size = DataInputOutputUtil.readINT(in);
+        List<Integer> offsets = new ArrayList<>(size);
+        int offset = 0;
+        for (int i = 0; i < size; i++) {
+            offset += DataInputOutputUtil.readINT(in);
+            offsets.add(offset);
+        }
+
+        return new LayoutElementData(handle, area, offsets);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * File of a module view directory, like frontend/templates/product/view.phtml.
+ */
+public class ModuleViewFileData {
+    private final String area;
+    private final String kind;
+    private final String path;
+
+    public ModuleViewFileData(@NotNull String area, @NotNull String kind, @NotNull String path) {
+        this.area = area;
+        this.kind = kind;
+        this.path = path;
+    }
+
+    /**
+     * Area directory, like frontend, adminhtml or base.
+     */
+    @NotNull
+    public String getArea() {
+        return area;
+    }
+
+    /**
+     * Directory of the area the file is in, like templates, layout or web.
+     */
+    @NotNull
+    public String getKind() {
+        return kind;
+    }
+
+    /**
+     * Path of the file relative to the kind directory.
+     */
+    @NotNull
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ModuleViewFileData that = (ModuleViewFileData) o;
+
+        return area.equals(that.area) && kind.equals(that.kind) && path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(area, kind, path);
+    }
+}
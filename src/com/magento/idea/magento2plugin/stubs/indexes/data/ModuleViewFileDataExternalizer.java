@@ -0,0 +1,32 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class ModuleViewFileDataExternalizer implements DataExternalizer<ModuleViewFileData> {
+    public static final ModuleViewFileDataExternalizer INSTANCE = new ModuleViewFileDataExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, ModuleViewFileData value) throws IOException {
+        IOUtil.writeUTF(out, value.getArea());
+        IOUtil.writeUTF(out, value.getKind());
+        IOUtil.writeUTF(out, value.getPath());
+    }
+
+    @Override
+    public ModuleViewFileData read(@NotNull DataInput in) throws IOException {
+        String area = IOUtil.readUTF(in);
+        String kind = IOUtil.readUTF(in);
+
+        return new ModuleViewFileData(area, kind, IOUtil.readUTF(in));
+    }
+}
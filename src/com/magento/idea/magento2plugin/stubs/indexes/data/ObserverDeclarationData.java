@@ -0,0 +1,74 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Observer tag of an event in events.xml.
+ */
+public class ObserverDeclarationData {
+    private final String moduleName;
+    private final String area;
+    private final boolean disabled;
+    private final int offset;
+
+    public ObserverDeclarationData(@NotNull String moduleName, @NotNull String area, boolean disabled, int offset) {
+        this.moduleName = moduleName;
+        this.area = area;
+        this.disabled = disabled;
+        this.offset = offset;
+    }
+
+    /**
+     * Name of the module declaring the observer, empty if events.xml isn't placed in a module.
+     */
+    @NotNull
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    /**
+     * Area of events.xml, empty if the file is placed outside of the module etc directory.
+     */
+    @NotNull
+    public String getArea() {
+        return area;
+    }
+
+    public boolean isDisabled() {
+        return disabled;
+    }
+
+    /**
+     * Offset of the observer tag in events.xml.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ObserverDeclarationData that = (ObserverDeclarationData) o;
+
+        return disabled == that.disabled
+                && offset == that.offset
+                && moduleName.equals(that.moduleName)
+                && area.equals(that.area);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(moduleName, area, disabled, offset);
+    }
+}
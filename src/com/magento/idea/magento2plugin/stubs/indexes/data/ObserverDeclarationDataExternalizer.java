@@ -0,0 +1,57 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Observer tags with the same event and name within one events.xml.
+ *
+ * The module name is written once for the list, all the tags come from the same file. The area is stored as the id
+ * of Package.Areas, the disabled flag shares the int with it.
+ */
+public class ObserverDeclarationDataExternalizer implements DataExternalizer<List<ObserverDeclarationData>> {
+    public static final ObserverDeclarationDataExternalizer INSTANCE = new ObserverDeclarationDataExternalizer();
+
+
+    @Override
+    public void save(@NotNull DataOutput out, List<ObserverDeclarationData> value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        IOUtil.writeUTF(out, value.isEmpty() ? "" : value.get(0).getModuleName());
+        for (ObserverDeclarationData observer: value) {
+            int disabledFlag = observer.isDisabled() ? 1 : 0;
+            DataInputOutputUtil.writeINT(out, Package.getAreaId(observer.getArea()) << 1 | disabledFlag);
+            DataInputOutputUtil.writeINT(out, observer.getOffset());
+        }
+    }
+
+    @Override
+    public List<ObserverDeclarationData> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+        List<ObserverDeclarationData> value = new ArrayList<>(size);
+        String moduleName = IOUtil.readUTF(in);
+        for (int i = 0; i < size; i++) {
+            int flags = DataInputOutputUtil.readINT(in);
+            value.add(new ObserverDeclarationData(
+                    moduleName,
+                    Package.getAreaNameById(flags >> 1),
+                    (flags & 1) == 1,
+                    DataInputOutputUtil.readINT(in)
+            ));
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * XML tag which references a PHP class in one of its attributes or in its text.
+ */
+public class PhpClassUsageData {
+    private final String tagName;
+    private final int offset;
+
+    public PhpClassUsageData(@NotNull String tagName, int offset) {
+        this.tagName = tagName;
+        this.offset = offset;
+    }
+
+    @NotNull
+    public String getTagName() {
+        return tagName;
+    }
+
+    /**
+     * Offset of the tag in the XML file.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PhpClassUsageData that = (PhpClassUsageData) o;
+
+        return offset == that.offset && tagName.equals(that.tagName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tagName, offset);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Usages of a PHP class within one XML file, tag names are written once and referenced by their number.
+ */
+public class PhpClassUsageDataExternalizer implements DataExternalizer<List<PhpClassUsageData>> {
+    public static final PhpClassUsageDataExternalizer INSTANCE = new PhpClassUsageDataExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, List<PhpClassUsageData> value) throws IOException {
+        Map<String, Integer> tagNameIds = new HashMap<>();
+        List<String> tagNames = new ArrayList<>();
+        for (PhpClassUsageData usage: value) {
+            if (!tagNameIds.containsKey(usage.getTagName())) {
+                tagNameIds.put(usage.getTagName(), tagNames.size());
+                tagNames.add(usage.getTagName());
+            }
+        }
+
+        DataInputOutputUtil.writeINT(out, tagNames.size());
+        for (String tagName: tagNames) {
+            IOUtil.writeUTF(out, tagName);
+        }
+
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (PhpClassUsageData usage: value) {
+            DataInputOutputUtil.writeINT(out, tagNameIds.get(usage.getTagName()));
+            DataInputOutputUtil.writeINT(out, usage.getOffset());
+        }
+    }
+
+    @Override
+    public List<PhpClassUsageData> read(@NotNull DataInput in) throws IOException {
+        int tagNamesCount = DataInputOutputUtil.readINT(in);
+        String[] tagNames = new String[tagNamesCount];
+        for (int i = 0; i < tagNamesCount; i++) {
+            tagNames[i] = IOUtil.readUTF(in);
+        }
+
+        int size = DataInputOutputUtil.readINT(in);
+        List<PhpClassUsageData> value = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String tagName = tagNames[DataInputOutputUtil.readINT(in)];
+            value.add(new PhpClassUsageData(tagName, DataInputOutputUtil.readINT(in)));
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Plugin declaration of a type in di.xml.
+ */
+public class PluginData {
+    private final String name;
+    private final String type;
+    private final int sortOrder;
+    private final boolean disabled;
+    private final String area;
+    private final int offset;
+
+    public PluginData(
+            @NotNull String name,
+            @NotNull String type,
+            int sortOrder,
+            boolean disabled,
+            @NotNull String area,
+            int offset
+    ) {
+        this.name = name;
+        this.type = type;
+        this.sortOrder = sortOrder;
+        this.disabled = disabled;
+        this.area = area;
+        this.offset = offset;
+    }
+
+    /**
+     * Value of the plugin "name" attribute.
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Plugin class FQN, empty if the declaration only disables or reorders an existing plugin.
+     */
+    @NotNull
+    public String getType() {
+        return type;
+    }
+
+    public int getSortOrder() {
+        return sortOrder;
+    }
+
+    public boolean isDisabled() {
+        return disabled;
+    }
+
+    @NotNull
+    public String getArea() {
+        return area;
+    }
+
+    /**
+     * Offset of the plugin tag in the di.xml file.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PluginData that = (PluginData) o;
+
+        return sortOrder == that.sortOrder
+                && disabled == that.disabled
+                && offset == that.offset
+                && name.equals(that.name)
+                && type.equals(that.type)
+                && area.equals(that.area);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, type, sortOrder, disabled, area, offset);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact format of the plugin declarations of a type within one di.xml.
+ *
+ * Strings are written once into a table and referenced by their number, the area is stored as
+ * the id of Package.Areas and the disabled flag is packed together with the area.
+ *
+ * The string table is kept per value on purpose. A value only holds the plugins of one type in one di.xml, the
+ * repeated strings there are the empty type of declarations disabling or reordering a plugin and a plugin class
+ * registered under several names. An enumerator shared across the index would be a second persistent storage next to
+ * the one of the index, with nothing clearing or rebuilding it together with the index, and ids of deleted
+ * declarations would never be released. The values stay self-contained and are read without any lookup instead.
+ */
+public class PluginDataExternalizer implements DataExternalizer<Set<PluginData>> {
+    public static final PluginDataExternalizer INSTANCE = new PluginDataExternalizer();
+
+    private static final int DISABLED_FLAG = 1;
+
+    @Override
+    public void save(@NotNull DataOutput out, Set<PluginData> value) throws IOException {
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (PluginData pluginData: value) {
+            enumerate(pluginData.getName(), stringIds, strings);
+            enumerate(pluginData.getType(), stringIds, strings);
+        }
+
+        DataInputOutputUtil.writeINT(out, strings.size());
+        for (String string: strings) {
+            IOUtil.writeUTF(out, string);
+        }
+
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (PluginData pluginData: value) {
+            DataInputOutputUtil.writeINT(out, stringIds.get(pluginData.getName()));
+            DataInputOutputUtil.writeINT(out, stringIds.get(pluginData.getType()));
+            DataInputOutputUtil.writeINT(out, pluginData.getSortOrder());
+            int disabledFlag = pluginData.isDisabled() ? DISABLED_FLAG : 0;
+            DataInputOutputUtil.writeINT(out, Package.getAreaId(pluginData.getArea()) << 1 | disabledFlag);
+            DataInputOutputUtil.writeINT(out, pluginData.getOffset());
+        }
+    }
+
+    @Override
+    public Set<PluginData> read(@NotNull DataInput in) throws IOException {
+        int stringsCount = DataInputOutputUtil.readINT(in);
+        String[] strings = new String[stringsCount];
+        for (int i = 0; i < stringsCount; i++) {
+            strings[i] = IOUtil.readUTF(in);
+        }
+
+        int size = DataInputOutputUtil.readINT(in);
+        Set<PluginData> value = new HashSet<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = strings[DataInputOutputUtil.readINT(in)];
+            String type = strings[DataInputOutputUtil.readINT(in)];
+            int sortOrder = DataInputOutputUtil.readINT(in);
+            int areaAndFlags = DataInputOutputUtil.readINT(in);
+            int offset = DataInputOutputUtil.readINT(in);
+            value.add(new PluginData(
+                    name,
+                    type,
+                    sortOrder,
+                    (areaAndFlags & DISABLED_FLAG) != 0,
+                    Package.getAreaNameById(areaAndFlags >> 1),
+                    offset
+            ));
+        }
+
+        return value;
+    }
+
+    private static void enumerate(@NotNull String string, Map<String, Integer> stringIds, List<String> strings) {
+        if (!stringIds.containsKey(string)) {
+            stringIds.put(string, strings.size());
+            strings.add(string);
+        }
+    }
+}
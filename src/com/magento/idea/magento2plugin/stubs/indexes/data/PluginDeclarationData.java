@@ -0,0 +1,91 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Plugin tag of a type in di.xml, the type and the plugin name are the key of the PluginNameIndex.
+ */
+public class PluginDeclarationData {
+    private final String moduleName;
+    private final String type;
+    private final String area;
+    private final boolean disabled;
+    private final int offset;
+
+    public PluginDeclarationData(
+            @NotNull String moduleName,
+            @NotNull String type,
+            @NotNull String area,
+            boolean disabled,
+            int offset
+    ) {
+        this.moduleName = moduleName;
+        this.type = type;
+        this.area = area;
+        this.disabled = disabled;
+        this.offset = offset;
+    }
+
+    /**
+     * Name of the module declaring the plugin, empty if di.xml isn't placed in a module.
+     */
+    @NotNull
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    /**
+     * Plugin class FQN, empty if the declaration only disables or reorders an existing plugin.
+     */
+    @NotNull
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Area of di.xml, empty if the file is placed outside of the module etc directory.
+     */
+    @NotNull
+    public String getArea() {
+        return area;
+    }
+
+    public boolean isDisabled() {
+        return disabled;
+    }
+
+    /**
+     * Offset of the plugin tag in di.xml.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PluginDeclarationData that = (PluginDeclarationData) o;
+
+        return disabled == that.disabled
+                && offset == that.offset
+                && moduleName.equals(that.moduleName)
+                && type.equals(that.type)
+                && area.equals(that.area);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(moduleName, type, area, disabled, offset);
+    }
+}
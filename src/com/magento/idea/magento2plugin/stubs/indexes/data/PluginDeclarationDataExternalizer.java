@@ -0,0 +1,59 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plugin tags with the same type and name within one di.xml.
+ *
+ * The module name is written once for the list, all the tags come from the same file. The area is stored as the id
+ * of Package.Areas, the disabled flag shares the int with it.
+ */
+public class PluginDeclarationDataExternalizer implements DataExternalizer<List<PluginDeclarationData>> {
+    public static final PluginDeclarationDataExternalizer INSTANCE = new PluginDeclarationDataExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, List<PluginDeclarationData> value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        IOUtil.writeUTF(out, value.isEmpty() ? "" : value.get(0).getModuleName());
+        for (PluginDeclarationData plugin: value) {
+            IOUtil.writeUTF(out, plugin.getType());
+            int disabledFlag = plugin.isDisabled() ? 1 : 0;
+            DataInputOutputUtil.writeINT(out, Package.getAreaId(plugin.getArea()) << 1 | disabledFlag);
+            DataInputOutputUtil.writeINT(out, plugin.getOffset());
+        }
+    }
+
+    @Override
+    public List<PluginDeclarationData> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+        String moduleName = IOUtil.readUTF(in);
+        List<PluginDeclarationData> value = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String type = IOUtil.readUTF(in);
+            int flags = DataInputOutputUtil.readINT(in);
+            value.add(new PluginDeclarationData(
+                    moduleName,
+                    type,
+                    Package.getAreaNameById(flags >> 1),
+                    (flags & 1) == 1,
+                    DataInputOutputUtil.readINT(in)
+            ));
+        }
+
+        return value;
+    }
+}
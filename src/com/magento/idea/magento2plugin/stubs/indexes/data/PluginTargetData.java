@@ -0,0 +1,59 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Single plugin declaration as seen from the plugin class: the intercepted type, area and plugin name.
+ */
+public class PluginTargetData {
+    private final String targetType;
+    private final String area;
+    private final String pluginName;
+
+    public PluginTargetData(@NotNull String targetType, @NotNull String area, @NotNull String pluginName) {
+        this.targetType = targetType;
+        this.area = area;
+        this.pluginName = pluginName;
+    }
+
+    @NotNull
+    public String getTargetType() {
+        return targetType;
+    }
+
+    @NotNull
+    public String getArea() {
+        return area;
+    }
+
+    @NotNull
+    public String getPluginName() {
+        return pluginName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PluginTargetData that = (PluginTargetData) o;
+
+        return targetType.equals(that.targetType)
+                && area.equals(that.area)
+                && pluginName.equals(that.pluginName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(targetType, area, pluginName);
+    }
+}
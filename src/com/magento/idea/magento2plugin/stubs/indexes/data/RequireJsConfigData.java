@@ -0,0 +1,87 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Configuration declared by a requirejs-config.js, with the quotes of the module ids removed.
+ */
+public class RequireJsConfigData {
+    private final Map<String, Map<String, String>> map;
+    private final Map<String, String> paths;
+    private final Map<String, Map<String, Boolean>> mixins;
+    private final Map<String, List<String>> shim;
+
+    public RequireJsConfigData(
+            @NotNull Map<String, Map<String, String>> map,
+            @NotNull Map<String, String> paths,
+            @NotNull Map<String, Map<String, Boolean>> mixins,
+            @NotNull Map<String, List<String>> shim
+    ) {
+        this.map = map;
+        this.paths = paths;
+        this.mixins = mixins;
+        this.shim = shim;
+    }
+
+    /**
+     * Aliases of the map section by the context they apply in, * for every module.
+     */
+    @NotNull
+    public Map<String, Map<String, String>> getMap() {
+        return map;
+    }
+
+    /**
+     * Module ids or path prefixes of the paths section, the first path of a fallback list.
+     */
+    @NotNull
+    public Map<String, String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Mixins of config.mixins by the module they are applied to, false for disabled mixins.
+     */
+    @NotNull
+    public Map<String, Map<String, Boolean>> getMixins() {
+        return mixins;
+    }
+
+    /**
+     * Dependencies of the shimmed modules.
+     */
+    @NotNull
+    public Map<String, List<String>> getShim() {
+        return shim;
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty() && paths.isEmpty() && mixins.isEmpty() && shim.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RequireJsConfigData that = (RequireJsConfigData) o;
+
+        return map.equals(that.map) && paths.equals(that.paths) && mixins.equals(that.mixins) && shim.equals(that.shim);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(map, paths, mixins, shim);
+    }
+}
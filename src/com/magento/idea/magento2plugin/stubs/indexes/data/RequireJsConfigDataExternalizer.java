@@ -0,0 +1,111 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RequireJsConfigDataExternalizer implements DataExternalizer<RequireJsConfigData> {
+    public static final RequireJsConfigDataExternalizer INSTANCE = new RequireJsConfigDataExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, RequireJsConfigData value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.getMap().size());
+        for (Map.Entry<String, Map<String, String>> context: value.getMap().entrySet()) {
+            IOUtil.writeUTF(out, context.getKey());
+            saveStrings(out, context.getValue());
+        }
+
+        saveStrings(out, value.getPaths());
+
+        DataInputOutputUtil.writeINT(out, value.getMixins().size());
+        for (Map.Entry<String, Map<String, Boolean>> target: value.getMixins().entrySet()) {
+            IOUtil.writeUTF(out, target.getKey());
+            DataInputOutputUtil.writeINT(out, target.getValue().size());
+            for (Map.Entry<String, Boolean> mixin: target.getValue().entrySet()) {
+                IOUtil.writeUTF(out, mixin.getKey());
+                out.writeBoolean(mixin.getValue());
+            }
+        }
+
+        DataInputOutputUtil.writeINT(out, value.getShim().size());
+        for (Map.Entry<String, List<String>> module: value.getShim().entrySet()) {
+            IOUtil.writeUTF(out, module.getKey());
+            DataInputOutputUtil.writeINT(out, module.getValue().size());
+            for (String dependency: module.getValue()) {
+                IOUtil.writeUTF(out, dependency);
+            }
+        }
+    }
+
+    @Override
+    public RequireJsConfigData read(@NotNull DataInput in) throws IOException {
+        int mapSize = DataInputOutputUtil.readINT(in);
+        Map<String, Map<String, String>> map = new LinkedHashMap<>();
+        for (int i = 0; i < mapSize; i++) {
+            String context = IOUtil.readUTF(in);
+            map.put(context, readStrings(in));
+        }
+
+        Map<String, String> paths = readStrings(in);
+
+        int mixinsSize = DataInputOutputUtil.readINT(in);
+        Map<String, Map<String, Boolean>> mixins = new LinkedHashMap<>();
+        for (int i = 0; i < mixinsSize; i++) {
+            String target = IOUtil.readUTF(in);
+            int size = DataInputOutputUtil.readINT(in);
+            Map<String, Boolean> targetMixins = new LinkedHashMap<>();
+            for (int j = 0; j < size; j++) {
+                String mixin = IOUtil.readUTF(in);
+                targetMixins.put(mixin, in.readBoolean());
+            }
+            mixins.put(target, targetMixins);
+        }
+
+        int shimSize = DataInputOutputUtil.readINT(in);
+        Map<String, List<String>> shim = new LinkedHashMap<>();
+        for (int i = 0; i < shimSize; i++) {
+            String module = IOUtil.readUTF(in);
+            int size = DataInputOutputUtil.readINT(in);
+            List<String> dependencies = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                dependencies.add(IOUtil.readUTF(in));
+            }
+            shim.put(module, dependencies);
+        }
+
+        return new RequireJsConfigData(map, paths, mixins, shim);
+    }
+
+    private static void saveStrings(@NotNull DataOutput out, @NotNull Map<String, String> strings) throws IOException {
+        DataInputOutputUtil.writeINT(out, strings.size());
+        for (Map.Entry<String, String> entry: strings.entrySet()) {
+            IOUtil.writeUTF(out, entry.getKey());
+            IOUtil.writeUTF(out, entry.getValue());
+        }
+    }
+
+    @NotNull
+    private static Map<String, String> readStrings(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+        Map<String, String> strings = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = IOUtil.readUTF(in);
+            strings.put(key, IOUtil.readUTF(in));
+        }
+
+        return strings;
+    }
+}
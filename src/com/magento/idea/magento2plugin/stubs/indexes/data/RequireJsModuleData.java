@@ -0,0 +1,93 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Web directory a RequireJS module file is loaded from.
+ */
+public class RequireJsModuleData {
+    private final Source source;
+    private final String area;
+    private final String moduleName;
+
+    public RequireJsModuleData(@NotNull Source source, @NotNull String area, @NotNull String moduleName) {
+        this.source = source;
+        this.area = area;
+        this.moduleName = moduleName;
+    }
+
+    @NotNull
+    public Source getSource() {
+        return source;
+    }
+
+    /**
+     * Area of the module view directory or the theme, empty for lib/web files.
+     */
+    @NotNull
+    public String getArea() {
+        return area;
+    }
+
+    /**
+     * Module overridden by a theme file, like Magento_Catalog of Magento/luma/Magento_Catalog/web, empty otherwise.
+     */
+    @NotNull
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RequireJsModuleData that = (RequireJsModuleData) o;
+
+        return source == that.source && area.equals(that.area) && moduleName.equals(that.moduleName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(source, area, moduleName);
+    }
+
+    /**
+     * Web directory kinds with the ids they are stored by, an id must never change or be reused.
+     */
+    public enum Source {
+        LIB(1),
+        MODULE(2),
+        THEME(3);
+
+        private final int id;
+
+        Source(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        @NotNull
+        public static Source getById(int id) {
+            for (Source source: values()) {
+                if (source.id == id) {
+                    return source;
+                }
+            }
+
+            return LIB;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The source and the area are stored by their ids, see Package.getAreaId.
+ */
+public class RequireJsModuleDataExternalizer implements DataExternalizer<RequireJsModuleData> {
+    public static final RequireJsModuleDataExternalizer INSTANCE = new RequireJsModuleDataExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, RequireJsModuleData value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.getSource().getId());
+        DataInputOutputUtil.writeINT(out, Package.getAreaId(value.getArea()));
+        IOUtil.writeUTF(out, value.getModuleName());
+    }
+
+    @Override
+    public RequireJsModuleData read(@NotNull DataInput in) throws IOException {
+        RequireJsModuleData.Source source = RequireJsModuleData.Source.getById(DataInputOutputUtil.readINT(in));
+        String area = Package.getAreaNameById(DataInputOutputUtil.readINT(in));
+
+        return new RequireJsModuleData(source, area, IOUtil.readUTF(in));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Web API route declared in webapi.xml for a method of a service class.
+ */
+public class WebApiRouteData {
+    private final String serviceMethod;
+    private final String httpMethod;
+    private final String url;
+    private final List<String> resources;
+    private final int offset;
+
+    public WebApiRouteData(
+            @NotNull String serviceMethod,
+            @NotNull String httpMethod,
+            @NotNull String url,
+            @NotNull List<String> resources,
+            int offset
+    ) {
+        this.serviceMethod = serviceMethod;
+        this.httpMethod = httpMethod;
+        this.url = url;
+        this.resources = resources;
+        this.offset = offset;
+    }
+
+    /**
+     * Name of the service class method handling the route.
+     */
+    @NotNull
+    public String getServiceMethod() {
+        return serviceMethod;
+    }
+
+    /**
+     * HTTP verb of the route, GET, PUT, POST or DELETE.
+     */
+    @NotNull
+    public String getHttpMethod() {
+        return httpMethod;
+    }
+
+    @NotNull
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * ACL resources allowed to call the route, "self" and "anonymous" included.
+     */
+    @NotNull
+    public List<String> getResources() {
+        return resources;
+    }
+
+    /**
+     * Offset of the route tag in webapi.xml.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        WebApiRouteData that = (WebApiRouteData) o;
+
+        return offset == that.offset
+                && serviceMethod.equals(that.serviceMethod)
+                && httpMethod.equals(that.httpMethod)
+                && url.equals(that.url)
+                && resources.equals(that.resources);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(serviceMethod, httpMethod, url, resources, offset);
+    }
+}
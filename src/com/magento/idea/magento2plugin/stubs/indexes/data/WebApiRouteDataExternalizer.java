@@ -0,0 +1,57 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.data;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Web API routes of a service class within one webapi.xml.
+ */
+public class WebApiRouteDataExternalizer implements DataExternalizer<List<WebApiRouteData>> {
+    public static final WebApiRouteDataExternalizer INSTANCE = new WebApiRouteDataExternalizer();
+
+    @Override
+    public void save(@NotNull DataOutput out, List<WebApiRouteData> value) throws IOException {
+        DataInputOutputUtil.writeINT(out, value.size());
+        for (WebApiRouteData route: value) {
+            IOUtil.writeUTF(out, route.getServiceMethod());
+            IOUtil.writeUTF(out, route.getHttpMethod());
+            IOUtil.writeUTF(out, route.getUrl());
+            DataInputOutputUtil.writeINT(out, route.getResources().size());
+            for (String resource: route.getResources()) {
+                IOUtil.writeUTF(out, resource);
+            }
+            DataInputOutputUtil.writeINT(out, route.getOffset());
+        }
+    }
+
+    @Override
+    public List<WebApiRouteData> read(@NotNull DataInput in) throws IOException {
+        int size = DataInputOutputUtil.readINT(in);
+        List<WebApiRouteData> value = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String serviceMethod = IOUtil.readUTF(in);
+            String httpMethod = IOUtil.readUTF(in);
+            String url = IOUtil.readUTF(in);
+            int resourcesCount = DataInputOutputUtil.readINT(in);
+            List<String> resources = new ArrayList<>(resourcesCount);
+            for (int j = 0; j < resourcesCount; j++) {
+                resources.add(IOUtil.readUTF(in));
+            }
+            value.add(new WebApiRouteData(serviceMethod, httpMethod, url, resources, DataInputOutputUtil.readINT(in)));
+        }
+
+        return value;
+    }
+}
@@ -6,33 +6,41 @@ package com.magento.idea.magento2plugin.stubs.indexes.graphql;
 
 import com.intellij.lang.jsgraphql.GraphQLFileType;
 import com.intellij.lang.jsgraphql.psi.*;
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.magento.idea.magento2plugin.stubs.indexes.data.GraphQlResolverData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.GraphQlResolverDataExternalizer;
 import com.magento.idea.magento2plugin.util.magento.graphql.GraphQlUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import java.util.*;
 
-public class GraphQlResolverIndex extends ScalarIndexExtension<String> {
-    public static final ID<String, Void> KEY
+/**
+ * Schema fields by the resolver class, with the offset of the class string in the @resolver directive.
+ */
+public class GraphQlResolverIndex extends FileBasedIndexExtension<String, List<GraphQlResolverData>> {
+    public static final ID<String, List<GraphQlResolverData>> KEY
             = ID.create("com.magento.idea.magento2plugin.stubs.indexes.resolver_usages");
 
     @NotNull
     @Override
-    public ID<String, Void> getName() {
+    public ID<String, List<GraphQlResolverData>> getName() {
         return KEY;
     }
 
     @NotNull
     @Override
-    public DataIndexer<String, Void, FileContent> getIndexer() {
+    public DataIndexer<String, List<GraphQlResolverData>, FileContent> getIndexer() {
         return inputData -> {
-            Map<String, Void> map = new HashMap<>();
+            Map<String, List<GraphQlResolverData>> map = new HashMap<>();
 
             GraphQLFile graphQLFile = (GraphQLFile) inputData.getPsiFile();
             PsiElement[] children = graphQLFile.getChildren();
@@ -40,6 +48,7 @@ public class GraphQlResolverIndex extends ScalarIndexExtension<String> {
                 if (!(child instanceof GraphQLObjectTypeDefinition) && !(child instanceof GraphQLInterfaceTypeDefinition)) {
                     continue;
                 }
+                String typeName = getName(PsiTreeUtil.getChildOfType(child, GraphQLTypeNameDefinition.class));
                 PsiElement[] objectChildren = child.getChildren();
                 for (PsiElement objectChild : objectChildren) {
                     if (!(objectChild instanceof GraphQLFieldsDefinition)) {
@@ -50,6 +59,7 @@ public class GraphQlResolverIndex extends ScalarIndexExtension<String> {
                         if (!(fieldsChild instanceof GraphQLFieldDefinition)) {
                             continue;
                         }
+                        String fieldName = getName(PsiTreeUtil.getChildOfType(fieldsChild, GraphQLIdentifier.class));
                         PsiElement[] fieldChildren = fieldsChild.getChildren();
                         for (PsiElement fieldChild : fieldChildren) {
                             if (!(fieldChild instanceof GraphQLDirective)) {
@@ -77,12 +87,16 @@ public class GraphQlResolverIndex extends ScalarIndexExtension<String> {
 
                                     String resolverFQN = argumentStringValue.getText();
                                     if (resolverFQN == null) {
-                                        return null;
+                                        continue;
                                     }
 
                                     resolverFQN = GraphQlUtil.resolverStringToPhpFQN(resolverFQN);
 
-                                    map.put(resolverFQN, null);
+                                    map.computeIfAbsent(resolverFQN, k -> new ArrayList<>()).add(new GraphQlResolverData(
+                                            typeName,
+                                            fieldName,
+                                            argumentStringValue.getTextRange().getStartOffset()
+                                    ));
                                 }
                             }
                         }
@@ -94,12 +108,23 @@ public class GraphQlResolverIndex extends ScalarIndexExtension<String> {
         };
     }
 
+    @NotNull
+    private static String getName(@Nullable PsiElement nameElement) {
+        return nameElement == null ? "" : nameElement.getText();
+    }
+
     @NotNull
     @Override
     public KeyDescriptor<String> getKeyDescriptor() {
         return new EnumeratorStringDescriptor();
     }
 
+    @NotNull
+    @Override
+    public DataExternalizer<List<GraphQlResolverData>> getValueExternalizer() {
+        return GraphQlResolverDataExternalizer.INSTANCE;
+    }
+
     @NotNull
     @Override
     public FileBasedIndex.InputFilter getInputFilter() {
@@ -114,55 +139,50 @@ public class GraphQlResolverIndex extends ScalarIndexExtension<String> {
 
     @Override
     public int getVersion() {
-        return 1;
+        return 2;
     }
 
+    /**
+     * Whether any schema uses the class as a resolver, read from the index only.
+     */
+    public static boolean hasGraphQLUsages(@NotNull PhpClass phpClass) {
+        return !FileBasedIndex.getInstance().getContainingFiles(
+                KEY,
+                phpClass.getFQN(),
+                GlobalSearchScope.allScope(phpClass.getProject())
+        ).isEmpty();
+    }
 
+    /**
+     * Resolver class strings of the @resolver directives using the class, found by the indexed offsets.
+     */
     public static List<GraphQLQuotedString> getGraphQLUsages(@NotNull PhpClass phpClass) {
         List<GraphQLQuotedString> quotedStrings = new ArrayList<>();
 
         String classFqn = phpClass.getFQN();
-        Collection<VirtualFile> containingFiles = FileBasedIndex
-                .getInstance().getContainingFiles(KEY, classFqn, GlobalSearchScope.allScope(phpClass.getProject()));
-
         PsiManager psiManager = PsiManager.getInstance(phpClass.getProject());
-        for (VirtualFile virtualFile : containingFiles) {
-            GraphQLFile file = (GraphQLFile) psiManager.findFile(virtualFile);
-            if (file == null) {
-                continue;
+        FileBasedIndex.getInstance().processValues(KEY, classFqn, null, (virtualFile, fields) -> {
+            PsiFile file = psiManager.findFile(virtualFile);
+            if (!(file instanceof GraphQLFile)) {
+                return true;
             }
-            PsiElement[] children = file.getChildren();
-            findMatchingQuotedString(children, classFqn, quotedStrings);
-        }
-        return quotedStrings;
-    }
-
-    private static PsiElement findMatchingQuotedString(PsiElement[] psiElements, String classFqn, List<GraphQLQuotedString> quotedStrings) {
-        for (PsiElement element: psiElements) {
-            if (!(element instanceof GraphQLArgument) && element.getChildren().length == 0) {
-                continue;
-            }
-            if (!(element instanceof GraphQLArgument) && element.getChildren().length != 0) {
-                findMatchingQuotedString(element.getChildren(), classFqn, quotedStrings);
-                continue;
-            }
-
-            PsiElement argumentStringValue = GraphQlUtil.fetchResolverQuotedStringFromArgument(element);
-            if (argumentStringValue == null) continue;
-
-            String resolverFQN = argumentStringValue.getText();
-            if (resolverFQN == null) {
-                return null;
-            }
-            
-            resolverFQN = GraphQlUtil.resolverStringToPhpFQN(resolverFQN);
-            
-            if (!resolverFQN.equals(classFqn)) {
-                continue;
+            for (GraphQlResolverData field : fields) {
+                GraphQLStringValue stringValue = PsiTreeUtil.getParentOfType(
+                        file.findElementAt(field.getOffset()),
+                        GraphQLStringValue.class,
+                        false
+                );
+                if (stringValue == null
+                        || !(stringValue.getFirstChild() instanceof GraphQLQuotedString)
+                        || !GraphQlUtil.resolverStringToPhpFQN(stringValue.getText()).equals(classFqn)
+                ) {
+                    continue;
+                }
+                quotedStrings.add((GraphQLQuotedString) stringValue.getFirstChild());
             }
+            return true;
+        }, GlobalSearchScope.allScope(phpClass.getProject()));
 
-            quotedStrings.add((GraphQLQuotedString) argumentStringValue.getFirstChild());
-        }
-        return null;
+        return quotedStrings;
     }
 }
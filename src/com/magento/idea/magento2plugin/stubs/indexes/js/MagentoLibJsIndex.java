@@ -1,70 +0,0 @@
-/*
- * Copyright © Magento, Inc. All rights reserved.
- * See COPYING.txt for license details.
- */
-package com.magento.idea.magento2plugin.stubs.indexes.js;
-
-import com.intellij.lang.javascript.JavaScriptFileType;
-import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.util.indexing.*;
-import com.intellij.util.io.EnumeratorStringDescriptor;
-import com.intellij.util.io.KeyDescriptor;
-import org.jetbrains.annotations.NotNull;
-
-import java.util.HashMap;
-import java.util.Map;
-
-public class MagentoLibJsIndex extends ScalarIndexExtension<String> {
-    public static final ID<String, Void> KEY =
-            ID.create("com.magento.idea.magento2plugin.stubs.indexes.magento_lib");
-
-    @NotNull
-    @Override
-    public ID<String, Void> getName() {
-        return KEY;
-    }
-
-    @NotNull
-    @Override
-    public DataIndexer<String, Void, FileContent> getIndexer() {
-        return inputData -> {
-            Map<String, Void> map = new HashMap<>();
-            String libPath = inputData.getProject().getBasePath() + "/lib/web/";
-            VirtualFile file = inputData.getFile();
-
-            if (!file.getPath().contains(libPath)){
-                return map;
-            }
-
-            String key = file.getPath().replace(libPath, "");
-            key = key.substring(0, key.lastIndexOf('.'));
-            map.put(key, null);
-
-            return map;
-        };
-    }
-
-    @NotNull
-    @Override
-    public KeyDescriptor<String> getKeyDescriptor() {
-        return new EnumeratorStringDescriptor();
-    }
-
-    @NotNull
-    @Override
-    public FileBasedIndex.InputFilter getInputFilter() {
-        return virtualFile -> (
-                virtualFile.getFileType().equals(JavaScriptFileType.INSTANCE) && virtualFile.getPath().contains("lib/web")
-        );
-    }
-
-    @Override
-    public boolean dependsOnFileContent() {
-        return true;
-    }
-
-    @Override
-    public int getVersion() {
-        return 1;
-    }
-}
@@ -6,109 +6,212 @@ package com.magento.idea.magento2plugin.stubs.indexes.js;
 
 import com.intellij.lang.javascript.JavaScriptFileType;
 import com.intellij.lang.javascript.psi.*;
-import com.intellij.psi.PsiElement;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.indexing.*;
 import com.intellij.util.io.DataExternalizer;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import com.magento.idea.magento2plugin.stubs.indexes.data.RequireJsConfigData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.RequireJsConfigDataExternalizer;
 import org.jetbrains.annotations.NotNull;
-import java.util.HashMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
-public class RequireJsIndex extends FileBasedIndexExtension<String, String> {
-    public static final ID<String, String> KEY =
+/**
+ * Configuration of the requirejs-config.js files by the area they apply in.
+ *
+ * Files of the module view/base directories and of unknown areas are stored under the base area, Magento merges them
+ * into the configuration of every area.
+ */
+public class RequireJsIndex extends FileBasedIndexExtension<String, RequireJsConfigData> {
+    public static final ID<String, RequireJsConfigData> KEY =
             ID.create("com.magento.idea.magento2plugin.stubs.indexes.require_js");
+    public static final String FILE_NAME = "requirejs-config.js";
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
 
     @NotNull
     @Override
-    public ID<String, String> getName() {
+    public ID<String, RequireJsConfigData> getName() {
         return KEY;
     }
 
     @NotNull
     @Override
-    public DataIndexer<String, String, FileContent> getIndexer() {
+    public DataIndexer<String, RequireJsConfigData, FileContent> getIndexer() {
         return inputData -> {
-            Map<String, String> map = new HashMap<>();
-            JSFile jsFile = (JSFile)inputData.getPsiFile();
+            PsiFile psiFile = inputData.getPsiFile();
+            if (!(psiFile instanceof JSFile)) {
+                return Collections.emptyMap();
+            }
 
-            JSVarStatement jsVarStatement = PsiTreeUtil.getChildOfType(jsFile, JSVarStatement.class);
-            if (jsVarStatement == null) {
-                return map;
+            JSObjectLiteralExpression config = findConfig((JSFile) psiFile);
+            if (config == null) {
+                return Collections.emptyMap();
             }
-            JSVariable[] jsVariableList = jsVarStatement.getVariables();
-            for (JSVariable jsVariable : jsVariableList) {
-                String name = jsVariable.getName();
-                if (name.equals("config")) {
-                    JSObjectLiteralExpression config = PsiTreeUtil.getChildOfType(jsVariable, JSObjectLiteralExpression.class);
-                    if (config == null) {
-                        return map;
+
+            Map<String, Map<String, String>> map = new LinkedHashMap<>();
+            JSObjectLiteralExpression mapGroups = getObject(config, "map");
+            if (mapGroups != null) {
+                for (JSProperty mapGroup : mapGroups.getProperties()) {
+                    JSObjectLiteralExpression mappings = getObject(mapGroup);
+                    if (mappings == null) {
+                        continue;
+                    }
+                    Map<String, String> aliases = parseStrings(mappings);
+                    if (!aliases.isEmpty()) {
+                        map.put(getPropertyName(mapGroup), aliases);
                     }
-                    parseConfigMap(map, config);
+                }
+            }
 
-                    JSProperty pathsMap = config.findProperty("paths");
-                    if (pathsMap == null) {
-                        return map;
+            JSObjectLiteralExpression pathsConfig = getObject(config, "paths");
+            Map<String, String> paths = pathsConfig == null
+                    ? new LinkedHashMap<>()
+                    : parseStrings(pathsConfig);
+
+            Map<String, Map<String, Boolean>> mixins = new LinkedHashMap<>();
+            JSObjectLiteralExpression modulesConfig = getObject(config, "config");
+            JSObjectLiteralExpression mixinsConfig = modulesConfig == null ? null : getObject(modulesConfig, "mixins");
+            if (mixinsConfig != null) {
+                for (JSProperty target : mixinsConfig.getProperties()) {
+                    JSObjectLiteralExpression targetMixins = getObject(target);
+                    if (targetMixins == null) {
+                        continue;
                     }
-                    JSObjectLiteralExpression[] pathGroupsWrappers = PsiTreeUtil.getChildrenOfType(pathsMap, JSObjectLiteralExpression.class);
-                    for (JSObjectLiteralExpression pathGroupsWrapper : pathGroupsWrappers) {
-                        JSProperty[] allConfigs = pathGroupsWrapper.getProperties();
-                        for (JSProperty mapping : allConfigs) {
-                            String nameConfig = mapping.getName();
-                            JSExpression value = mapping.getValue();
-                            if (value == null) {
-                                continue;
-                            }
-                            String valueConfig = value.getText();
-                            map.put(nameConfig, valueConfig);
-                        }
+                    Map<String, Boolean> enabledMixins = new LinkedHashMap<>();
+                    for (JSProperty mixin : targetMixins.getProperties()) {
+                        JSExpression enabled = mixin.getValue();
+                        boolean isEnabled = enabled == null || !"false".equals(enabled.getText());
+                        enabledMixins.put(getPropertyName(mixin), isEnabled);
+                    }
+                    mixins.put(getPropertyName(target), enabledMixins);
+                }
+            }
+
+            Map<String, List<String>> shim = new LinkedHashMap<>();
+            JSObjectLiteralExpression shimConfig = getObject(config, "shim");
+            if (shimConfig != null) {
+                for (JSProperty module : shimConfig.getProperties()) {
+                    // either the array of dependencies or an object with the deps array
+                    JSExpression dependencies = module.getValue();
+                    if (dependencies instanceof JSObjectLiteralExpression) {
+                        JSProperty deps = ((JSObjectLiteralExpression) dependencies).findProperty("deps");
+                        dependencies = deps == null ? null : deps.getValue();
                     }
+                    shim.put(getPropertyName(module), parseStringArray(dependencies));
                 }
             }
 
-            return map;
+            RequireJsConfigData data = new RequireJsConfigData(map, paths, mixins, shim);
+            if (data.isEmpty()) {
+                return Collections.emptyMap();
+            }
+
+            String area = Package.getAreaNameByViewFilePath(inputData.getFile().getPath());
+            return Collections.singletonMap(area.isEmpty() ? Package.Areas.base.toString() : area, data);
         };
     }
 
-    private void parseConfigMap(Map<String, String> map, JSObjectLiteralExpression config) {
-        JSProperty configMap = config.findProperty("map");
-        if (configMap == null) {
-            return;
+    @Nullable
+    private static JSObjectLiteralExpression findConfig(@NotNull JSFile jsFile) {
+        for (JSVarStatement jsVarStatement : PsiTreeUtil.getChildrenOfTypeAsList(jsFile, JSVarStatement.class)) {
+            for (JSVariable jsVariable : jsVarStatement.getVariables()) {
+                if ("config".equals(jsVariable.getName())
+                        && jsVariable.getInitializer() instanceof JSObjectLiteralExpression) {
+                    return (JSObjectLiteralExpression) jsVariable.getInitializer();
+                }
+            }
         }
 
-        JSObjectLiteralExpression[] configGroupsWrappers = PsiTreeUtil.getChildrenOfType(configMap, JSObjectLiteralExpression.class);
-        for (JSObjectLiteralExpression configGroupsWrapper : configGroupsWrappers) {
-            PsiElement[] configGroups = configGroupsWrapper.getChildren();
+        return null;
+    }
 
-            for (PsiElement configGroup : configGroups) {
-                JSObjectLiteralExpression mappingWrapper = PsiTreeUtil.getChildOfType(configGroup, JSObjectLiteralExpression.class);
-                JSProperty[] allConfigs = mappingWrapper.getProperties();
+    @Nullable
+    private static JSObjectLiteralExpression getObject(
+            @NotNull JSObjectLiteralExpression object,
+            @NotNull String name
+    ) {
+        JSProperty property = object.findProperty(name);
 
-                for (JSProperty mapping : allConfigs) {
-                    String nameConfig = mapping.getName();
-                    JSExpression value = mapping.getValue();
-                    if (value == null) {
-                        continue;
-                    }
-                    String valueConfig = value.getText();
-                    map.put(nameConfig, valueConfig);
+        return property == null ? null : getObject(property);
+    }
+
+    @Nullable
+    private static JSObjectLiteralExpression getObject(@NotNull JSProperty property) {
+        JSExpression value = property.getValue();
+
+        return value instanceof JSObjectLiteralExpression ? (JSObjectLiteralExpression) value : null;
+    }
+
+    @NotNull
+    private static Map<String, String> parseStrings(@NotNull JSObjectLiteralExpression object) {
+        Map<String, String> strings = new LinkedHashMap<>();
+        for (JSProperty property : object.getProperties()) {
+            JSExpression value = property.getValue();
+            if (value instanceof JSArrayLiteralExpression) {
+                // fallback paths, the first one is loaded
+                JSExpression[] fallbacks = ((JSArrayLiteralExpression) value).getExpressions();
+                value = fallbacks.length == 0 ? null : fallbacks[0];
+            }
+            String string = getString(value);
+            if (string != null) {
+                strings.put(getPropertyName(property), string);
+            }
+        }
+
+        return strings;
+    }
+
+    @NotNull
+    private static List<String> parseStringArray(@Nullable JSExpression expression) {
+        List<String> strings = new ArrayList<>();
+        if (expression instanceof JSArrayLiteralExpression) {
+            for (JSExpression element : ((JSArrayLiteralExpression) expression).getExpressions()) {
+                String string = getString(element);
+                if (string != null) {
+                    strings.add(string);
                 }
             }
         }
+
+        return strings;
+    }
+
+    @Nullable
+    private static String getString(@Nullable JSExpression expression) {
+        if (!(expression instanceof JSLiteralExpression) || !((JSLiteralExpression) expression).isQuotedLiteral()) {
+            return null;
+        }
+
+        return StringUtil.unquoteString(expression.getText());
+    }
+
+    @NotNull
+    private static String getPropertyName(@NotNull JSProperty property) {
+        String name = property.getName();
+
+        return name == null ? "" : StringUtil.unquoteString(name);
     }
 
     @NotNull
     @Override
     public KeyDescriptor<String> getKeyDescriptor() {
-        return new EnumeratorStringDescriptor();
+        return myKeyDescriptor;
     }
 
     @NotNull
     @Override
     public FileBasedIndex.InputFilter getInputFilter() {
         return virtualFile -> (
-                virtualFile.getFileType().equals(JavaScriptFileType.INSTANCE) && virtualFile.getName().equals("requirejs-config.js")
+                virtualFile.getFileType().equals(JavaScriptFileType.INSTANCE) && virtualFile.getName().equals(FILE_NAME)
         );
     }
 
@@ -119,11 +222,12 @@ public class RequireJsIndex extends FileBasedIndexExtension<String, String> {
 
     @Override
     public int getVersion() {
-        return 1;
+        return 3;
     }
 
     @NotNull
-    public DataExternalizer<String> getValueExternalizer() {
-        return EnumeratorStringDescriptor.INSTANCE;
+    @Override
+    public DataExternalizer<RequireJsConfigData> getValueExternalizer() {
+        return RequireJsConfigDataExternalizer.INSTANCE;
     }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.js;
+
+import com.intellij.lang.javascript.JavaScriptFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.magento.idea.magento2plugin.magento.files.MagentoFileKind;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import com.magento.idea.magento2plugin.stubs.indexes.data.RequireJsModuleData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.RequireJsModuleDataExternalizer;
+import com.magento.idea.magento2plugin.util.RegExUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JS files of the lib/web, module view/area/web and theme web directories by their RequireJS module id.
+ *
+ * Files of lib/web and of the theme web directories are stored by their module id, like mage/translate. Files of the
+ * module and theme Vendor_Module/web directories are stored by the id within the module, js/list for
+ * Magento_Catalog/js/list, the module name of a view directory is only known to its registration.php. The index only
+ * depends on the file paths, it works wherever the Magento root is in the project.
+ */
+public class RequireJsModuleIndex extends FileBasedIndexExtension<String, RequireJsModuleData> {
+    public static final ID<String, RequireJsModuleData> KEY =
+            ID.create("com.magento.idea.magento2plugin.stubs.indexes.require_js_module");
+    private static final String JS_EXTENSION = ".js";
+    private static final String WEB_DIRECTORY = "web";
+    private static final String LIB_DIRECTORY = "lib";
+    private static final Pattern MODULE_NAME_PATTERN = Pattern.compile(RegExUtil.Magento.MODULE_NAME);
+    // composer packages of themes, like magento/theme-frontend-luma
+    private static final Pattern THEME_PACKAGE_PATTERN = Pattern.compile("theme-([a-z]+)-.+");
+    private final KeyDescriptor<String> myKeyDescriptor = new EnumeratorStringDescriptor();
+
+    @NotNull
+    @Override
+    public ID<String, RequireJsModuleData> getName() {
+        return KEY;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, RequireJsModuleData, FileContent> getIndexer() {
+        return inputData -> {
+            String path = inputData.getFile().getPath();
+            if (!path.endsWith(JS_EXTENSION)) {
+                return Collections.emptyMap();
+            }
+            String[] segments = path.substring(0, path.length() - JS_EXTENSION.length()).split("/");
+
+            Map<String, RequireJsModuleData> map = new HashMap<>();
+            if (!indexThemeFile(segments, map) && !indexModuleFile(segments, map)) {
+                indexLibFile(segments, map);
+            }
+
+            return map;
+        };
+    }
+
+    /**
+     * Files of app/design/area/Vendor/theme and of the theme composer packages.
+     */
+    private static boolean indexThemeFile(@NotNull String[] segments, @NotNull Map<String, RequireJsModuleData> map) {
+        for (int i = 0; i < segments.length; i++) {
+            String area = null;
+            int themeIndex = -1;
+            if (segments[i].equals(Package.THEMES_ROOT_DIR) && i + 3 < segments.length) {
+                area = segments[i + 1];
+                themeIndex = i + 4;
+            } else {
+                Matcher matcher = THEME_PACKAGE_PATTERN.matcher(segments[i]);
+                if (matcher.matches()) {
+                    area = matcher.group(1);
+                    themeIndex = i + 1;
+                }
+            }
+            if (area == null || Package.getAreaByString(area) == null || themeIndex + 1 >= segments.length) {
+                continue;
+            }
+
+            if (segments[themeIndex].equals(WEB_DIRECTORY)) {
+                map.put(
+                        join(segments, themeIndex + 1),
+                        new RequireJsModuleData(RequireJsModuleData.Source.THEME, area, "")
+                );
+                return true;
+            }
+            if (MODULE_NAME_PATTERN.matcher(segments[themeIndex]).matches()
+                    && segments[themeIndex + 1].equals(WEB_DIRECTORY)
+                    && themeIndex + 2 < segments.length) {
+                map.put(
+                        join(segments, themeIndex + 2),
+                        new RequireJsModuleData(RequireJsModuleData.Source.THEME, area, segments[themeIndex])
+                );
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Files of the module view/area/web directories, the outermost view directory is the module one.
+     */
+    private static boolean indexModuleFile(@NotNull String[] segments, @NotNull Map<String, RequireJsModuleData> map) {
+        for (int i = 0; i + 3 < segments.length; i++) {
+            if (segments[i].equals(Package.MODULE_VIEW_DIR)
+                    && Package.getAreaByString(segments[i + 1]) != null
+                    && segments[i + 2].equals(WEB_DIRECTORY)) {
+                map.put(
+                        join(segments, i + 3),
+                        new RequireJsModuleData(RequireJsModuleData.Source.MODULE, segments[i + 1], "")
+                );
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void indexLibFile(@NotNull String[] segments, @NotNull Map<String, RequireJsModuleData> map) {
+        for (int i = 0; i + 2 < segments.length; i++) {
+            if (segments[i].equals(LIB_DIRECTORY) && segments[i + 1].equals(WEB_DIRECTORY)) {
+                map.put(join(segments, i + 2), new RequireJsModuleData(RequireJsModuleData.Source.LIB, "", ""));
+                return;
+            }
+        }
+    }
+
+    @NotNull
+    private static String join(@NotNull String[] segments, int from) {
+        return String.join("/", Arrays.copyOfRange(segments, from, segments.length));
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return myKeyDescriptor;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<RequireJsModuleData> getValueExternalizer() {
+        return RequireJsModuleDataExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return virtualFile -> virtualFile.getFileType().equals(JavaScriptFileType.INSTANCE)
+                && virtualFile.getPath().contains("/" + WEB_DIRECTORY + "/")
+                && !MagentoFileKind.isExcluded(virtualFile);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return false;
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    /**
+     * Files stored by the module id, or by the id within the module for the files of module web directories.
+     */
+    @NotNull
+    public static Map<VirtualFile, RequireJsModuleData> getFiles(@NotNull Project project, @NotNull String moduleId) {
+        Map<VirtualFile, RequireJsModuleData> files = new HashMap<>();
+        FileBasedIndex.getInstance().processValues(
+                KEY,
+                moduleId,
+                null,
+                (file, value) -> {
+                    files.put(file, value);
+                    return true;
+                },
+                GlobalSearchScope.allScope(project)
+        );
+
+        return files;
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.xml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Single pass XML scanner used by the indexers instead of the XML PSI.
+ *
+ * Indexers only need a few attributes of Magento configuration files, so building a full PSI tree for every
+ * file is a waste. The scanner is lenient: comments, processing instructions and declarations are skipped,
+ * unclosed tags are closed at the end of the file and unmatched closing tags are ignored.
+ */
+public final class LightXmlParser {
+    private final CharSequence text;
+    private final int length;
+    private int position;
+
+    private LightXmlParser(@NotNull CharSequence text) {
+        this.text = text;
+        this.length = text.length();
+    }
+
+    /**
+     * Parse the text and return the root tag of the document.
+     */
+    @Nullable
+    public static LightXmlTag parse(@NotNull CharSequence text) {
+        return new LightXmlParser(text).parseDocument();
+    }
+
+    @Nullable
+    private LightXmlTag parseDocument() {
+        LightXmlTag rootTag = null;
+        Deque<LightXmlTag> openTags = new ArrayDeque<>();
+
+        while (position < length) {
+            if (text.charAt(position) != '<') {
+                int end = indexOf("<", position);
+                if (!openTags.isEmpty() && !isWhitespace(position, end)) {
+                    openTags.peek().appendText(decode(position, end));
+                }
+                position = end;
+                continue;
+            }
+
+            if (startsWith("<!--")) {
+                position = skipPast("-->", position + 4);
+            } else if (startsWith("<![CDATA[")) {
+                int start = position + 9;
+                int end = indexOf("]]>", start);
+                if (!openTags.isEmpty()) {
+                    openTags.peek().appendText(text.subSequence(start, end));
+                }
+                position = Math.min(end + 3, length);
+            } else if (startsWith("<?")) {
+                position = skipPast("?>", position + 2);
+            } else if (startsWith("<!")) {
+                skipDeclaration();
+            } else if (startsWith("</")) {
+                position += 2;
+                String name = readName();
+                position = skipPast(">", position);
+                closeTag(openTags, name);
+            } else {
+                int offset = position++;
+                String name = readName();
+                if (name.isEmpty()) {
+                    if (!openTags.isEmpty()) {
+                        openTags.peek().appendText("<");
+                    }
+                    continue;
+                }
+
+                LightXmlTag tag = new LightXmlTag(name, offset, openTags.peek());
+                boolean isEmptyTag = readAttributes(tag);
+                if (!openTags.isEmpty()) {
+                    openTags.peek().addSubTag(tag);
+                } else if (rootTag == null) {
+                    rootTag = tag;
+                }
+                if (!isEmptyTag) {
+                    openTags.push(tag);
+                }
+            }
+        }
+
+        return rootTag;
+    }
+
+    private static void closeTag(@NotNull Deque<LightXmlTag> openTags, @NotNull String name) {
+        for (LightXmlTag openTag: openTags) {
+            if (openTag.getName().equals(name)) {
+                LightXmlTag closedTag;
+                do {
+                    closedTag = openTags.pop();
+                } while (closedTag != openTag);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Read attributes of the start tag. Returns true if the tag is an empty element tag.
+     */
+    private boolean readAttributes(@NotNull LightXmlTag tag) {
+        while (true) {
+            skipWhitespaces();
+            if (position >= length) {
+                return false;
+            }
+
+            char c = text.charAt(position);
+            if (c == '>') {
+                position++;
+                return false;
+            }
+            if (c == '/') {
+                position++;
+                if (position < length && text.charAt(position) == '>') {
+                    position++;
+                    return true;
+                }
+                continue;
+            }
+            if (c == '<') {
+                return false;
+            }
+
+            String attributeName = readName();
+            if (attributeName.isEmpty()) {
+                position++;
+                continue;
+            }
+
+            skipWhitespaces();
+            if (position >= length || text.charAt(position) != '=') {
+                tag.setAttribute(attributeName, "");
+                continue;
+            }
+            position++;
+            skipWhitespaces();
+            if (position >= length) {
+                return false;
+            }
+
+            char quote = text.charAt(position);
+            int start;
+            int end;
+            if (quote == '"' || quote == '\'') {
+                start = position + 1;
+                end = indexOf(String.valueOf(quote), start);
+                position = Math.min(end + 1, length);
+            } else {
+                start = position;
+                while (position < length && !isNameEnd(text.charAt(position))) {
+                    position++;
+                }
+                end = position;
+            }
+            tag.setAttribute(attributeName, decode(start, end).toString());
+        }
+    }
+
+    @NotNull
+    private String readName() {
+        int start = position;
+        while (position < length && !isNameEnd(text.charAt(position))) {
+            position++;
+        }
+
+        return text.subSequence(start, position).toString();
+    }
+
+    private static boolean isNameEnd(char c) {
+        return Character.isWhitespace(c) || c == '>' || c == '/' || c == '=' || c == '<' || c == '"' || c == '\'';
+    }
+
+    private boolean isWhitespace(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void skipWhitespaces() {
+        while (position < length && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    /**
+     * Skip <!DOCTYPE ...> like declarations, including an internal subset in square brackets.
+     */
+    private void skipDeclaration() {
+        int depth = 0;
+        while (position < length) {
+            char c = text.charAt(position++);
+            if (c == '[') {
+                depth++;
+            } else if (c == ']') {
+                depth--;
+            } else if (c == '>' && depth <= 0) {
+                return;
+            }
+        }
+    }
+
+    private boolean startsWith(@NotNull String prefix) {
+        if (position + prefix.length() > length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(position + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Index of the needle starting from the given position or the text length if it is not found.
+     */
+    private int indexOf(@NotNull String needle, int from) {
+        char first = needle.charAt(0);
+        for (int i = from; i <= length - needle.length(); i++) {
+            if (text.charAt(i) != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < needle.length() && text.charAt(i + j) == needle.charAt(j)) {
+                j++;
+            }
+            if (j == needle.length()) {
+                return i;
+            }
+        }
+
+        return length;
+    }
+
+    private int indexOf(char needle, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == needle) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int skipPast(@NotNull String needle, int from) {
+        return Math.min(indexOf(needle, from) + needle.length(), length);
+    }
+
+    /**
+     * Text of the range with the predefined and character entity references replaced.
+     */
+    @NotNull
+    private CharSequence decode(int start, int end) {
+        int ampersand = -1;
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == '&') {
+                ampersand = i;
+                break;
+            }
+        }
+        if (ampersand < 0) {
+            return text.subSequence(start, end);
+        }
+
+        StringBuilder result = new StringBuilder(end - start);
+        result.append(text, start, ampersand);
+        int i = ampersand;
+        while (i < end) {
+            char c = text.charAt(i);
+            int semicolon = c == '&' ? indexOf(';', i, end) : -1;
+            if (semicolon < 0) {
+                result.append(c);
+                i++;
+                continue;
+            }
+
+            String replacement = resolveEntity(text.subSequence(i + 1, semicolon).toString());
+            if (replacement == null) {
+                result.append(c);
+                i++;
+                continue;
+            }
+            result.append(replacement);
+            i = semicolon + 1;
+        }
+
+        return result;
+    }
+
+    @Nullable
+    private static String resolveEntity(@NotNull String entity) {
+        switch (entity) {
+            case "lt":
+                return "<";
+            case "gt":
+                return ">";
+            case "amp":
+                return "&";
+            case "quot":
+                return "\"";
+            case "apos":
+                return "'";
+            default:
+                break;
+        }
+        if (entity.length() < 2 || entity.charAt(0) != '#') {
+            return null;
+        }
+
+        try {
+            int codePoint = entity.charAt(1) == 'x' || entity.charAt(1) == 'X'
+                    ? Integer.parseInt(entity.substring(2), 16)
+                    : Integer.parseInt(entity.substring(1));
+            return new String(Character.toChars(codePoint));
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.xml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight XML tag produced by the LightXmlParser.
+ *
+ * Keeps only what the indexers need: name, attributes, sub tags, direct text and the offset of the tag start.
+ */
+public class LightXmlTag {
+    private final String name;
+    private final int offset;
+    private final LightXmlTag parent;
+    private Map<String, String> attributes = Collections.emptyMap();
+    private List<LightXmlTag> subTags = Collections.emptyList();
+    private StringBuilder text;
+
+    LightXmlTag(@NotNull String name, int offset, @Nullable LightXmlTag parent) {
+        this.name = name;
+        this.offset = offset;
+        this.parent = parent;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Offset of the tag start ("<" character) in the file text.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Nullable
+    public LightXmlTag getParent() {
+        return parent;
+    }
+
+    @Nullable
+    public String getAttributeValue(@NotNull String attributeName) {
+        return attributes.get(attributeName);
+    }
+
+    @NotNull
+    public Map<String, String> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    @NotNull
+    public List<LightXmlTag> getSubTags() {
+        return Collections.unmodifiableList(subTags);
+    }
+
+    @NotNull
+    public List<LightXmlTag> findSubTags(@NotNull String subTagName) {
+        List<LightXmlTag> result = new ArrayList<>();
+        for (LightXmlTag subTag: subTags) {
+            if (subTag.name.equals(subTagName)) {
+                result.add(subTag);
+            }
+        }
+
+        return result;
+    }
+
+    @Nullable
+    public LightXmlTag findFirstSubTag(@NotNull String subTagName) {
+        for (LightXmlTag subTag: subTags) {
+            if (subTag.name.equals(subTagName)) {
+                return subTag;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Text placed directly in the tag (text of sub tags excluded), trimmed.
+     */
+    @NotNull
+    public String getTrimmedText() {
+        return text == null ? "" : text.toString().trim();
+    }
+
+    void setAttribute(@NotNull String attributeName, @NotNull String value) {
+        if (attributes.isEmpty()) {
+            attributes = new LinkedHashMap<>();
+        }
+        attributes.putIfAbsent(attributeName, value);
+    }
+
+    void addSubTag(@NotNull LightXmlTag subTag) {
+        if (subTags.isEmpty()) {
+            subTags = new ArrayList<>();
+        }
+        subTags.add(subTag);
+    }
+
+    void appendText(@NotNull CharSequence value) {
+        if (text == null) {
+            text = new StringBuilder();
+        }
+        text.append(value);
+    }
+}
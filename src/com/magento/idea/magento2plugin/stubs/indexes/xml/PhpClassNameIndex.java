@@ -4,73 +4,72 @@
  */
 package com.magento.idea.magento2plugin.stubs.indexes.xml;
 
-import com.intellij.ide.highlighter.XmlFileType;
-import com.intellij.psi.PsiFile;
-import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.psi.xml.XmlAttribute;
-import com.intellij.psi.xml.XmlFile;
-import com.intellij.psi.xml.XmlTag;
-import com.intellij.psi.xml.XmlTagValue;
 import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
 import com.jetbrains.php.lang.PhpLangUtil;
+import com.magento.idea.magento2plugin.magento.files.MagentoFileKind;
 import com.magento.idea.magento2plugin.project.Settings;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PhpClassUsageData;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PhpClassUsageDataExternalizer;
 import com.magento.idea.magento2plugin.util.RegExUtil;
 import gnu.trove.THashMap;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 
-public class PhpClassNameIndex extends ScalarIndexExtension<String> {
-    private static final String CLASS_NAME_PATTERN =
-            "\\\\?" + RegExUtil.PhpRegex.CLASS_NAME + "(\\\\" + RegExUtil.PhpRegex.CLASS_NAME + ")+";
+/**
+ * PHP classes referenced in Magento configuration files, with the tags referencing them.
+ */
+public class PhpClassNameIndex extends FileBasedIndexExtension<String, List<PhpClassUsageData>> {
+    private static final Pattern CLASS_NAME_PATTERN = Pattern.compile(
+            "\\\\?" + RegExUtil.PhpRegex.CLASS_NAME + "(\\\\" + RegExUtil.PhpRegex.CLASS_NAME + ")+");
 
-    public static final ID<String, Void> KEY = ID.create(
+    public static final ID<String, List<PhpClassUsageData>> KEY = ID.create(
             "com.magento.idea.magento2plugin.stubs.indexes.xml.php_class_name");
 
     @NotNull
     @Override
-    public DataIndexer<String, Void, FileContent> getIndexer() {
+    public DataIndexer<String, List<PhpClassUsageData>, FileContent> getIndexer() {
         return inputData -> {
-            Map<String, Void> map = new THashMap<>();
-            PsiFile psiFile = inputData.getPsiFile();
-            if (!Settings.isEnabled(psiFile.getProject())) {
-                return map;
-            }
-
-            if (!(psiFile instanceof XmlFile)) {
+            Map<String, List<PhpClassUsageData>> map = new THashMap<>();
+            if (!Settings.isEnabled(inputData.getProject())) {
                 return map;
             }
 
-            XmlTag xmlTags[] = PsiTreeUtil.getChildrenOfType(psiFile.getFirstChild(), XmlTag.class);
-            if (xmlTags == null) {
+            LightXmlTag rootTag = LightXmlParser.parse(inputData.getContentAsText());
+            if (rootTag == null) {
                 return map;
             }
 
-            for (XmlTag xmlTag: xmlTags) {
-                fillMap(xmlTag, map);
-            }
+            fillMap(rootTag, map);
 
             return map;
         };
     }
 
-    private void fillMap(XmlTag parentTag, Map<String, Void> resultMap) {
-        for (XmlTag childTag: parentTag.getSubTags()) {
-            for (XmlAttribute xmlAttribute: childTag.getAttributes()) {
-                String xmlAttributeValue = xmlAttribute.getValue();
-                if (xmlAttributeValue != null
-                        && !xmlAttributeValue.isEmpty()
-                        && xmlAttributeValue.matches(CLASS_NAME_PATTERN)
-                ) {
-                    resultMap.put(PhpLangUtil.toPresentableFQN(xmlAttributeValue), null);
+    private void fillMap(LightXmlTag parentTag, Map<String, List<PhpClassUsageData>> resultMap) {
+        for (LightXmlTag childTag: parentTag.getSubTags()) {
+            Set<String> classNames = new LinkedHashSet<>();
+            for (String xmlAttributeValue: childTag.getAttributes().values()) {
+                if (!xmlAttributeValue.isEmpty() && CLASS_NAME_PATTERN.matcher(xmlAttributeValue).matches()) {
+                    classNames.add(PhpLangUtil.toPresentableFQN(xmlAttributeValue));
                 }
             }
-            XmlTagValue childTagValue = childTag.getValue();
-            String tagValue = childTagValue.getTrimmedText();
-            if (!tagValue.isEmpty() && tagValue.matches(CLASS_NAME_PATTERN)) {
-                resultMap.put(PhpLangUtil.toPresentableFQN(tagValue), null);
+            String tagValue = childTag.getTrimmedText();
+            if (!tagValue.isEmpty() && CLASS_NAME_PATTERN.matcher(tagValue).matches()) {
+                classNames.add(PhpLangUtil.toPresentableFQN(tagValue));
+            }
+
+            for (String className: classNames) {
+                resultMap.computeIfAbsent(className, k -> new ArrayList<>())
+                        .add(new PhpClassUsageData(childTag.getName(), childTag.getOffset()));
             }
 
             fillMap(childTag, resultMap);
@@ -79,7 +78,7 @@ public class PhpClassNameIndex extends ScalarIndexExtension<String> {
 
     @NotNull
     @Override
-    public ID<String, Void> getName() {
+    public ID<String, List<PhpClassUsageData>> getName() {
         return KEY;
     }
 
@@ -89,11 +88,16 @@ public class PhpClassNameIndex extends ScalarIndexExtension<String> {
         return new EnumeratorStringDescriptor();
     }
 
+    @NotNull
+    @Override
+    public DataExternalizer<List<PhpClassUsageData>> getValueExternalizer() {
+        return PhpClassUsageDataExternalizer.INSTANCE;
+    }
+
     @NotNull
     @Override
     public FileBasedIndex.InputFilter getInputFilter() {
-        return file ->
-                file.getFileType() == XmlFileType.INSTANCE;
+        return MagentoFileKind::isConfigurationFile;
     }
 
     @Override
@@ -103,6 +107,6 @@ public class PhpClassNameIndex extends ScalarIndexExtension<String> {
 
     @Override
     public int getVersion() {
-        return 1;
+        return 4;
     }
 }
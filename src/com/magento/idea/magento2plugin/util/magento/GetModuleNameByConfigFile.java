@@ -0,0 +1,90 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.util.magento;
+
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.magento.idea.magento2plugin.magento.files.ModuleXml;
+import com.magento.idea.magento2plugin.magento.files.RegistrationPhp;
+import com.magento.idea.magento2plugin.magento.packages.Package;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlParser;
+import com.magento.idea.magento2plugin.stubs.indexes.xml.LightXmlTag;
+import com.magento.idea.magento2plugin.util.RegExUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Name of the module a configuration file (etc/di.xml, etc/adminhtml/events.xml) belongs to, without PSI.
+ *
+ * Read from registration.php of the module directory, from etc/module.xml when there is none, so modules without
+ * composer.json are named as well. Used by the indexers, which store the name with the declarations.
+ */
+public class GetModuleNameByConfigFile {
+    private static final Pattern MODULE_NAME_LITERAL
+            = Pattern.compile("['\"](" + RegExUtil.Magento.MODULE_NAME + ")['\"]");
+
+    /**
+     * Module name, empty when the file isn't in the etc directory of a module or the module has no name.
+     */
+    @NotNull
+    public static String execute(@NotNull VirtualFile configFile) {
+        VirtualFile configDirectory = getConfigDirectory(configFile);
+        VirtualFile moduleDirectory = configDirectory == null ? null : configDirectory.getParent();
+        if (moduleDirectory == null) {
+            return "";
+        }
+
+        String moduleName = readRegistrationPhp(moduleDirectory.findChild(RegistrationPhp.FILE_NAME));
+        if (moduleName.isEmpty()) {
+            moduleName = readModuleXml(configDirectory.findChild(ModuleXml.FILE_NAME));
+        }
+
+        return moduleName;
+    }
+
+    @Nullable
+    private static VirtualFile getConfigDirectory(@NotNull VirtualFile configFile) {
+        VirtualFile directory = configFile.getParent();
+        if (directory != null && !Package.MODULE_BASE_AREA_DIR.equals(directory.getName())) {
+            directory = Package.getAreaByString(directory.getName()) == null ? null : directory.getParent();
+        }
+
+        return directory != null && Package.MODULE_BASE_AREA_DIR.equals(directory.getName()) ? directory : null;
+    }
+
+    @NotNull
+    private static String readRegistrationPhp(@Nullable VirtualFile registrationFile) {
+        String text = loadText(registrationFile);
+        Matcher matcher = MODULE_NAME_LITERAL.matcher(text);
+
+        return matcher.find() ? matcher.group(1) : "";
+    }
+
+    @NotNull
+    private static String readModuleXml(@Nullable VirtualFile moduleXmlFile) {
+        LightXmlTag rootTag = LightXmlParser.parse(loadText(moduleXmlFile));
+        LightXmlTag moduleTag = rootTag == null ? null : rootTag.findFirstSubTag("module");
+        String moduleName = moduleTag == null ? null : moduleTag.getAttributeValue("name");
+
+        return moduleName == null ? "" : moduleName;
+    }
+
+    @NotNull
+    private static String loadText(@Nullable VirtualFile file) {
+        if (file == null || file.isDirectory()) {
+            return "";
+        }
+
+        try {
+            return VfsUtilCore.loadText(file);
+        } catch (IOException exception) {
+            return "";
+        }
+    }
+}
@@ -7,10 +7,11 @@ package com.magento.idea.magento2plugin.util.magento.plugin;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.indexing.FileBasedIndex;
-import com.magento.idea.magento2plugin.stubs.indexes.PluginIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.PluginTargetIndex;
+import com.magento.idea.magento2plugin.stubs.indexes.data.PluginTargetData;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -30,26 +31,16 @@ public class GetTargetClassNamesByPluginClassName {
     }
 
     public ArrayList<String> execute(String currentClassName) {
-        ArrayList<String> targetClassNames = new ArrayList<>();
-        Collection<String> allKeys = FileBasedIndex.getInstance()
-                .getAllKeys(PluginIndex.KEY, project);
+        Set<String> targetClassNames = new LinkedHashSet<>();
+        List<Set<PluginTargetData>> pluginTargetsList = FileBasedIndex.getInstance()
+                .getValues(PluginTargetIndex.KEY, currentClassName, GlobalSearchScope.allScope(project));
 
-        for (String targetClassName : allKeys) {
-            List<Set<String>> pluginsList = FileBasedIndex.getInstance()
-                    .getValues(com.magento.idea.magento2plugin.stubs.indexes.PluginIndex.KEY, targetClassName, GlobalSearchScope.allScope(project));
-            if (pluginsList.isEmpty()) {
-                continue;
-            }
-            for (Set<String> plugins : pluginsList) {
-                for (String plugin : plugins) {
-                    if (!plugin.equals(currentClassName)) {
-                        continue;
-                    }
-                    targetClassNames.add(targetClassName);
-                }
+        for (Set<PluginTargetData> pluginTargets : pluginTargetsList) {
+            for (PluginTargetData pluginTarget : pluginTargets) {
+                targetClassNames.add(pluginTarget.getTargetType());
             }
         }
 
-        return targetClassNames;
+        return new ArrayList<>(targetClassNames);
     }
 }
@@ -0,0 +1,17 @@
+<?php
+/**
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+namespace Magento\Catalog\Model\Session;
+
+class Storage
+{
+    /**
+     * @param string $namespace
+     * @param array $data
+     */
+    public function __construct($namespace = 'default', array $data = [])
+    {
+    }
+}
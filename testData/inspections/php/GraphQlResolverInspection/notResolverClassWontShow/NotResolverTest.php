@@ -0,0 +1,12 @@
+<?php
+/**
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+namespace Magento\Test;
+use Magento\Framework\GraphQl\Query\InvalidInterface;
+
+class NotResolverTest implements InvalidInterface
+{
+}
+?>
@@ -0,0 +1,15 @@
+<?php
+/**
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+
+namespace Magento\Catalog\Plugin\Block;
+
+class Topmenu
+{
+    public function afterSomeMethod(\Magento\Theme\Block\Html\Topmenu $subject, $result)
+    {
+        return $result;
+    }
+}
@@ -0,0 +1,15 @@
+<?php
+/**
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+
+namespace Magento\Catalog\Model;
+
+class ClassNotConfiguredInDiXml
+{
+    public function afterSomeMethod($subject, $result)
+    {
+        return $result;
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+
+var config = {
+    map: {
+        '*': {
+            productCompare: 'Foo_Bar/js/compare'
+        }
+    },
+    paths: {
+        'catalog/compare': 'Foo_Bar/js/compare'
+    },
+    config: {
+        mixins: {
+            'Magento_Catalog/js/gallery': {
+                'Magento_Catalog/js/gallery-mixin': false,
+                'Foo_Bar/js/gallery-mixin': true
+            }
+        }
+    }
+};
@@ -0,0 +1,238 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.analysis;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+import com.magento.idea.magento2plugin.bundles.InspectionBundle;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ConfigurationAnalyzerTest extends BaseProjectTestCase {
+
+    public void testModuleFilesMustBeCollectedByCheck() {
+        AnalysisModule module = findModule("Magento_Catalog");
+
+        assertNotNull(module);
+        assertEquals(
+                Collections.singleton(ConfigurationCheck.PLUGIN_DECLARATION),
+                getChecks(module, "etc/frontend/di.xml")
+        );
+        assertEquals(
+                Collections.singleton(ConfigurationCheck.OBSERVER_DECLARATION),
+                getChecks(module, "etc/events.xml")
+        );
+        assertNull(getChecks(module, "etc/webapi.xml"));
+    }
+
+    public void testNestedModuleFilesMustNotBeCollected() {
+        for (AnalysisModule module: new ConfigurationAnalyzer(getProject()).collectModules()) {
+            for (VirtualFile file: module.getFiles().keySet()) {
+                assertTrue(file.getPath().startsWith(module.getDirectory().getPath() + "/"));
+            }
+        }
+    }
+
+    public void testDisplayNameMustComeFromRegisteredInspection() {
+        assertEquals("Duplicated Plugin Usage in di XML", ConfigurationCheck.PLUGIN_DECLARATION.getDisplayName());
+        assertEquals(
+                "Duplicated Observer Usage in events XML",
+                ConfigurationCheck.OBSERVER_DECLARATION.getDisplayName()
+        );
+    }
+
+    public void testModuleDuplicatesMustBeReported() throws IOException {
+        AnalysisModule module = findModule("Foo_Analysis");
+        assertNotNull(module);
+
+        List<AnalysisProblem> problems = analyze(module).getProblems();
+
+        assertEquals(2, problems.size());
+        assertProblem(
+                problems.get(0),
+                ConfigurationCheck.PLUGIN_DECLARATION,
+                module,
+                "etc/di.xml",
+                "name=\"fooAnalysisPlugin\"",
+                new InspectionBundle().message("inspection.plugin.duplicateInSameFile")
+        );
+        assertProblem(
+                problems.get(1),
+                ConfigurationCheck.OBSERVER_DECLARATION,
+                module,
+                "etc/events.xml",
+                "name=\"foo_analysis_observer\"",
+                new InspectionBundle().message("inspection.observer.duplicateInSameFile")
+        );
+    }
+
+    public void testJsonReportMustContainProblems() throws IOException {
+        AnalysisModule module = findModule("Foo_Analysis");
+        assertNotNull(module);
+        AnalysisReport report = analyze(module);
+        AnalysisProblem problem = report.getProblems().get(0);
+
+        StringWriter writer = new StringWriter();
+        report.writeJson(writer);
+        JsonObject json = new JsonParser().parse(writer.toString()).getAsJsonObject();
+
+        assertEquals(1, json.get("modules").getAsInt());
+        assertEquals(module.getFiles().size(), json.get("files").getAsInt());
+        JsonArray jsonProblems = json.getAsJsonArray("problems");
+        assertEquals(2, jsonProblems.size());
+
+        JsonObject jsonProblem = jsonProblems.get(0).getAsJsonObject();
+        assertEquals("PluginDeclarationInspection", jsonProblem.get("inspection").getAsString());
+        assertEquals(AnalysisProblem.LEVEL_WARNING, jsonProblem.get("level").getAsString());
+        assertEquals("Foo_Analysis", jsonProblem.get("module").getAsString());
+        assertEquals(problem.getPath(), jsonProblem.get("file").getAsString());
+        assertEquals(problem.getLine(), jsonProblem.get("line").getAsInt());
+        assertEquals(problem.getColumn(), jsonProblem.get("column").getAsInt());
+        assertEquals(problem.getMessage(), jsonProblem.get("message").getAsString());
+    }
+
+    public void testSarifReportMustContainRulesAndProblemLocation() throws IOException {
+        AnalysisReport report = new AnalysisReport(1, 1, Collections.singletonList(new AnalysisProblem(
+                ConfigurationCheck.PLUGIN_DECLARATION,
+                AnalysisProblem.LEVEL_WARNING,
+                "Magento_Catalog",
+                "vendor/magento/module-catalog/etc/di.xml",
+                12,
+                29,
+                "The plugin name already used in this file."
+        )));
+        StringWriter writer = new StringWriter();
+        report.writeSarif(writer);
+        JsonObject sarif = new JsonParser().parse(writer.toString()).getAsJsonObject();
+
+        assertEquals(AnalysisReport.SARIF_VERSION, sarif.get("version").getAsString());
+        assertEquals(AnalysisReport.SARIF_SCHEMA, sarif.get("$schema").getAsString());
+        JsonArray runs = sarif.getAsJsonArray("runs");
+        assertEquals(1, runs.size());
+        JsonObject run = runs.get(0).getAsJsonObject();
+
+        JsonArray rules = run.getAsJsonObject("tool").getAsJsonObject("driver").getAsJsonArray("rules");
+        assertEquals(ConfigurationCheck.values().length, rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            JsonObject rule = rules.get(i).getAsJsonObject();
+            ConfigurationCheck check = ConfigurationCheck.values()[i];
+            assertEquals(check.getShortName(), rule.get("id").getAsString());
+            assertEquals(
+                    check.getDisplayName(),
+                    rule.getAsJsonObject("shortDescription").get("text").getAsString()
+            );
+        }
+
+        JsonArray results = run.getAsJsonArray("results");
+        assertEquals(1, results.size());
+        JsonObject result = results.get(0).getAsJsonObject();
+        assertEquals("PluginDeclarationInspection", result.get("ruleId").getAsString());
+        assertEquals(AnalysisProblem.LEVEL_WARNING, result.get("level").getAsString());
+        assertEquals(
+                "The plugin name already used in this file.",
+                result.getAsJsonObject("message").get("text").getAsString()
+        );
+        assertEquals("Magento_Catalog", result.getAsJsonObject("properties").get("module").getAsString());
+
+        JsonArray locations = result.getAsJsonArray("locations");
+        assertEquals(1, locations.size());
+        JsonObject location = locations.get(0).getAsJsonObject().getAsJsonObject("physicalLocation");
+        JsonObject artifactLocation = location.getAsJsonObject("artifactLocation");
+        assertEquals("vendor/magento/module-catalog/etc/di.xml", artifactLocation.get("uri").getAsString());
+        assertEquals("%SRCROOT%", artifactLocation.get("uriBaseId").getAsString());
+        JsonObject region = location.getAsJsonObject("region");
+        assertEquals(12, region.get("startLine").getAsInt());
+        assertEquals(29, region.get("startColumn").getAsInt());
+    }
+
+    public void testSarifReportMustUseFileUriForPathOutsideProject() throws IOException {
+        AnalysisReport report = new AnalysisReport(1, 1, Collections.singletonList(new AnalysisProblem(
+                ConfigurationCheck.PLUGIN_DECLARATION,
+                AnalysisProblem.LEVEL_WARNING,
+                "Magento_Catalog",
+                "/opt/magento shared/module-catalog/etc/di.xml",
+                12,
+                29,
+                "The plugin name already used in this file."
+        )));
+        StringWriter writer = new StringWriter();
+        report.writeSarif(writer);
+        JsonObject sarif = new JsonParser().parse(writer.toString()).getAsJsonObject();
+
+        JsonObject artifactLocation = sarif.getAsJsonArray("runs").get(0).getAsJsonObject()
+                .getAsJsonArray("results").get(0).getAsJsonObject()
+                .getAsJsonArray("locations").get(0).getAsJsonObject()
+                .getAsJsonObject("physicalLocation").getAsJsonObject("artifactLocation");
+        assertEquals(
+                "file:///opt/magento%20shared/module-catalog/etc/di.xml",
+                artifactLocation.get("uri").getAsString()
+        );
+        assertFalse(artifactLocation.has("uriBaseId"));
+    }
+
+    private AnalysisReport analyze(AnalysisModule module) {
+        List<AnalysisProblem> problems = new ConfigurationAnalyzer(getProject())
+                .analyzeModule(module, new EmptyProgressIndicator());
+
+        return new AnalysisReport(1, module.getFiles().size(), problems);
+    }
+
+    /**
+     * The problem must be on the value of the last attribute matching the text, the duplicated declaration.
+     */
+    private static void assertProblem(
+            AnalysisProblem problem,
+            ConfigurationCheck check,
+            AnalysisModule module,
+            String relativePath,
+            String attribute,
+            String message
+    ) throws IOException {
+        VirtualFile file = module.getDirectory().findFileByRelativePath(relativePath);
+        assertNotNull(file);
+        String text = VfsUtilCore.loadText(file);
+        int offset = text.lastIndexOf(attribute) + attribute.indexOf('"');
+        int lineStart = text.lastIndexOf('\n', offset - 1) + 1;
+
+        assertEquals(check, problem.getCheck());
+        assertEquals(AnalysisProblem.LEVEL_WARNING, problem.getLevel());
+        assertEquals(module.getName(), problem.getModuleName());
+        assertTrue(problem.getPath().endsWith("app/code/Foo/Analysis/" + relativePath));
+        assertEquals(StringUtil.countNewLines(text.substring(0, offset)) + 1, problem.getLine());
+        assertEquals(offset - lineStart + 1, problem.getColumn());
+        assertEquals(message, problem.getMessage());
+    }
+
+    private AnalysisModule findModule(String moduleName) {
+        for (AnalysisModule module: new ConfigurationAnalyzer(getProject()).collectModules()) {
+            if (module.getName().equals(moduleName)) {
+                return module;
+            }
+        }
+
+        return null;
+    }
+
+    private static Set<ConfigurationCheck> getChecks(AnalysisModule module, String relativePath) {
+        for (Map.Entry<VirtualFile, Set<ConfigurationCheck>> entry: module.getFiles().entrySet()) {
+            if (entry.getKey().getPath().equals(module.getDirectory().getPath() + "/" + relativePath)) {
+                return entry.getValue();
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.completion.graphql;
+
+import com.magento.idea.magento2plugin.completion.xml.CompletionXmlFixtureTestCase;
+import com.magento.idea.magento2plugin.magento.packages.File;
+
+public class GraphQlResolverCompletionRegistrarTest extends CompletionXmlFixtureTestCase {
+    private static final String fixturesFolderPath = "graphql" + File.separator;
+
+    @Override
+    protected String getFixturePath(String fileName) {
+        return prepareFixturePath(fileName, fixturesFolderPath);
+    }
+
+    public void testResolverClassMustOfferResolverImplementations() {
+        String filePath = this.getFixturePath("schema.graphqls");
+
+        assertFileContainsCompletions(
+                filePath,
+                "Magento\\\\Catalog\\\\Model\\\\Resolver\\\\Products",
+                "Magento\\\\Catalog\\\\Model\\\\Resolver\\\\Categories"
+        );
+    }
+
+    public void testResolverClassMustBeInsertedEscaped() {
+        myFixture.configureByFile(this.getFixturePath("schema.graphqls"));
+        myFixture.completeBasic();
+
+        myFixture.checkResultByFile(this.getFixturePath("schema_after.graphqls"));
+    }
+}
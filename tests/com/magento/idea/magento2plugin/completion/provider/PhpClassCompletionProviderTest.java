@@ -0,0 +1,31 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.completion.provider;
+
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+import com.magento.idea.magento2plugin.indexes.PhpClassContract;
+import com.magento.idea.magento2plugin.indexes.PhpClassNameTrie;
+
+public class PhpClassCompletionProviderTest extends BaseProjectTestCase {
+
+    public void testKnownContractMustUseContractTrie() {
+        PhpClassNameTrie trie = PhpClassCompletionProvider.getTrie(getProject(), PhpClassContract.OBSERVER);
+
+        assertNotSame(PhpClassNameTrie.getInstance(getProject()), trie);
+        assertEquals(2, trie.getClassesCount());
+    }
+
+    public void testUnknownContractMustFallBackToAllClasses() {
+        // no form element renderer is declared or implemented in the project
+        assertSame(
+                PhpClassNameTrie.getInstance(getProject()),
+                PhpClassCompletionProvider.getTrie(getProject(), PhpClassContract.FORM_ELEMENT_RENDERER)
+        );
+    }
+
+    public void testMissingContractMustUseAllClasses() {
+        assertSame(PhpClassNameTrie.getInstance(getProject()), PhpClassCompletionProvider.getTrie(getProject(), null));
+    }
+}
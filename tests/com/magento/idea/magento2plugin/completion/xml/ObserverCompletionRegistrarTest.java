@@ -35,4 +35,24 @@ public class ObserverCompletionRegistrarTest extends CompletionXmlFixtureTestCas
 
         assertFileContainsCompletions(filePath, lookupStringsEvents);
     }
+
+    /**
+     * Tests the instance completion offers the classes implementing ObserverInterface,
+     * abstract classes, interfaces and other classes are left out
+     */
+    public void testEventsXmlInstanceMustOfferObserverImplementationsOnly() {
+        String filePath = this.getFixturePath(ModuleEventsXml.FILE_NAME);
+        myFixture.copyFileToProject(filePath);
+
+        assertFileContainsCompletions(
+                filePath,
+                "Magento\\Catalog\\Observer\\TestObserver",
+                "Magento\\Catalog\\Observer\\ProductSaveObserver"
+        );
+        checkNotContainsCompletion(new String[]{
+                "Magento\\Catalog\\Observer\\AbstractProductObserver",
+                "Magento\\Catalog\\Observer\\ProductObserverInterface",
+                "Magento\\Catalog\\Observer\\ObserverHelper"
+        });
+    }
 }
@@ -0,0 +1,23 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.completion.xml;
+
+import com.magento.idea.magento2plugin.magento.files.ModuleDiXml;
+
+public class PhpConstructorArgumentCompletionRegistrarTest extends CompletionXmlFixtureTestCase {
+
+    public void testVirtualTypeChainArgumentNameMustHaveCompletion() {
+        myFixture.copyFileToProject(this.getFixturePath("Storage.php"));
+        String filePath = this.getFixturePath(ModuleDiXml.FILE_NAME);
+
+        assertFileContainsCompletions(filePath, "namespace", "data");
+    }
+
+    public void testCyclicVirtualTypeArgumentNameMustNotHaveCompletion() {
+        String filePath = this.getFixturePath(ModuleDiXml.FILE_NAME);
+
+        assertCompletionNotShowing(filePath);
+    }
+}
@@ -21,6 +21,15 @@ public class SourceModelXmlCompletionRegistrarTest extends CompletionXmlFixtureT
         assertCompletionContains(filePath, lookupStringsCheck);
     }
 
+    public void testSourceModelXmlElementMustNotProvideObserverCompletion() {
+        String filePath = this.getFixturePath(ModuleSystemXml.FILE_NAME);
+        myFixture.copyFileToProject(filePath);
+        myFixture.configureByFile(filePath);
+        myFixture.completeBasic();
+
+        checkNotContainsCompletion(new String[]{"Magento\\Catalog\\Observer\\TestObserver"});
+    }
+
     public void testSourceModelXmlElementMatchWithFilePositiveCase() {
         String filePath = this.getFixturePath(ModuleSystemXml.FILE_NAME);
         myFixture.copyFileToProject(filePath);
@@ -0,0 +1,19 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.completion.xml;
+
+public class TemplateCompletionRegistrarTest extends CompletionXmlFixtureTestCase {
+
+    public void testTemplateAttributeMustProvideModuleTemplates() {
+        String filePath = this.getFixturePath("default.xml");
+        myFixture.copyFileToProject(filePath);
+
+        assertCompletionContains(
+                filePath,
+                "Magento_Catalog::product/view.phtml",
+                "Magento_Catalog::product/list.phtml"
+        );
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.indexes;
+
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PhpClassNameTrieTest extends BaseProjectTestCase {
+
+    public void testShortNameMustMatchClassInAnyNamespace() {
+        PhpClassNameTrie.Matches matches = getTrie().find("YesNo", 100);
+
+        assertContainsElements(getFqns(matches), "Magento\\Backend\\Model\\Source\\YesNo");
+        assertFalse(matches.isIncomplete());
+    }
+
+    public void testNamespaceMustListItsMembers() {
+        List<String> fqns = getFqns(getTrie().find("Magento\\Backend\\Model\\", 100));
+
+        assertContainsElements(fqns, "Magento\\Backend\\Model\\Source");
+        assertDoesntContain(fqns, "Magento\\Backend\\Model\\Source\\YesNo");
+    }
+
+    public void testNamespaceMustNarrowShortNameMatches() {
+        assertContainsElements(
+                getFqns(getTrie().find("\\Magento\\Catalog\\ProductRepo", 100)),
+                "Magento\\Catalog\\Api\\ProductRepositoryInterface"
+        );
+        assertEmpty(getFqns(getTrie().find("Magento\\Catalog\\YesNo", 100)));
+        assertEmpty(getFqns(getTrie().find("Unknown\\Namespace\\YesNo", 100)));
+    }
+
+    public void testLimitMustMarkMatchesIncomplete() {
+        PhpClassNameTrie.Matches matches = getTrie().find("Magento\\", 1);
+
+        assertEquals(1, matches.getCandidates().size());
+        assertTrue(matches.isIncomplete());
+    }
+
+    private PhpClassNameTrie getTrie() {
+        return PhpClassNameTrie.getInstance(getProject());
+    }
+
+    private static List<String> getFqns(PhpClassNameTrie.Matches matches) {
+        List<String> fqns = new ArrayList<>();
+        for (PhpClassNameTrie.Candidate candidate: matches.getCandidates()) {
+            fqns.add(candidate.getFqn());
+        }
+
+        return fqns;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.indexes;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+
+import java.util.Collection;
+
+public class RequireJsResolverTest extends BaseProjectTestCase {
+
+    public void testMapAliasMustResolveToModuleFile() {
+        Collection<VirtualFile> files = getResolver().resolve("compareList", "frontend");
+
+        assertEquals(1, files.size());
+        assertTrue(files.iterator().next().getPath().endsWith("module-catalog/view/frontend/web/js/list.js"));
+    }
+
+    public void testPathsMustResolveModuleIdsByPrefix() {
+        Collection<VirtualFile> files = getResolver().resolve("catalog/product/data", "frontend");
+
+        assertEquals(1, files.size());
+        assertTrue(files.iterator().next().getPath().endsWith("web/js/product/data.js"));
+    }
+
+    public void testAreaConfigurationMustNotApplyInOtherArea() {
+        assertEmpty(getResolver().resolve("compareList", "adminhtml"));
+        assertFalse(getResolver().isAlias("compareList", "adminhtml"));
+        assertTrue(getResolver().isAlias("compareList", null));
+    }
+
+    public void testMixinsAndShimMustBeIndexed() {
+        assertContainsElements(
+                getResolver().getMixins("Magento_Catalog/js/list", "frontend"),
+                "Magento_Catalog/js/list-mixin"
+        );
+        assertContainsElements(getResolver().getShimDependencies("Magento_Catalog/js/legacy", "frontend"), "jquery");
+    }
+
+    public void testMixinDisabledByModuleLoadedLaterMustNotApply() {
+        // Foo_Bar has Magento_Catalog in its sequence, its app/code path sorts before the vendor one
+        Collection<String> mixins = getResolver().getMixins("Magento_Catalog/js/gallery", "frontend");
+
+        assertSameElements(mixins, "Foo_Bar/js/gallery-mixin");
+    }
+
+    public void testAliasRedefinedByModuleLoadedLaterMustReplaceEarlierTarget() {
+        // Magento_Catalog and Foo_Bar both define productCompare and catalog/compare, Foo_Bar is loaded later
+        Collection<VirtualFile> mappedFiles = getResolver().resolve("productCompare", "frontend");
+        Collection<VirtualFile> pathFiles = getResolver().resolve("catalog/compare", "frontend");
+
+        assertEquals(1, mappedFiles.size());
+        assertTrue(mappedFiles.iterator().next().getPath().endsWith("Foo/Bar/view/frontend/web/js/compare.js"));
+        assertEquals(mappedFiles, pathFiles);
+    }
+
+    public void testLibModuleIdMustResolveToLibFile() {
+        Collection<VirtualFile> files = getResolver().resolve("mage/translate", null);
+
+        assertEquals(1, files.size());
+        assertTrue(files.iterator().next().getPath().endsWith("lib/web/mage/translate.js"));
+    }
+
+    public void testModuleIdMustResolveToModuleAndThemeFiles() {
+        Collection<VirtualFile> files = getResolver().resolve("Magento_Catalog/js/gallery", "frontend");
+
+        assertEquals(2, files.size());
+        assertEmpty(getResolver().resolve("Magento_Catalog/js/gallery", "adminhtml"));
+    }
+
+    public void testThemeModuleIdMustResolveInThemeAreaOnly() {
+        Collection<VirtualFile> files = getResolver().resolve("js/theme", "frontend");
+
+        assertEquals(1, files.size());
+        assertTrue(files.iterator().next().getPath().endsWith("Magento/luma/web/js/theme.js"));
+        assertEmpty(getResolver().resolve("js/theme", "adminhtml"));
+    }
+
+    public void testModuleIdsMustBeListedForModule() {
+        assertContainsElements(
+                getResolver().getModuleIds("Magento_Catalog", "frontend"),
+                "Magento_Catalog/js/list",
+                "Magento_Catalog/js/gallery"
+        );
+    }
+
+    private RequireJsResolver getResolver() {
+        return RequireJsResolver.getInstance(getProject());
+    }
+}
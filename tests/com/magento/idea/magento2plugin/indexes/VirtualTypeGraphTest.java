@@ -0,0 +1,63 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.indexes;
+
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+
+import java.util.Arrays;
+
+public class VirtualTypeGraphTest extends BaseProjectTestCase {
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myFixture.addFileToProject(
+                "app/code/Foo/Graph/etc/di.xml",
+                "<?xml version=\"1.0\"?>\n<config>\n"
+                        + "    <virtualType name=\"GraphBase\" type=\"Foo\\Graph\\Model\\Concrete\"/>\n"
+                        + "    <virtualType name=\"GraphChild\" type=\"GraphBase\"/>\n"
+                        + "    <virtualType name=\"GraphGrandChild\" type=\"GraphChild\"/>\n"
+                        + "    <virtualType name=\"GraphSelf\" type=\"GraphSelf\"/>\n"
+                        + "    <virtualType name=\"GraphLoopA\" type=\"GraphLoopB\"/>\n"
+                        + "    <virtualType name=\"GraphLoopB\" type=\"GraphLoopA\"/>\n"
+                        + "    <virtualType name=\"GraphIntoLoop\" type=\"GraphLoopA\"/>\n"
+                        + "</config>\n"
+        );
+    }
+
+    public void testChainMustListParentsDownToConcreteClass() {
+        assertEquals(
+                Arrays.asList("GraphGrandChild", "GraphChild", "GraphBase", "Foo\\Graph\\Model\\Concrete"),
+                getGraph().getChain("GraphGrandChild")
+        );
+        assertEquals("Foo\\Graph\\Model\\Concrete", getGraph().getTopType("GraphGrandChild"));
+        assertFalse(getGraph().isCyclic("GraphGrandChild"));
+    }
+
+    public void testCyclesMustBeDetected() {
+        assertTrue(getGraph().isCyclic("GraphSelf"));
+        assertTrue(getGraph().isCyclic("GraphLoopA"));
+        assertTrue(getGraph().isCyclic("GraphLoopB"));
+        assertTrue(getGraph().isCyclic("GraphIntoLoop"));
+        assertEquals("GraphLoopA", getGraph().getTopType("GraphLoopA"));
+    }
+
+    public void testCyclicChainMustEndBeforeRepeatedType() {
+        assertEquals(Arrays.asList("GraphSelf"), getGraph().getChain("GraphSelf"));
+        assertEquals(
+                Arrays.asList("GraphIntoLoop", "GraphLoopA", "GraphLoopB"),
+                getGraph().getChain("GraphIntoLoop")
+        );
+    }
+
+    public void testClassMustNotBeVirtualType() {
+        assertFalse(getGraph().isVirtualType("Foo\\Graph\\Model\\Concrete"));
+        assertEquals(Arrays.asList("Foo\\Graph\\Model\\Concrete"), getGraph().getChain("Foo\\Graph\\Model\\Concrete"));
+    }
+
+    private VirtualTypeGraph getGraph() {
+        return VirtualTypeGraph.getInstance(getProject());
+    }
+}
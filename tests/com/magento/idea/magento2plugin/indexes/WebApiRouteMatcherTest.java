@@ -0,0 +1,50 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.indexes;
+
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+
+import java.util.List;
+
+public class WebApiRouteMatcherTest extends BaseProjectTestCase {
+
+    public void testRoutePathMustMatchRouteWithParameters() {
+        List<WebApiRouteMatcher.Match> matches = getMatcher().match("GET", "/V1/products/24-MB01");
+
+        assertEquals(1, matches.size());
+        WebApiRouteMatcher.Route route = matches.get(0).getRoute();
+        assertEquals("Magento\\Catalog\\Api\\ProductRepositoryInterface", route.getServiceClass());
+        assertEquals("get", route.getData().getServiceMethod());
+        assertEquals("/V1/products/:sku", route.getData().getUrl());
+        assertContainsElements(route.getData().getResources(), "anonymous");
+        assertEquals("24-MB01", matches.get(0).getParameters().get("sku"));
+    }
+
+    public void testLiteralSegmentMustWinOverParameter() {
+        List<WebApiRouteMatcher.Match> matches = getMatcher().match("GET", "/V1/products/attributes");
+
+        assertEquals(1, matches.size());
+        assertEquals("getList", matches.get(0).getRoute().getData().getServiceMethod());
+        assertEmpty(matches.get(0).getParameters().keySet());
+    }
+
+    public void testAccessLogUrlMustMatchRoute() {
+        List<WebApiRouteMatcher.Match> matches = getMatcher()
+                .match("put", "https://example.com/rest/default/V1/products/24-MB01?fields=sku");
+
+        assertEquals(1, matches.size());
+        assertEquals("save", matches.get(0).getRoute().getData().getServiceMethod());
+        assertEquals("PUT", matches.get(0).getRoute().getData().getHttpMethod());
+    }
+
+    public void testUnknownRouteOrMethodMustNotMatch() {
+        assertEmpty(getMatcher().match("DELETE", "/V1/products/24-MB01"));
+        assertEmpty(getMatcher().match("GET", "/V1/products/24-MB01/options"));
+    }
+
+    private WebApiRouteMatcher getMatcher() {
+        return WebApiRouteMatcher.getInstance(getProject());
+    }
+}
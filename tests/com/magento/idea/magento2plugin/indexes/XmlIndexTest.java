@@ -0,0 +1,84 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.indexes;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.xml.XmlTag;
+import com.jetbrains.php.PhpIndex;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+
+import java.util.Collection;
+import java.util.List;
+
+public class XmlIndexTest extends BaseProjectTestCase {
+    private static final String DI_XML = "<?xml version=\"1.0\"?>\n"
+            + "<config>\n"
+            + "    <preference for=\"Foo\\Exact\\Api\\BarInterface\" type=\"Foo\\Exact\\Bar\"/>\n"
+            + "    <type name=\"Foo\\Exact\\BarBaz\">\n"
+            + "        <arguments>\n"
+            + "            <argument name=\"bar\" xsi:type=\"object\">Foo\\Exact\\Bar</argument>\n"
+            + "        </arguments>\n"
+            + "    </type>\n"
+            + "</config>\n";
+
+    private PsiFile diXml;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myFixture.addFileToProject(
+                "app/code/Foo/Exact/Bar.php",
+                "<?php\nnamespace Foo\\Exact;\n\nclass Bar\n{\n}\n"
+        );
+        myFixture.addFileToProject(
+                "app/code/Foo/Exact/BarBaz.php",
+                "<?php\nnamespace Foo\\Exact;\n\nclass BarBaz\n{\n}\n"
+        );
+        diXml = myFixture.addFileToProject("app/code/Foo/Exact/etc/di.xml", DI_XML);
+    }
+
+    public void testDeclarationsMustLandOnTheReferencingTags() {
+        List<XmlTag> tags = XmlIndex.getPhpClassDeclarations(getPhpClass("\\Foo\\Exact\\Bar"));
+
+        assertEquals(2, tags.size());
+        assertEquals(DI_XML.indexOf("<preference"), tags.get(0).getTextOffset());
+        assertEquals("Foo\\Exact\\Bar", tags.get(0).getAttributeValue("type"));
+        assertEquals(DI_XML.indexOf("<argument name"), tags.get(1).getTextOffset());
+        assertEquals("Foo\\Exact\\Bar", tags.get(1).getValue().getTrimmedText());
+        for (XmlTag tag: tags) {
+            assertSame(diXml, tag.getContainingFile());
+        }
+    }
+
+    public void testDeclarationsMustNotMatchClassNamePrefix() {
+        List<XmlTag> barTags = XmlIndex.getPhpClassDeclarations(getPhpClass("\\Foo\\Exact\\Bar"));
+        for (XmlTag tag: barTags) {
+            assertFalse(tag.getName().equals("type"));
+        }
+
+        List<XmlTag> barBazTags = XmlIndex.getPhpClassDeclarations(getPhpClass("\\Foo\\Exact\\BarBaz"));
+        assertEquals(1, barBazTags.size());
+        assertEquals(DI_XML.indexOf("<type"), barBazTags.get(0).getTextOffset());
+    }
+
+    public void testClassWithoutConfigurationMustHaveNoUsages() {
+        myFixture.addFileToProject(
+                "app/code/Foo/Exact/Ba.php",
+                "<?php\nnamespace Foo\\Exact;\n\nclass Ba\n{\n}\n"
+        );
+
+        PhpClass phpClass = getPhpClass("\\Foo\\Exact\\Ba");
+        assertFalse(XmlIndex.hasPhpClassUsages(phpClass));
+        assertEmpty(XmlIndex.getPhpClassDeclarations(phpClass));
+    }
+
+    private PhpClass getPhpClass(String fqn) {
+        Collection<PhpClass> classes = PhpIndex.getInstance(getProject()).getClassesByFQN(fqn);
+        assertEquals(1, classes.size());
+
+        return classes.iterator().next();
+    }
+}
@@ -47,4 +47,10 @@ public class GraphQlResolverInspectionTest extends InspectionPhpFixtureTestCase
 
         assertHasNoHighlighting(errorMessage);
     }
+
+    public void testNotResolverClassWontShow() throws Exception {
+        myFixture.configureByFile(getFixturePath("NotResolverTest.php"));
+
+        assertHasNoHighlighting(errorMessage);
+    }
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.inspections.xml;
+
+public class ObserverDeclarationInspectionTest extends InspectionXmlFixtureTestCase {
+
+    private static final String eventsXmlFileName = "events.xml";
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        myFixture.enableInspections(ObserverDeclarationInspection.class);
+    }
+
+    /**
+     * Tests the observer name duplication warning won't show for unique and disabled observers
+     */
+    public void testObserverNameDuplicationWarningWontShow() {
+        myFixture.configureByFile(getFixturePath(eventsXmlFileName));
+        myFixture.testHighlighting(true, false, false);
+    }
+
+    /**
+     * Tests whenever the duplication warning shows when the observer name already
+     * defined for the event in the same events.xml file
+     */
+    public void testObserverNameUsedInSameFile() {
+        myFixture.configureByFile(getFixturePath(eventsXmlFileName));
+        myFixture.testHighlighting(true, false, false);
+    }
+
+    /**
+     * Tests whenever the duplication warning occurs for an observer name
+     * that is already defined for the event in another module (Magento/Catalog/etc/events.xml)
+     */
+    public void testObserverNameAlreadyUsedInOtherModule() {
+        myFixture.configureByFile(getFixturePath(eventsXmlFileName));
+        myFixture.testHighlighting(true, false, false);
+    }
+
+    /**
+     * Tests the duplication warning won't show for an observer name which another module
+     * only declares disabled (Foo/Bar/etc/events.xml)
+     */
+    public void testObserverNameDisabledInOtherModuleWontShow() {
+        myFixture.configureByFile(getFixturePath(eventsXmlFileName));
+        myFixture.testHighlighting(true, false, false);
+    }
+
+    /**
+     * Tests the duplication warning names a module which has no composer.json (Foo/Legacy/etc/events.xml)
+     */
+    public void testObserverNameAlreadyUsedInModuleWithoutComposerJson() {
+        myFixture.configureByFile(getFixturePath(eventsXmlFileName));
+        myFixture.testHighlighting(true, false, false);
+    }
+}
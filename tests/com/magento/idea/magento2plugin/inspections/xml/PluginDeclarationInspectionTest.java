@@ -100,4 +100,30 @@ public class PluginDeclarationInspectionTest extends InspectionXmlFixtureTestCas
         myFixture.configureByFile(getFixturePath(getAreaPath("crontab")));
         myFixture.testHighlighting(true, false, false);
     }
+
+    /**
+     * Tests whenever the duplication warning occurs for a plugin name already used
+     * by another module (Foo/Bar/etc/di.xml)
+     */
+    public void testPluginNameAlreadyUsedInOtherModule() {
+        myFixture.configureByFile(getFixturePath(ModuleDiXml.FILE_NAME));
+        myFixture.testHighlighting(true, false, false);
+    }
+
+    /**
+     * Tests the duplication warning names a module which has no composer.json (Foo/Legacy/etc/di.xml)
+     */
+    public void testPluginNameAlreadyUsedInModuleWithoutComposerJson() {
+        myFixture.configureByFile(getFixturePath(ModuleDiXml.FILE_NAME));
+        myFixture.testHighlighting(true, false, false);
+    }
+
+    /**
+     * Tests the duplication warning won't show for a plugin name which another module
+     * only declares disabled, in another area (Foo/Bar/etc/adminhtml/di.xml)
+     */
+    public void testPluginDisabledInOtherAreaWontShow() {
+        myFixture.configureByFile(getFixturePath(getAreaPath("frontend")));
+        myFixture.testHighlighting(true, false, false);
+    }
 }
@@ -4,6 +4,11 @@
  */
 package com.magento.idea.magento2plugin.linemarker.php;
 
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.xml.XmlTag;
+
+import java.util.List;
+
 public class ConfigurationTypeClassLinemarkerRegistrarTest extends LinemarkerPhpFixtureTestCase {
 
     public void testTypeNameClassShouldHaveLinemarker() {
@@ -13,6 +18,20 @@ public class ConfigurationTypeClassLinemarkerRegistrarTest extends LinemarkerPhp
         assertHasLinemarkerWithTooltipAndIcon("Navigate to configuration", "/fileTypes/xml.svg");
     }
 
+    public void testTypeNameClassLinemarkerShouldNavigateToConfiguration() {
+        String filePath = this.getFixturePath("Topmenu.php");
+        myFixture.configureByFile(filePath);
+
+        List<PsiElement> targets = getLinemarkerTargets("Navigate to configuration");
+        assertNotEmpty(targets);
+        for (PsiElement target: targets) {
+            assertInstanceOf(target, XmlTag.class);
+        }
+        XmlTag typeTag = (XmlTag) targets.get(0);
+        assertEquals("type", typeTag.getName());
+        assertEquals("Magento\\Theme\\Block\\Html\\Topmenu", typeTag.getAttributeValue("name"));
+    }
+
     public void testRegularPhpClassShouldNotHaveLinemarker() {
         String filePath = this.getFixturePath("ClassNotConfiguredInDiXml.php");
         myFixture.configureByFile(filePath);
@@ -5,11 +5,15 @@
 package com.magento.idea.magento2plugin.linemarker.php;
 
 import com.intellij.codeInsight.daemon.LineMarkerInfo;
+import com.intellij.codeInsight.daemon.RelatedItemLineMarkerInfo;
 import com.intellij.codeInsight.daemon.impl.DaemonCodeAnalyzerImpl;
+import com.intellij.navigation.GotoRelatedItem;
+import com.intellij.psi.PsiElement;
 import com.magento.idea.magento2plugin.BaseProjectTestCase;
 import org.jetbrains.annotations.NotNull;
 import javax.swing.*;
 import com.magento.idea.magento2plugin.magento.packages.File;
+import java.util.ArrayList;
 import java.util.List;
 
 abstract public class LinemarkerPhpFixtureTestCase extends BaseProjectTestCase {
@@ -67,6 +71,28 @@ abstract public class LinemarkerPhpFixtureTestCase extends BaseProjectTestCase {
         }
     }
 
+    /**
+     * Navigation targets of the linemarker with the tooltip, computed the way a click on the icon does.
+     */
+    @NotNull
+    protected List<PsiElement> getLinemarkerTargets(String tooltip) {
+        myFixture.doHighlighting();
+
+        for (LineMarkerInfo lineMarkerInfo: getDocumentLineMarkers()) {
+            if (tooltip.equals(lineMarkerInfo.getLineMarkerTooltip())
+                    && lineMarkerInfo instanceof RelatedItemLineMarkerInfo) {
+                List<PsiElement> targets = new ArrayList<>();
+                for (GotoRelatedItem item: ((RelatedItemLineMarkerInfo<?>) lineMarkerInfo).createGotoRelatedItems()) {
+                    targets.add(item.getElement());
+                }
+                return targets;
+            }
+        }
+
+        fail(String.format("Failed that documents contains navigation linemarker with the tooltip `%s`", tooltip));
+        return new ArrayList<>();
+    }
+
     @NotNull
     private List<LineMarkerInfo<?>> getDocumentLineMarkers() {
         return DaemonCodeAnalyzerImpl.getLineMarkers(myFixture.getEditor().getDocument(), getProject());
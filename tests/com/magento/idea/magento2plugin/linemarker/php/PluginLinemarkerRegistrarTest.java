@@ -0,0 +1,24 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.linemarker.php;
+
+public class PluginLinemarkerRegistrarTest extends LinemarkerPhpFixtureTestCase {
+
+    public void testClassWithPluginShouldHaveLinemarker() {
+        myFixture.copyFileToProject(this.getFixturePath("Topmenu.php"));
+        myFixture.configureFromTempProjectFile("vendor/magento/module-theme/Block/Html/Topmenu.php");
+
+        assertHasLinemarkerWithTooltipAndIcon("Navigate to plugins", "/nodes/plugin.svg");
+        // the second pass is served from the cached plugins of the class
+        assertHasLinemarkerWithTooltipAndIcon("Navigate to plugins", "/nodes/plugin.svg");
+    }
+
+    public void testRegularPhpClassShouldNotHaveLinemarker() {
+        String filePath = this.getFixturePath("ClassNotConfiguredInDiXml.php");
+        myFixture.configureByFile(filePath);
+
+        assertHasNoLinemarkerWithTooltipAndIcon("Navigate to plugins", "/nodes/plugin.svg");
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.linemarker.php;
+
+import com.intellij.psi.PsiElement;
+import com.jetbrains.php.lang.psi.elements.Method;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+
+import java.util.List;
+
+public class PluginTargetLinemarkerRegistrarTest extends LinemarkerPhpFixtureTestCase {
+
+    public void testPluginClassShouldHaveLinemarker() {
+        String filePath = this.getFixturePath("Topmenu.php");
+        myFixture.configureByFile(filePath);
+
+        assertHasLinemarkerWithTooltipAndIcon("Navigate to target class", "/nodes/class.svg");
+        assertHasLinemarkerWithTooltipAndIcon("Navigate to target method", "/nodes/method.svg");
+    }
+
+    public void testPluginLinemarkersShouldNavigateToTargets() {
+        String filePath = this.getFixturePath("Topmenu.php");
+        myFixture.configureByFile(filePath);
+
+        List<PsiElement> targetClasses = getLinemarkerTargets("Navigate to target class");
+        assertEquals(1, targetClasses.size());
+        assertInstanceOf(targetClasses.get(0), PhpClass.class);
+        assertEquals("Magento\\Theme\\Block\\Html\\Topmenu", ((PhpClass) targetClasses.get(0)).getPresentableFQN());
+
+        List<PsiElement> targetMethods = getLinemarkerTargets("Navigate to target method");
+        assertEquals(1, targetMethods.size());
+        assertInstanceOf(targetMethods.get(0), Method.class);
+        assertEquals("someMethod", ((Method) targetMethods.get(0)).getName());
+    }
+
+    public void testRegularPhpClassShouldNotHaveLinemarker() {
+        String filePath = this.getFixturePath("ClassNotConfiguredInDiXml.php");
+        myFixture.configureByFile(filePath);
+
+        assertHasNoLinemarkerWithTooltipAndIcon("Navigate to target class", "/nodes/class.svg");
+        assertHasNoLinemarkerWithTooltipAndIcon("Navigate to target method", "/nodes/method.svg");
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.linemarker.php;
+
+public class WebApiLinemarkerRegistrarTest extends LinemarkerPhpFixtureTestCase {
+
+    private static final String webApiIcon = "/icons/webapi.png";
+
+    public void testServiceClassShouldHaveLinemarker() {
+        myFixture.configureFromTempProjectFile("vendor/magento/module-catalog/Api/ProductRepositoryInterface.php");
+
+        assertHasLinemarkerWithTooltipAndIcon(
+                "Navigate to Web API configuration:<pre>"
+                        + "  GET     /V1/products/:sku\n"
+                        + "  PUT     /V1/products/:sku\n"
+                        + "  POST    /V1/products\n"
+                        + "</pre>",
+                webApiIcon
+        );
+    }
+
+    public void testServiceMethodShouldHaveLinemarker() {
+        myFixture.configureFromTempProjectFile("vendor/magento/module-catalog/Api/ProductRepositoryInterface.php");
+
+        assertHasLinemarkerWithTooltipAndIcon(
+                "Navigate to Web API configuration:<pre>"
+                        + "  PUT     /V1/products/:sku\n"
+                        + "  POST    /V1/products\n"
+                        + "</pre>",
+                webApiIcon
+        );
+    }
+}
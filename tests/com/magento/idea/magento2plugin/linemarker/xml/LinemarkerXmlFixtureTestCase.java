@@ -0,0 +1,42 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.linemarker.xml;
+
+import com.intellij.codeInsight.daemon.LineMarkerInfo;
+import com.intellij.codeInsight.daemon.impl.DaemonCodeAnalyzerImpl;
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+import com.magento.idea.magento2plugin.magento.packages.File;
+
+import java.util.List;
+
+abstract public class LinemarkerXmlFixtureTestCase extends BaseProjectTestCase {
+
+    private static final String testDataFolderPath = "testData" + File.separator + "linemarker" + File.separator;
+    private static final String fixturesFolderPath = "xml" + File.separator;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myFixture.setTestDataPath(testDataFolderPath);
+    }
+
+    protected String getFixturePath(String fileName) {
+        return prepareFixturePath(fileName, fixturesFolderPath);
+    }
+
+    protected void assertHasLinemarkerWithTooltip(String tooltip) {
+        myFixture.doHighlighting();
+
+        List<LineMarkerInfo<?>> lineMarkers =
+                DaemonCodeAnalyzerImpl.getLineMarkers(myFixture.getEditor().getDocument(), getProject());
+        for (LineMarkerInfo lineMarkerInfo: lineMarkers) {
+            if (tooltip.equals(lineMarkerInfo.getLineMarkerTooltip())) {
+                return;
+            }
+        }
+
+        fail(String.format("Failed that documents contains linemarker with the tooltip `%s`", tooltip));
+    }
+}
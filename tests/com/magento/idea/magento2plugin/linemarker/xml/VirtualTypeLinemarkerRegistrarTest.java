@@ -0,0 +1,36 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.linemarker.xml;
+
+import com.intellij.codeInsight.daemon.LineMarkerInfo;
+import com.intellij.codeInsight.daemon.impl.DaemonCodeAnalyzerImpl;
+
+import java.util.List;
+
+public class VirtualTypeLinemarkerRegistrarTest extends LinemarkerXmlFixtureTestCase {
+
+    public void testVirtualTypeShouldHaveChainTooltip() {
+        myFixture.configureByFile(this.getFixturePath("di.xml"));
+
+        assertHasLinemarkerWithTooltip(
+                "Virtual type chain: FooChildVirtual -> FooBaseVirtual -> Magento\\Catalog\\Model\\Product"
+        );
+    }
+
+    public void testCyclicVirtualTypeShouldHaveCyclicChainTooltip() {
+        myFixture.configureByFile(this.getFixturePath("di.xml"));
+
+        assertHasLinemarkerWithTooltip("Cyclic virtual type chain: FooCycleA -> FooCycleB");
+        for (LineMarkerInfo lineMarkerInfo: getLineMarkers()) {
+            if ("Cyclic virtual type chain: FooCycleA -> FooCycleB".equals(lineMarkerInfo.getLineMarkerTooltip())) {
+                assertNull(lineMarkerInfo.getNavigationHandler());
+            }
+        }
+    }
+
+    private List<LineMarkerInfo<?>> getLineMarkers() {
+        return DaemonCodeAnalyzerImpl.getLineMarkers(myFixture.getEditor().getDocument(), getProject());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.magento.files;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public class MagentoFileKindTest extends BaseProjectTestCase {
+    private static final String MODULE_DIR = "app/code/Foo/Kinds/";
+    private static final String XML = "<?xml version=\"1.0\"?>\n<config/>\n";
+
+    public void testEveryFileNameMustBeOfItsKind() {
+        for (MagentoFileKind kind: MagentoFileKind.values()) {
+            for (String fileName: kind.getFileNames()) {
+                assertEquals(fileName, kind, getKind("etc/" + fileName));
+            }
+        }
+    }
+
+    public void testEveryKindMustBeRecognized() {
+        Map<MagentoFileKind, String> directoryKinds = new EnumMap<>(MagentoFileKind.class);
+        directoryKinds.put(MagentoFileKind.SYSTEM_INCLUDE, "etc/adminhtml/system/catalog.xml");
+        directoryKinds.put(MagentoFileKind.LAYOUT, "view/frontend/layout/catalog_product_view.xml");
+        directoryKinds.put(MagentoFileKind.PAGE_LAYOUT, "view/frontend/page_layout/1column.xml");
+        directoryKinds.put(MagentoFileKind.UI_COMPONENT, "view/adminhtml/ui_component/product_listing.xml");
+        directoryKinds.put(MagentoFileKind.OTHER_CONFIG, "etc/vendor_feature.xml");
+
+        for (MagentoFileKind kind: MagentoFileKind.values()) {
+            if (kind.getFileNames().isEmpty()) {
+                assertTrue(kind + " has no sample file", directoryKinds.containsKey(kind));
+                assertEquals(kind, getKind(directoryKinds.get(kind)));
+            }
+        }
+    }
+
+    public void testAreaFilesMustBeOfTheirKind() {
+        assertEquals(MagentoFileKind.DI, getKind("etc/frontend/di.xml"));
+        assertEquals(MagentoFileKind.PDF, getKind("etc/pdf.xml"));
+        assertEquals(MagentoFileKind.WEBAPI_ASYNC, getKind("etc/webapi_async.xml"));
+        assertEquals(MagentoFileKind.OTHER_CONFIG, getKind("etc/adminhtml/vendor_feature.xml"));
+        assertTrue(MagentoFileKind.isConfigurationFile(getFile("etc/product_options.xml")));
+    }
+
+    public void testNonConfigurationXmlMustBeOfNoKind() {
+        assertNull(getKind("Test/Mftf/Data/ProductData.xml"));
+        assertNull(getKind("view/frontend/web/template/grid.xml"));
+        assertNull(getKind("phpunit.xml"));
+        assertNull(getKind("Test/Unit/_files/etc/di.xml"));
+        assertFalse(MagentoFileKind.isConfigurationFile(getFile("Test/Mftf/Page/ProductPage.xml")));
+    }
+
+    private MagentoFileKind getKind(String path) {
+        return MagentoFileKind.of(getFile(path));
+    }
+
+    private VirtualFile getFile(String path) {
+        return myFixture.addFileToProject(MODULE_DIR + path, XML).getVirtualFile();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.magento.packages;
+
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+import com.magento.idea.magento2plugin.stubs.indexes.ModulePackageIndex;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MagentoComponentManagerTest extends BaseProjectTestCase {
+
+    public void testSequenceMustBeReadFromModuleXml() {
+        MagentoModule module = findModule("Foo_Bar");
+
+        assertNotNull(module);
+        assertOrderedEquals(module.getSequence(), "Magento_Catalog");
+    }
+
+    public void testModuleMustBeLoadedAfterItsSequence() {
+        List<String> moduleNames = new ArrayList<>();
+        for (MagentoModule module: getManager().getModulesInLoadOrder()) {
+            moduleNames.add(module.getMagentoName());
+        }
+
+        assertTrue(moduleNames.contains("Foo_Bar"));
+        assertTrue(moduleNames.indexOf("Magento_Catalog") < moduleNames.indexOf("Foo_Bar"));
+    }
+
+    public void testUnchangedComponentsMustBeReusedAfterComposerJsonChange() throws IOException {
+        MagentoModule catalogModule = findModule("Magento_Catalog");
+        MagentoModule fooModule = findModule("Foo_Bar");
+        assertNotNull(catalogModule);
+        assertNotNull(fooModule);
+        VirtualFile composerJson = fooModule.getDirectory().getVirtualFile().findChild("composer.json");
+        assertNotNull(composerJson);
+
+        WriteAction.runAndWait(() -> VfsUtil.saveText(
+                composerJson,
+                VfsUtilCore.loadText(composerJson).replace("\"foo/bar\"", "\"foo/bar-renamed\"")
+        ));
+        FileBasedIndex.getInstance().ensureUpToDate(ModulePackageIndex.KEY, getProject(), null);
+
+        MagentoModule renamedModule = findModule("Foo_Bar");
+        assertNotNull(renamedModule);
+        assertNotSame(fooModule, renamedModule);
+        assertEquals("foo/bar-renamed", renamedModule.getComposerModel().getName());
+        assertSame(catalogModule, findModule("Magento_Catalog"));
+    }
+
+    public void testInnermostComponentMustBeFoundForFile() {
+        VirtualFile file = findFile("app/code/Foo/Bar/lib/LICENSE.txt");
+
+        assertEquals("foo/bar-lib", getManager().getComponentOfTypeForFile(file, MagentoComponent.class)
+                .getComposerModel().getName());
+        assertEquals("foo/bar-lib", getManager().getComponentOfTypeForFile(getPsiFile(file), MagentoComponent.class)
+                .getComposerModel().getName());
+    }
+
+    public void testComponentOfOtherTypeMustBeSkippedForParentComponent() {
+        VirtualFile file = findFile("app/code/Foo/Bar/lib/LICENSE.txt");
+        MagentoModule module = findModule("Foo_Bar");
+
+        assertNotNull(module);
+        assertSame(module, getManager().getComponentOfTypeForFile(file, MagentoModule.class));
+        assertSame(module, getManager().getComponentOfTypeForFile(getPsiFile(file), MagentoModule.class));
+    }
+
+    public void testFileOutsideOfComponentsMustHaveNoComponent() {
+        VirtualFile file = findFile("lib/web/mage/translate.js");
+
+        assertNull(getManager().getComponentOfTypeForFile(file, MagentoComponent.class));
+        assertNull(getManager().getComponentOfTypeForFile(getPsiFile(file), MagentoComponent.class));
+    }
+
+    private VirtualFile findFile(String path) {
+        VirtualFile file = myFixture.findFileInTempDir(path);
+        assertNotNull(file);
+
+        return file;
+    }
+
+    private PsiFile getPsiFile(VirtualFile file) {
+        PsiFile psiFile = PsiManager.getInstance(getProject()).findFile(file);
+        assertNotNull(psiFile);
+
+        return psiFile;
+    }
+
+    private MagentoModule findModule(String moduleName) {
+        for (MagentoModule module: getManager().getAllComponentsOfType(MagentoModule.class)) {
+            if (moduleName.equals(module.getMagentoName())) {
+                return module;
+            }
+        }
+
+        return null;
+    }
+
+    private MagentoComponentManager getManager() {
+        return MagentoComponentManager.getInstance(getProject());
+    }
+}
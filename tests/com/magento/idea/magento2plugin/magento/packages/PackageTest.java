@@ -0,0 +1,51 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.magento.packages;
+
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class PackageTest extends BaseProjectTestCase {
+
+    public void testAreaIdsMustBeUniqueAndStable() {
+        Set<Integer> ids = new HashSet<>();
+        for (Package.Areas area: Package.Areas.values()) {
+            assertTrue(area.getId() > 0);
+            assertTrue(ids.add(area.getId()));
+        }
+
+        // the ids are stored in the index values
+        assertEquals(1, Package.Areas.base.getId());
+        assertEquals(3, Package.Areas.frontend.getId());
+        assertEquals(7, Package.Areas.graphql.getId());
+    }
+
+    public void testAreaIdMustRoundTrip() {
+        for (Package.Areas area: Package.Areas.values()) {
+            assertEquals(area.toString(), Package.getAreaNameById(Package.getAreaId(area.toString())));
+        }
+        assertEquals(0, Package.getAreaId(""));
+        assertEquals(0, Package.getAreaId("unknown"));
+        assertEquals("", Package.getAreaNameById(0));
+    }
+
+    public void testAreaOfViewFileMustComeFromOutermostViewDirectory() {
+        assertEquals(
+                "frontend",
+                Package.getAreaNameByViewFilePath("/app/code/Foo/Bar/view/frontend/layout/default.xml")
+        );
+        assertEquals(
+                "adminhtml",
+                Package.getAreaNameByViewFilePath("/app/code/Foo/Bar/view/adminhtml/web/js/view/base/list.js")
+        );
+        assertEquals(
+                "frontend",
+                Package.getAreaNameByViewFilePath("/app/design/frontend/Foo/theme/web/js/view/adminhtml/list.js")
+        );
+        assertEquals("", Package.getAreaNameByViewFilePath("/lib/web/mage/view/list.js"));
+    }
+}
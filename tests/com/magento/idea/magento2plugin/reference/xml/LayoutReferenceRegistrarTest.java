@@ -0,0 +1,38 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.reference.xml;
+
+import com.magento.idea.magento2plugin.magento.files.LayoutXml;
+
+public class LayoutReferenceRegistrarTest extends ReferenceXmlFixtureTestCase {
+
+    public void testReferenceBlockMustHaveReference() {
+        String filePath = this.getFixturePath(LayoutXml.DEFAULT_FILENAME);
+        myFixture.configureByFile(filePath);
+
+        assertHasReferenceToXmlTag("block", "product.info.details");
+    }
+
+    public void testReferenceContainerMustHaveReference() {
+        String filePath = this.getFixturePath(LayoutXml.DEFAULT_FILENAME);
+        myFixture.configureByFile(filePath);
+
+        assertHasReferenceToXmlTag("container", "product.info.main");
+    }
+
+    public void testReferenceBlockWithUnknownNameMustNotHaveReference() {
+        String filePath = this.getFixturePath(LayoutXml.DEFAULT_FILENAME);
+        myFixture.configureByFile(filePath);
+
+        assertEmptyReference();
+    }
+
+    public void testUpdateHandleMustHaveReference() {
+        String filePath = this.getFixturePath(LayoutXml.DEFAULT_FILENAME);
+        myFixture.configureByFile(filePath);
+
+        assertHasReferenceToFile("catalog_product_view.xml");
+    }
+}
@@ -5,8 +5,10 @@
 package com.magento.idea.magento2plugin.reference.xml;
 
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.psi.xml.XmlTag;
 import com.jetbrains.php.lang.psi.elements.PhpClass;
 import com.magento.idea.magento2plugin.BaseProjectTestCase;
 import com.magento.idea.magento2plugin.magento.packages.File;
@@ -31,6 +33,18 @@ abstract public class ReferenceXmlFixtureTestCase extends BaseProjectTestCase {
         assertEquals(reference, ((XmlAttributeValue) element.getReferences()[0].resolve()).getValue());
     }
 
+    protected void assertHasReferenceToXmlTag(String tagName, String name) {
+        PsiElement element = getElementFromCaret();
+        XmlTag xmlTag = (XmlTag) element.getReferences()[0].resolve();
+        assertEquals(tagName, xmlTag.getName());
+        assertEquals(name, xmlTag.getAttributeValue("name"));
+    }
+
+    protected void assertHasReferenceToFile(String fileName) {
+        PsiElement element = getElementFromCaret();
+        assertEquals(fileName, ((PsiFile) element.getReferences()[0].resolve()).getName());
+    }
+
     protected void assertHasReferencePhpClass(String phpClassFqn) {
         PsiElement element = getElementFromCaret();
         PsiReference[] references = element.getReferences();
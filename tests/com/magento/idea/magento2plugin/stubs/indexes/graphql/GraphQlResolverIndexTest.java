@@ -0,0 +1,63 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.graphql;
+
+import com.intellij.lang.jsgraphql.psi.GraphQLQuotedString;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.jetbrains.php.lang.psi.elements.PhpClass;
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+import com.magento.idea.magento2plugin.stubs.indexes.data.GraphQlResolverData;
+
+import java.util.List;
+
+public class GraphQlResolverIndexTest extends BaseProjectTestCase {
+    private static final String RESOLVER_STRING = "\"\\\\Magento\\\\Test\\\\ResolverTest\"";
+
+    public void testUsageMustBeResolvedAtIndexedOffset() {
+        PhpClass resolverClass = configureClass("ResolverTest");
+
+        assertTrue(GraphQlResolverIndex.hasGraphQLUsages(resolverClass));
+        List<GraphQLQuotedString> usages = GraphQlResolverIndex.getGraphQLUsages(resolverClass);
+        assertEquals(1, usages.size());
+
+        GraphQLQuotedString usage = usages.get(0);
+        PsiFile schemaFile = usage.getContainingFile();
+        assertTrue(schemaFile.getVirtualFile().getPath().endsWith("module-catalog/etc/schema.graphqls"));
+        assertEquals(RESOLVER_STRING, usage.getText());
+        assertEquals(schemaFile.getText().indexOf(RESOLVER_STRING), usage.getTextRange().getStartOffset());
+
+        List<List<GraphQlResolverData>> values = FileBasedIndex.getInstance().getValues(
+                GraphQlResolverIndex.KEY,
+                resolverClass.getFQN(),
+                GlobalSearchScope.allScope(getProject())
+        );
+        assertEquals(1, values.size());
+        GraphQlResolverData field = values.get(0).get(0);
+        assertEquals("Query", field.getTypeName());
+        assertEquals("test", field.getFieldName());
+        assertEquals(usage.getTextRange().getStartOffset(), field.getOffset());
+    }
+
+    public void testClassNotUsedAsResolverMustHaveNoUsages() {
+        PhpClass phpClass = configureClass("NotResolverTest");
+
+        assertFalse(GraphQlResolverIndex.hasGraphQLUsages(phpClass));
+        assertEmpty(GraphQlResolverIndex.getGraphQLUsages(phpClass));
+    }
+
+    private PhpClass configureClass(String className) {
+        PsiFile file = myFixture.configureByText(
+                className + ".php",
+                "<?php\nnamespace Magento\\Test;\n\nclass " + className + "\n{\n}\n"
+        );
+        PhpClass phpClass = PsiTreeUtil.findChildOfType(file, PhpClass.class);
+        assertNotNull(phpClass);
+
+        return phpClass;
+    }
+}
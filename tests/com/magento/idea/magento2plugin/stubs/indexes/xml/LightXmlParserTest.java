@@ -0,0 +1,148 @@
+/*
+ * Copyright © Magento, Inc. All rights reserved.
+ * See COPYING.txt for license details.
+ */
+package com.magento.idea.magento2plugin.stubs.indexes.xml;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.xml.XmlAttribute;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.magento.idea.magento2plugin.BaseProjectTestCase;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+public class LightXmlParserTest extends BaseProjectTestCase {
+
+    public void testCommentsMustBeSkipped() {
+        LightXmlTag rootTag = parse(
+                "<config><!-- <type name=\"Foo\\Commented\"/> --><type name=\"Foo\\Bar\"/><!----></config>"
+        );
+
+        List<LightXmlTag> typeTags = rootTag.findSubTags("type");
+        assertEquals(1, typeTags.size());
+        assertEquals("Foo\\Bar", typeTags.get(0).getAttributeValue("name"));
+    }
+
+    public void testCdataMustBeKeptAsText() {
+        LightXmlTag rootTag = parse("<config><label><![CDATA[ Foo <b>&amp; Bar ]]></label></config>");
+
+        LightXmlTag labelTag = rootTag.findFirstSubTag("label");
+        assertNotNull(labelTag);
+        assertEmpty(labelTag.getSubTags());
+        assertEquals("Foo <b>&amp; Bar", labelTag.getTrimmedText());
+    }
+
+    public void testDoctypeWithInternalSubsetMustBeSkipped() {
+        LightXmlTag rootTag = parse(
+                "<?xml version=\"1.0\"?>\n"
+                        + "<!DOCTYPE config [\n"
+                        + "    <!ENTITY vendor \"Foo\">\n"
+                        + "    <!ELEMENT config (type)>\n"
+                        + "]>\n"
+                        + "<config><type name=\"Foo\\Bar\"/></config>"
+        );
+
+        assertEquals("config", rootTag.getName());
+        assertEquals(1, rootTag.getSubTags().size());
+        assertEquals("Foo\\Bar", rootTag.getSubTags().get(0).getAttributeValue("name"));
+    }
+
+    public void testEntitiesMustBeDecoded() {
+        LightXmlTag rootTag = parse(
+                "<config><item name=\"a&amp;b &lt;&#x41;&#66;&gt; &quot;&apos; &unknown; &\">"
+                        + "x &lt; y &#65; &broken</item></config>"
+        );
+
+        LightXmlTag itemTag = rootTag.findFirstSubTag("item");
+        assertNotNull(itemTag);
+        assertEquals("a&b <AB> \"' &unknown; &", itemTag.getAttributeValue("name"));
+        assertEquals("x < y A &broken", itemTag.getTrimmedText());
+    }
+
+    public void testUnquotedAndValuelessAttributesMustBeRead() {
+        LightXmlTag rootTag = parse("<config><plugin name=fooPlugin disabled sortOrder = '10'/></config>");
+
+        LightXmlTag pluginTag = rootTag.findFirstSubTag("plugin");
+        assertNotNull(pluginTag);
+        assertEquals("fooPlugin", pluginTag.getAttributeValue("name"));
+        assertEquals("", pluginTag.getAttributeValue("disabled"));
+        assertEquals("10", pluginTag.getAttributeValue("sortOrder"));
+        assertEmpty(pluginTag.getSubTags());
+    }
+
+    public void testMisNestedCloseTagsMustCloseOpenTags() {
+        LightXmlTag rootTag = parse("<config><type><plugin></type><virtualType/></unknown><preference/></config>");
+
+        assertEquals(3, rootTag.getSubTags().size());
+        LightXmlTag typeTag = rootTag.findFirstSubTag("type");
+        assertNotNull(typeTag);
+        assertEquals(1, typeTag.findSubTags("plugin").size());
+        assertNotNull(rootTag.findFirstSubTag("virtualType"));
+        assertNotNull(rootTag.findFirstSubTag("preference"));
+        assertSame(rootTag, typeTag.getParent());
+    }
+
+    public void testTruncatedInputMustNotFail() {
+        assertNull(LightXmlParser.parse(""));
+        assertNull(LightXmlParser.parse("<?xml version=\"1.0\"?>"));
+        assertNull(LightXmlParser.parse("<!-- <config>"));
+
+        LightXmlTag rootTag = parse("<config><type name=\"Foo\\Bar");
+        LightXmlTag typeTag = rootTag.findFirstSubTag("type");
+        assertNotNull(typeTag);
+        assertEquals("Foo\\Bar", typeTag.getAttributeValue("name"));
+
+        assertEquals("Foo", parse("<config><label><![CDATA[Foo").findFirstSubTag("label").getTrimmedText());
+        assertEquals(1, parse("<config><type name=").getSubTags().size());
+        assertEmpty(parse("<config><!DOCTYPE [").getSubTags());
+        assertEquals("config", parse("<config <").getName());
+    }
+
+    public void testTagOffsetsMustMatchPsi() {
+        String text = "<?xml version=\"1.0\"?>\n"
+                + "<!-- Copyright -->\n"
+                + "<config xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">\n"
+                + "    <type name=\"Foo\\Bar\\Model\\Subject\">\n"
+                + "        <!-- <plugin name=\"commented\"/> -->\n"
+                + "        <plugin name=\"fooPlugin\" type=\"Foo\\Bar\\Plugin\" sortOrder=\"10\"/>\n"
+                + "        <plugin name='barPlugin' disabled=\"true\"></plugin>\n"
+                + "    </type>\n"
+                + "    <virtualType name=\"fooVirtualType\" type=\"Foo\\Bar\\Model\\Subject\">\n"
+                + "        <arguments>\n"
+                + "            <argument name=\"label\" xsi:type=\"string\"><![CDATA[<label>]]></argument>\n"
+                + "        </arguments>\n"
+                + "    </virtualType>\n"
+                + "</config>\n";
+        PsiFile psiFile = myFixture.configureByText("di.xml", text);
+        XmlTag psiRootTag = ((XmlFile) psiFile).getRootTag();
+        assertNotNull(psiRootTag);
+
+        assertSameTag(psiRootTag, parse(text));
+    }
+
+    private static void assertSameTag(@NotNull XmlTag psiTag, @NotNull LightXmlTag lightTag) {
+        assertEquals(psiTag.getName(), lightTag.getName());
+        assertEquals(psiTag.getName(), psiTag.getTextRange().getStartOffset(), lightTag.getOffset());
+        for (XmlAttribute attribute: psiTag.getAttributes()) {
+            assertEquals(attribute.getValue(), lightTag.getAttributeValue(attribute.getName()));
+        }
+        assertEquals(psiTag.getAttributes().length, lightTag.getAttributes().size());
+
+        XmlTag[] psiSubTags = psiTag.getSubTags();
+        List<LightXmlTag> lightSubTags = lightTag.getSubTags();
+        assertEquals(psiSubTags.length, lightSubTags.size());
+        for (int i = 0; i < psiSubTags.length; i++) {
+            assertSameTag(psiSubTags[i], lightSubTags.get(i));
+        }
+    }
+
+    @NotNull
+    private static LightXmlTag parse(@NotNull String text) {
+        LightXmlTag rootTag = LightXmlParser.parse(text);
+        assertNotNull(rootTag);
+
+        return rootTag;
+    }
+}